@@ -0,0 +1,135 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.CompositeMatchAnd;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads the maps shipped with the engine, and picks the territories and players the benchmarks work on.
+ * Everything is picked by looking at the data rather than by name, so that the same benchmark works on every map.
+ */
+public class BenchmarkMaps
+{
+	/**
+	 * Shipped maps, as paths relative to the maps folder on the classpath. Use these as the values of a map @Param.
+	 */
+	public static final String BIG_WORLD = "big_world/games/big_world_1942.xml";
+	public static final String GREAT_WAR = "great_war/games/great_war.xml";
+	public static final String PACT_OF_STEEL = "the_pact_of_steel/games/pact_of_steel_2.xml";
+	// the largest game xml shipped
+	public static final String NAPOLEONIC_EMPIRES = "Napoleonic_Empire/games/Napoleonic_Empires.xml";
+	
+	public static GameData loadGame(final String map)
+	{
+		final InputStream is = BenchmarkMaps.class.getResourceAsStream("/maps/" + map);
+		if (is == null)
+		{
+			throw new IllegalStateException(map + " does not exist");
+		}
+		try
+		{
+			try
+			{
+				return (new GameParser()).parse(is, new AtomicReference<String>(), false);
+			} finally
+			{
+				is.close();
+			}
+		} catch (final Exception e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * @return the owned land territory with the most units in it
+	 */
+	public static Territory getBusiestLandTerritory(final GameData data)
+	{
+		Territory busiest = null;
+		for (final Territory t : data.getMap().getTerritories())
+		{
+			if (t.isWater() || t.getOwner() == null || t.getOwner().isNull())
+				continue;
+			if (busiest == null || t.getUnits().size() > busiest.getUnits().size())
+				busiest = t;
+		}
+		if (busiest == null)
+			throw new IllegalStateException("No owned land territories in " + data.getGameName());
+		return busiest;
+	}
+	
+	/**
+	 * @return the land territory furthest away from the start
+	 */
+	public static Territory getFurthestLandTerritory(final GameData data, final Territory start)
+	{
+		Territory furthest = start;
+		int furthestDistance = 0;
+		for (final Territory t : data.getMap().getTerritories())
+		{
+			if (t.isWater())
+				continue;
+			final int distance = data.getMap().getDistance(start, t);
+			if (distance > furthestDistance)
+			{
+				furthest = t;
+				furthestDistance = distance;
+			}
+		}
+		return furthest;
+	}
+	
+	/**
+	 * @return the first player that is at war with the given player
+	 */
+	public static PlayerID getEnemy(final GameData data, final PlayerID player)
+	{
+		for (final PlayerID p : data.getPlayerList().getPlayers())
+		{
+			if (data.getRelationshipTracker().isAtWar(player, p))
+				return p;
+		}
+		throw new IllegalStateException("Nobody is at war with " + player.getName() + " in " + data.getGameName());
+	}
+	
+	/**
+	 * @return new units for the player, of the same types as the given units
+	 */
+	public static List<Unit> createCopiesFor(final PlayerID player, final List<Unit> units)
+	{
+		final List<Unit> copies = new ArrayList<Unit>();
+		for (final Unit u : units)
+		{
+			copies.add(u.getType().create(player));
+		}
+		return copies;
+	}
+	
+	/**
+	 * @return every unit on the map, which makes a good large list for filtering benchmarks
+	 */
+	public static List<Unit> getAllUnits(final GameData data)
+	{
+		final List<Unit> units = new ArrayList<Unit>();
+		for (final Territory t : data.getMap().getTerritories())
+		{
+			units.addAll(t.getUnits().getUnits());
+		}
+		return units;
+	}
+	
+	public static List<Unit> getLandUnits(final Territory territory, final PlayerID owner)
+	{
+		return territory.getUnits().getMatches(new CompositeMatchAnd<Unit>(Matches.unitIsOwnedBy(owner), Matches.UnitIsLand, Matches.UnitCanMove));
+	}
+}
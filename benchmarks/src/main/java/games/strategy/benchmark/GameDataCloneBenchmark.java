@@ -0,0 +1,55 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times deep copying GameData, which every odds calculator worker and AI simulation does before it can start.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GameDataCloneBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.PACT_OF_STEEL })
+	public String map;
+	private GameData m_data;
+	private byte[] m_snapshot;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		m_data = BenchmarkMaps.loadGame(map);
+		m_snapshot = GameDataUtils.createSnapshot(m_data, false);
+	}
+	
+	@Benchmark
+	public GameData cloneGameData()
+	{
+		return GameDataUtils.cloneGameData(m_data, false);
+	}
+	
+	@Benchmark
+	public GameData createGameDataFromSnapshot()
+	{
+		return GameDataUtils.createGameDataFromSnapshot(m_snapshot);
+	}
+}
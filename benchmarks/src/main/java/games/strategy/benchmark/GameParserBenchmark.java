@@ -0,0 +1,89 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Times parsing game xmls, both in full (starting a game) and only the header (listing the games to choose from). <br>
+ * buildDocument is the validating DOM the header used to be read from, so comparing it with parseHeader shows what skipping the DOM saves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GameParserBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.NAPOLEONIC_EMPIRES })
+	public String map;
+	private byte[] m_xml;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		final InputStream is = BenchmarkMaps.class.getResourceAsStream("/maps/" + map);
+		if (is == null)
+		{
+			throw new IllegalStateException(map + " does not exist");
+		}
+		try
+		{
+			final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			for (int read = is.read(buffer); read != -1; read = is.read(buffer))
+			{
+				sink.write(buffer, 0, read);
+			}
+			m_xml = sink.toByteArray();
+		} finally
+		{
+			is.close();
+		}
+	}
+	
+	@Benchmark
+	public GameData parseFull() throws Exception
+	{
+		return new GameParser().parse(new ByteArrayInputStream(m_xml), new AtomicReference<String>(), false);
+	}
+	
+	@Benchmark
+	public GameData parseHeader() throws Exception
+	{
+		return new GameParser().parse(new ByteArrayInputStream(m_xml), new AtomicReference<String>(), true);
+	}
+	
+	@Benchmark
+	public Document buildDocument() throws Exception
+	{
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setValidating(true);
+		final DocumentBuilder builder = factory.newDocumentBuilder();
+		builder.setErrorHandler(null);
+		return builder.parse(new ByteArrayInputStream(m_xml), GameParser.class.getResource("/games/strategy/engine/xml/").toExternalForm());
+	}
+}
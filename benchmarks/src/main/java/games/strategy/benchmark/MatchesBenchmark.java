@@ -0,0 +1,68 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.Match;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times filtering every unit on the map with some of the most commonly used Matches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatchesBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.PACT_OF_STEEL })
+	public String map;
+	private GameData m_data;
+	private PlayerID m_player;
+	private List<Unit> m_units;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		m_data = BenchmarkMaps.loadGame(map);
+		m_player = BenchmarkMaps.getBusiestLandTerritory(m_data).getOwner();
+		m_units = BenchmarkMaps.getAllUnits(m_data);
+	}
+	
+	@Benchmark
+	public List<Unit> unitIsLand()
+	{
+		return Match.getMatches(m_units, Matches.UnitIsLand);
+	}
+	
+	@Benchmark
+	public List<Unit> enemyUnit()
+	{
+		return Match.getMatches(m_units, Matches.enemyUnit(m_player, m_data));
+	}
+	
+	@Benchmark
+	public int ownedCombatLandUnits()
+	{
+		return Match.countMatches(m_units, new CompositeMatchAnd<Unit>(Matches.unitIsOwnedBy(m_player), Matches.UnitIsLand, Matches.UnitIsNotAA, Matches.UnitCanMove));
+	}
+}
@@ -0,0 +1,67 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.MoveValidator;
+import games.strategy.triplea.delegate.dataObjects.MoveValidationResult;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times MoveValidator.validateMove for the land units of the busiest territory of each map, moving one territory over land.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MoveValidatorBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.PACT_OF_STEEL })
+	public String map;
+	private GameData m_data;
+	private PlayerID m_player;
+	private List<Unit> m_units;
+	private Route m_route;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		m_data = BenchmarkMaps.loadGame(map);
+		final Territory start = BenchmarkMaps.getBusiestLandTerritory(m_data);
+		m_player = start.getOwner();
+		m_units = BenchmarkMaps.getLandUnits(start, m_player);
+		final Collection<Territory> neighbors = m_data.getMap().getNeighbors(start, Matches.TerritoryIsLand);
+		if (neighbors.isEmpty())
+			throw new IllegalStateException(start.getName() + " has no land neighbors in " + map);
+		m_route = new Route(start, neighbors.iterator().next());
+	}
+	
+	@Benchmark
+	public MoveValidationResult validateMove()
+	{
+		return MoveValidator.validateMove(m_units, m_route, m_player, Collections.<Unit> emptyList(), new HashMap<Unit, Collection<Unit>>(), true, null, m_data);
+	}
+}
@@ -0,0 +1,71 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.OddsCalculator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times OddsCalculator.calculate on the busiest land territory of each map, attacked by an identical army of an enemy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OddsCalculatorBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.PACT_OF_STEEL })
+	public String map;
+	@Param({ "200" })
+	public int runCount;
+	private OddsCalculator m_calculator;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		final GameData data = BenchmarkMaps.loadGame(map);
+		final Territory location = BenchmarkMaps.getBusiestLandTerritory(data);
+		final PlayerID defender = location.getOwner();
+		final PlayerID attacker = BenchmarkMaps.getEnemy(data, defender);
+		final List<Unit> defending = new ArrayList<Unit>(location.getUnits().getUnits());
+		final List<Unit> attacking = BenchmarkMaps.createCopiesFor(attacker, defending);
+		m_calculator = new OddsCalculator(data);
+		m_calculator.setCalculateData(attacker, defender, location, attacking, defending, Collections.<Unit> emptyList(), TerritoryEffectHelper.getEffects(location), runCount);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		m_calculator.shutdown();
+	}
+	
+	@Benchmark
+	public AggregateResults calculate()
+	{
+		return m_calculator.calculate();
+	}
+}
@@ -0,0 +1,85 @@
+package games.strategy.benchmark;
+
+import games.strategy.engine.data.CompositeRouteFinder;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.Match;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the route and distance queries the AIs make, between the busiest land territory and the land territory furthest from it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RouteBenchmark
+{
+	@Param({ BenchmarkMaps.BIG_WORLD, BenchmarkMaps.GREAT_WAR, BenchmarkMaps.PACT_OF_STEEL })
+	public String map;
+	private GameData m_data;
+	private Territory m_start;
+	private Territory m_end;
+	private CompositeRouteFinder m_routeFinder;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		m_data = BenchmarkMaps.loadGame(map);
+		m_start = BenchmarkMaps.getBusiestLandTerritory(m_data);
+		m_end = BenchmarkMaps.getFurthestLandTerritory(m_data, m_start);
+		final HashMap<Match<Territory>, Integer> matches = new HashMap<Match<Territory>, Integer>();
+		matches.put(Matches.isTerritoryOwnedBy(m_start.getOwner()), 1);
+		matches.put(Matches.TerritoryIsLand, 2);
+		m_routeFinder = new CompositeRouteFinder(m_data.getMap(), matches);
+	}
+	
+	@Benchmark
+	public Route getRoute()
+	{
+		return m_data.getMap().getRoute(m_start, m_end);
+	}
+	
+	@Benchmark
+	public Route getLandRoute()
+	{
+		return m_data.getMap().getRoute(m_start, m_end, Matches.TerritoryIsLand);
+	}
+	
+	@Benchmark
+	public int getDistance()
+	{
+		return m_data.getMap().getDistance(m_start, m_end);
+	}
+	
+	@Benchmark
+	public int getNeighborsWithinThree()
+	{
+		return m_data.getMap().getNeighbors(m_start, 3).size();
+	}
+	
+	@Benchmark
+	public Route findCompositeRoute()
+	{
+		return m_routeFinder.findRoute(m_start, m_end);
+	}
+}
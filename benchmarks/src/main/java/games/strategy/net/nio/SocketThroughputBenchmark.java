@@ -0,0 +1,143 @@
+package games.strategy.net.nio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times sending one packet over a loopback socket and reading it back, the way NIOWriter, NIOReader and Decoder do. <br>
+ * "pooled" uses SocketWriteData and SocketReadData, "heap" is how they used to frame packets, in fresh heap buffers
+ * with the size written separately and the content copied to a byte[] to be decoded. Run with -prof gc to see the allocation.
+ * In this package, as the packet classes are not public.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SocketThroughputBenchmark
+{
+	@Param({ "pooled", "heap" })
+	public String path;
+	@Param({ "512", "16384", "262144" })
+	public int size;
+	private ServerSocketChannel m_server;
+	private SocketChannel m_out;
+	private SocketChannel m_in;
+	private byte[] m_payload;
+	// what the decoder reads the packet into
+	private final byte[] m_scratch = new byte[4096];
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		m_payload = new byte[size];
+		new Random(42).nextBytes(m_payload);
+		m_server = ServerSocketChannel.open();
+		m_server.socket().bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+		m_out = SocketChannel.open(m_server.socket().getLocalSocketAddress());
+		m_in = m_server.accept();
+		m_out.configureBlocking(false);
+		m_in.configureBlocking(false);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		m_out.close();
+		m_in.close();
+		m_server.close();
+	}
+	
+	@Benchmark
+	public int sendPacket() throws IOException
+	{
+		if (path.equals("pooled"))
+			return sendPooled();
+		return sendHeap();
+	}
+	
+	private int sendPooled() throws IOException
+	{
+		final SocketWriteData write = new SocketWriteData(m_payload, m_payload.length);
+		final SocketReadData read = new SocketReadData(m_in);
+		boolean written = false;
+		boolean done = false;
+		while (!done)
+		{
+			if (!written)
+				written = write.write(m_out);
+			done = read.read(m_in);
+		}
+		write.release();
+		final int checksum = consume(read.getInputStream());
+		read.release();
+		return checksum;
+	}
+	
+	private int sendHeap() throws IOException
+	{
+		final ByteBuffer writeContent = ByteBuffer.allocate(m_payload.length);
+		writeContent.put(m_payload);
+		writeContent.flip();
+		final ByteBuffer writeSize = ByteBuffer.allocate(4);
+		writeSize.putInt(m_payload.length ^ SocketReadData.MAGIC);
+		writeSize.flip();
+		final ByteBuffer readSize = ByteBuffer.allocate(4);
+		ByteBuffer readContent = null;
+		while (readContent == null || readContent.hasRemaining())
+		{
+			if (writeSize.hasRemaining())
+				m_out.write(writeSize);
+			if (!writeSize.hasRemaining() && writeContent.hasRemaining())
+				m_out.write(writeContent);
+			if (readContent == null)
+			{
+				m_in.read(readSize);
+				if (!readSize.hasRemaining())
+				{
+					readSize.flip();
+					readContent = ByteBuffer.allocate(readSize.getInt() & 0x00ffffff);
+				}
+			}
+			if (readContent != null)
+				m_in.read(readContent);
+		}
+		final byte[] data = new byte[readContent.capacity()];
+		readContent.flip();
+		readContent.get(data);
+		return consume(new ByteArrayInputStream(data));
+	}
+	
+	private int consume(final InputStream stream) throws IOException
+	{
+		int checksum = 0;
+		for (int read = stream.read(m_scratch); read != -1; read = stream.read(m_scratch))
+		{
+			checksum += read + m_scratch[0];
+		}
+		return checksum;
+	}
+}
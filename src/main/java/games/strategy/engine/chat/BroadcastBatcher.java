@@ -0,0 +1,119 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects events that the server broadcasts on a channel, and sends everything collected within a short time as one call. <br>
+ * In a busy lobby people join, leave and change status many times a second, and each broadcast is a message to every
+ * node in the lobby. Sending them together turns many small messages into one per node.
+ * <p>
+ * 
+ * Events are sent in the order they were added, and at most latency ms after they were added.
+ * The latency can be set with the triplea.broadcast.latency system property, 0 sends each event as it is added.
+ * <p>
+ * 
+ * This class is thread safe.
+ */
+abstract class BroadcastBatcher<E>
+{
+	private final static Logger s_logger = Logger.getLogger(BroadcastBatcher.class.getName());
+	static final long DEFAULT_LATENCY_MS = Long.getLong("triplea.broadcast.latency", 50);
+	private static final ScheduledExecutorService s_timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+	{
+		public Thread newThread(final Runnable r)
+		{
+			final Thread thread = new Thread(r, "Broadcast batcher");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	private final long m_latencyMs;
+	private final List<E> m_pending = new ArrayList<E>();
+	// held while sending, so batches are sent in order
+	private final Object m_sendLock = new Object();
+	// guarded by m_pending
+	private boolean m_flushScheduled = false;
+	private final Runnable m_flushTask = new Runnable()
+	{
+		public void run()
+		{
+			try
+			{
+				flush();
+			} catch (final Exception e)
+			{
+				s_logger.log(Level.SEVERE, "Error broadcasting", e);
+			}
+		}
+	};
+	
+	BroadcastBatcher()
+	{
+		this(DEFAULT_LATENCY_MS);
+	}
+	
+	BroadcastBatcher(final long latencyMs)
+	{
+		m_latencyMs = latencyMs;
+	}
+	
+	void add(final E event)
+	{
+		synchronized (m_pending)
+		{
+			m_pending.add(event);
+			if (m_flushScheduled)
+				return;
+			m_flushScheduled = m_latencyMs > 0;
+		}
+		if (m_latencyMs > 0)
+			s_timer.schedule(m_flushTask, m_latencyMs, TimeUnit.MILLISECONDS);
+		else
+			flush();
+	}
+	
+	/**
+	 * Send everything added so far, without waiting.
+	 */
+	void flush()
+	{
+		synchronized (m_sendLock)
+		{
+			final List<E> batch;
+			synchronized (m_pending)
+			{
+				m_flushScheduled = false;
+				if (m_pending.isEmpty())
+					return;
+				batch = new ArrayList<E>(m_pending);
+				m_pending.clear();
+			}
+			send(batch);
+		}
+	}
+	
+	/**
+	 * Broadcast the events, called by one thread at a time.
+	 */
+	protected abstract void send(List<E> events);
+}
@@ -436,6 +436,17 @@ public class Chat
 			}
 		}
 		
+		public void speakersChanged(final List<SpeakerChange> changes)
+		{
+			for (final SpeakerChange change : changes)
+			{
+				if (change.isAdded())
+					speakerAdded(change.getNode(), change.getTag(), change.getVersion());
+				else
+					speakerRemoved(change.getNode(), change.getVersion());
+			}
+		}
+		
 		public void speakerTagUpdated(final INode node, final Tag tag)
 		{
 			synchronized (m_mutexNodes)
@@ -14,6 +14,7 @@ import games.strategy.net.Messengers;
 import games.strategy.util.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -35,6 +36,15 @@ public class ChatController implements IChatController
 	protected final Object m_mutex = new Object();
 	private final String m_chatChannel;
 	private long m_version;
+	// speakers joining and leaving are broadcast together, added to while holding m_mutex so they are sent in order
+	private final BroadcastBatcher<SpeakerChange> m_speakerChanges = new BroadcastBatcher<SpeakerChange>()
+	{
+		@Override
+		protected void send(final List<SpeakerChange> events)
+		{
+			getChatBroadcaster().speakersChanged(events);
+		}
+	};
 	
 	private final ScheduledExecutorService m_pingThread = Executors.newScheduledThreadPool(1);
 	
@@ -105,14 +115,14 @@ public class ChatController implements IChatController
 		m_pingThread.shutdown();
 		synchronized (m_mutex)
 		{
-			final IChatChannel chatter = getChatBroadcaster();
 			for (final INode node : m_chatters.keySet())
 			{
 				m_version++;
-				chatter.speakerRemoved(node, m_version);
+				m_speakerChanges.add(new SpeakerChange(node, null, m_version));
 			}
 			m_remoteMessenger.unregisterRemote(getChatControlerRemoteName(m_chatName));
 		}
+		m_speakerChanges.flush();
 		((IServerMessenger) m_messenger).removeConnectionChangeListener(m_connectionChangeListener);
 	}
 	
@@ -136,7 +146,7 @@ public class ChatController implements IChatController
 		{
 			m_chatters.put(node, tag);
 			m_version++;
-			getChatBroadcaster().speakerAdded(node, tag, m_version);
+			m_speakerChanges.add(new SpeakerChange(node, tag, m_version));
 			final Map<INode, Tag> copy = new HashMap<INode, Tag>(m_chatters);
 			return new Tuple<Map<INode, Tag>, Long>(copy, Long.valueOf(m_version));
 		}
@@ -150,14 +160,12 @@ public class ChatController implements IChatController
 	
 	protected void leaveChatInternal(final INode node)
 	{
-		long version;
 		synchronized (m_mutex)
 		{
 			m_chatters.remove(node);
 			m_version++;
-			version = m_version;
+			m_speakerChanges.add(new SpeakerChange(node, null, m_version));
 		}
-		getChatBroadcaster().speakerRemoved(node, version);
 		s_logger.info("Chatter:" + node + " has left chat:" + m_chatName);
 	}
 }
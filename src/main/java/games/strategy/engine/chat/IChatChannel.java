@@ -4,6 +4,8 @@ import games.strategy.engine.chat.IChatController.Tag;
 import games.strategy.engine.message.IChannelSubscribor;
 import games.strategy.net.INode;
 
+import java.util.List;
+
 /**
  * Chat messages occur on this channel
  * 
@@ -22,6 +24,12 @@ public interface IChatChannel extends IChannelSubscribor
 	
 	public void speakerRemoved(final INode node, final long version);
 	
+	/**
+	 * Speakers that joined or left, in the order they did so.
+	 * The server sends these together rather than calling speakerAdded and speakerRemoved for each.
+	 */
+	public void speakersChanged(final List<SpeakerChange> changes);
+	
 	public void speakerTagUpdated(final INode node, final Tag tag);
 	
 	// purely here to keep connections open and stop NATs and crap from thinking that our connection is closed when it is not.
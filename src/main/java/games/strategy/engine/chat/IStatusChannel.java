@@ -15,9 +15,16 @@ import games.strategy.engine.message.IChannelSubscribor;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.net.INode;
 
+import java.util.Map;
+
 public interface IStatusChannel extends IChannelSubscribor
 {
 	public static final RemoteName STATUS_CHANNEL = new RemoteName("games.strategy.engine.chat.IStatusChannel.STATUS", IStatusChannel.class);
 	
 	public void statusChanged(INode node, String status);
+	
+	/**
+	 * The new status of each node, in the order of their last change, a null status if the node left.
+	 */
+	public void statusesChanged(Map<INode, String> statuses);
 }
@@ -0,0 +1,66 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.chat;
+
+import games.strategy.engine.chat.IChatController.Tag;
+import games.strategy.net.INode;
+
+import java.io.Serializable;
+
+/**
+ * A speaker joining or leaving a chat.
+ * 
+ * @see IChatChannel#speakersChanged(java.util.List)
+ */
+public class SpeakerChange implements Serializable
+{
+	private static final long serialVersionUID = 4329015878264101127L;
+	private final INode m_node;
+	// null if the speaker left
+	private final Tag m_tag;
+	private final long m_version;
+	
+	public SpeakerChange(final INode node, final Tag tag, final long version)
+	{
+		m_node = node;
+		m_tag = tag;
+		m_version = version;
+	}
+	
+	public INode getNode()
+	{
+		return m_node;
+	}
+	
+	public Tag getTag()
+	{
+		return m_tag;
+	}
+	
+	public boolean isAdded()
+	{
+		return m_tag != null;
+	}
+	
+	public long getVersion()
+	{
+		return m_version;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "SpeakerChange " + m_node + (isAdded() ? " added" : " removed") + " version:" + m_version;
+	}
+}
@@ -16,8 +16,11 @@ import games.strategy.net.IConnectionChangeListener;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
+import games.strategy.util.Tuple;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class StatusController implements IStatusController
@@ -25,6 +28,23 @@ public class StatusController implements IStatusController
 	private final Object m_mutex = new Object();
 	private final Map<INode, String> m_status = new HashMap<INode, String>();
 	private final Messengers m_messengers;
+	// status changes are broadcast together, and only the last change for each node is sent, in the order of those last changes
+	private final BroadcastBatcher<Tuple<INode, String>> m_broadcaster = new BroadcastBatcher<Tuple<INode, String>>()
+	{
+		@Override
+		protected void send(final List<Tuple<INode, String>> events)
+		{
+			final Map<INode, String> statuses = new LinkedHashMap<INode, String>();
+			for (final Tuple<INode, String> event : events)
+			{
+				// removed first, so a node that changed again is moved to where it last changed
+				statuses.remove(event.getFirst());
+				statuses.put(event.getFirst(), event.getSecond());
+			}
+			final IStatusChannel channel = (IStatusChannel) m_messengers.getChannelMessenger().getChannelBroadcastor(IStatusChannel.STATUS_CHANNEL);
+			channel.statusesChanged(statuses);
+		}
+	};
 	
 	public StatusController(final Messengers messengers)
 	{
@@ -48,8 +68,7 @@ public class StatusController implements IStatusController
 		{
 			m_status.remove(to);
 		}
-		final IStatusChannel channel = (IStatusChannel) m_messengers.getChannelMessenger().getChannelBroadcastor(IStatusChannel.STATUS_CHANNEL);
-		channel.statusChanged(to, null);
+		m_broadcaster.add(new Tuple<INode, String>(to, null));
 	}
 	
 	public Map<INode, String> getAllStatus()
@@ -67,7 +86,6 @@ public class StatusController implements IStatusController
 		{
 			m_status.put(node, newStatus);
 		}
-		final IStatusChannel channel = (IStatusChannel) m_messengers.getChannelMessenger().getChannelBroadcastor(IStatusChannel.STATUS_CHANNEL);
-		channel.statusChanged(node, newStatus);
+		m_broadcaster.add(new Tuple<INode, String>(node, newStatus));
 	}
 }
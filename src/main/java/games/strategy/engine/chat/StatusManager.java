@@ -47,6 +47,14 @@ public class StatusManager
 				}
 				notifyStatusChanged(node, status);
 			}
+			
+			public void statusesChanged(final Map<INode, String> statuses)
+			{
+				for (final Map.Entry<INode, String> entry : statuses.entrySet())
+				{
+					statusChanged(entry.getKey(), entry.getValue());
+				}
+			}
 		};
 		if (messengers.getMessenger().isServer() && !messengers.getRemoteMessenger().hasLocalImplementor(IStatusController.STATUS_CONTROLLER))
 		{
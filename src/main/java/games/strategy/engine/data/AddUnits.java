@@ -0,0 +1,80 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Add units
+ */
+class AddUnits extends Change
+{
+	static final long serialVersionUID = 2694342784633196289L;
+	private final String m_name;
+	private final Collection<Unit> m_units;
+	private final String m_type;
+	
+	AddUnits(final UnitCollection collection, final Collection<Unit> units)
+	{
+		m_units = new ArrayList<Unit>(units);
+		m_name = collection.getHolder().getName();
+		m_type = collection.getHolder().getType();
+	}
+	
+	AddUnits(final String name, final String type, final Collection<Unit> units)
+	{
+		m_units = new ArrayList<Unit>(units);
+		m_type = type;
+		m_name = name;
+	}
+	
+	@Override
+	public Change invert()
+	{
+		return new RemoveUnits(m_name, m_type, m_units);
+	}
+	
+	String getHolderName()
+	{
+		return m_name;
+	}
+	
+	String getHolderType()
+	{
+		return m_type;
+	}
+	
+	Collection<Unit> getUnits()
+	{
+		return m_units;
+	}
+	
+	@Override
+	protected void perform(final GameData data)
+	{
+		/*if (m_name == null || m_type == null || m_units == null)
+			throw new IllegalStateException("AddUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
+		final UnitHolder holder = data.getUnitHolder(m_name, m_type);
+		holder.getUnits().addAllUnits(m_units);
+	}
+	
+	@Override
+	public String toString()
+	{
+		/*if (m_name == null || m_type == null || m_units == null)
+			throw new IllegalStateException("AddUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
+		return "Add unit change.  Add to:" + m_name + " units:" + m_units;
+	}
+}
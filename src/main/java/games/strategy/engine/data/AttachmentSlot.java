@@ -0,0 +1,86 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The name of an attachment that is looked up often, such as the unit attachment of a unit type. <br>
+ * Each NamedAttachable keeps the attachments for all slots in an array, so looking up an attachment by slot
+ * is an array access instead of a map lookup.
+ * 
+ * Slots are never removed, so they should be kept in static fields.
+ */
+public final class AttachmentSlot
+{
+	private static final Map<String, AttachmentSlot> s_slotsByName = new HashMap<String, AttachmentSlot>();
+	private static volatile AttachmentSlot[] s_slots = new AttachmentSlot[0];
+	private final String m_name;
+	private final int m_index;
+	
+	private AttachmentSlot(final String name, final int index)
+	{
+		m_name = name;
+		m_index = index;
+	}
+	
+	/**
+	 * @return the slot for attachments with the given name
+	 */
+	public static synchronized AttachmentSlot get(final String name)
+	{
+		AttachmentSlot slot = s_slotsByName.get(name);
+		if (slot == null)
+		{
+			slot = new AttachmentSlot(name, s_slots.length);
+			s_slotsByName.put(name, slot);
+			final AttachmentSlot[] slots = Arrays.copyOf(s_slots, s_slots.length + 1);
+			slots[slot.m_index] = slot;
+			s_slots = slots;
+		}
+		return slot;
+	}
+	
+	public String getName()
+	{
+		return m_name;
+	}
+	
+	int getIndex()
+	{
+		return m_index;
+	}
+	
+	/**
+	 * @return the attachment for each slot, indexed by slot
+	 */
+	static IAttachment[] resolve(final Map<String, IAttachment> attachments)
+	{
+		final AttachmentSlot[] slots = s_slots;
+		final IAttachment[] rVal = new IAttachment[slots.length];
+		for (int i = 0; i < slots.length; i++)
+		{
+			rVal[i] = attachments.get(slots[i].m_name);
+		}
+		return rVal;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "AttachmentSlot:" + m_name;
+	}
+}
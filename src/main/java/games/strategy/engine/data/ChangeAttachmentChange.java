@@ -105,6 +105,7 @@ public class ChangeAttachmentChange extends Change
 	{
 		final IAttachment attachment = m_attachedTo.getAttachment(m_attachmentName);
 		PropertyUtil.set(m_property, m_newValue, attachment, m_clearFirst);
+		NamedAttachable.attachmentChanged(m_attachedTo);
 	}
 	
 	@Override
@@ -0,0 +1,169 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges a list of changes into one change with the same end result, that does less work when performed. <br>
+ * Units moving between unit holders, territories changing owner and resources being spent and collected
+ * are reduced to their net effect. A unit that moves through ten territories is removed from where it
+ * started and added to where it ended, and a territory taken and retaken keeps only its first and last owner.
+ * Other changes are kept, in order.
+ * <p>
+ * 
+ * The result is only correct when performed on the game as it was before the first change,
+ * as it is when going through the history of a game.
+ * Merged changes are performed after the changes that were kept, which is safe
+ * as no other change reads unit holders, territory owners or resources when performed.
+ * 
+ * @see games.strategy.engine.history.History
+ */
+public class ChangeCompactor
+{
+	// unit holder name and type -> unit -> how many times it was added, less how many times it was removed
+	private final Map<List<String>, Map<Unit, Integer>> m_units = new LinkedHashMap<List<String>, Map<Unit, Integer>>();
+	// territory -> {first old owner, last new owner}
+	private final Map<String, String[]> m_owners = new LinkedHashMap<String, String[]>();
+	// player and resource -> quantity
+	private final Map<List<String>, Integer> m_resources = new LinkedHashMap<List<String>, Integer>();
+	private final List<Change> m_kept = new ArrayList<Change>();
+	
+	private ChangeCompactor()
+	{
+	}
+	
+	public static Change compact(final Collection<Change> changes)
+	{
+		final ChangeCompactor compactor = new ChangeCompactor();
+		for (final Change change : changes)
+		{
+			compactor.add(change);
+		}
+		return compactor.toChange();
+	}
+	
+	private void add(final Change change)
+	{
+		if (change instanceof CompositeChange)
+		{
+			for (final Change child : ((CompositeChange) change).getChanges())
+			{
+				add(child);
+			}
+		}
+		else if (change instanceof AddUnits)
+		{
+			final AddUnits add = (AddUnits) change;
+			addUnits(add.getHolderName(), add.getHolderType(), add.getUnits(), 1);
+		}
+		else if (change instanceof RemoveUnits)
+		{
+			final RemoveUnits remove = (RemoveUnits) change;
+			addUnits(remove.getHolderName(), remove.getHolderType(), remove.getUnits(), -1);
+		}
+		else if (change instanceof OwnerChange)
+		{
+			final OwnerChange ownerChange = (OwnerChange) change;
+			final String[] owners = m_owners.get(ownerChange.getTerritoryName());
+			if (owners == null)
+				m_owners.put(ownerChange.getTerritoryName(), new String[] { ownerChange.getOldOwnerName(), ownerChange.getNewOwnerName() });
+			else
+				owners[1] = ownerChange.getNewOwnerName();
+		}
+		else if (change instanceof ChangeResourceChange)
+		{
+			final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+			final List<String> key = key(resourceChange.getPlayerName(), resourceChange.getResourceName());
+			final Integer quantity = m_resources.get(key);
+			m_resources.put(key, (quantity == null ? 0 : quantity) + resourceChange.getQuantity());
+		}
+		else if (!change.isEmpty())
+			m_kept.add(change);
+	}
+	
+	private void addUnits(final String name, final String type, final Collection<Unit> units, final int count)
+	{
+		final List<String> key = key(name, type);
+		Map<Unit, Integer> counts = m_units.get(key);
+		if (counts == null)
+		{
+			counts = new LinkedHashMap<Unit, Integer>();
+			m_units.put(key, counts);
+		}
+		for (final Unit unit : units)
+		{
+			final Integer current = counts.get(unit);
+			final int updated = (current == null ? 0 : current) + count;
+			if (updated == 0)
+				counts.remove(unit);
+			else
+				counts.put(unit, updated);
+		}
+	}
+	
+	private static List<String> key(final String first, final String second)
+	{
+		final List<String> key = new ArrayList<String>(2);
+		key.add(first);
+		key.add(second);
+		return key;
+	}
+	
+	private Change toChange()
+	{
+		final CompositeChange rVal = new CompositeChange(m_kept);
+		// remove before adding, so a unit is never in two places
+		for (final Map.Entry<List<String>, Map<Unit, Integer>> entry : m_units.entrySet())
+		{
+			final Collection<Unit> removed = netUnits(entry.getValue(), false);
+			if (!removed.isEmpty())
+				rVal.add(new RemoveUnits(entry.getKey().get(0), entry.getKey().get(1), removed));
+		}
+		for (final Map.Entry<List<String>, Map<Unit, Integer>> entry : m_units.entrySet())
+		{
+			final Collection<Unit> added = netUnits(entry.getValue(), true);
+			if (!added.isEmpty())
+				rVal.add(new AddUnits(entry.getKey().get(0), entry.getKey().get(1), added));
+		}
+		for (final Map.Entry<String, String[]> entry : m_owners.entrySet())
+		{
+			final String[] owners = entry.getValue();
+			final boolean unchanged = owners[0] == null ? owners[1] == null : owners[0].equals(owners[1]);
+			if (!unchanged)
+				rVal.add(new OwnerChange(entry.getKey(), owners[1], owners[0]));
+		}
+		for (final Map.Entry<List<String>, Integer> entry : m_resources.entrySet())
+		{
+			if (entry.getValue() != 0)
+				rVal.add(new ChangeResourceChange(entry.getKey().get(0), entry.getKey().get(1), entry.getValue()));
+		}
+		return rVal;
+	}
+	
+	private static Collection<Unit> netUnits(final Map<Unit, Integer> counts, final boolean added)
+	{
+		final Collection<Unit> rVal = new ArrayList<Unit>();
+		for (final Map.Entry<Unit, Integer> entry : counts.entrySet())
+		{
+			if (added ? entry.getValue() > 0 : entry.getValue() < 0)
+				rVal.add(entry.getKey());
+		}
+		return rVal;
+	}
+}
@@ -371,6 +371,7 @@ class AttachmentPropertyReset extends Change
 	{
 		final IAttachment attachment = m_attachedTo.getAttachment(m_attachmentName);
 		PropertyUtil.reset(m_property, attachment);
+		NamedAttachable.attachmentChanged(m_attachedTo);
 	}
 	
 	@Override
@@ -418,6 +419,7 @@ class AttachmentPropertyResetUndo extends Change
 	{
 		final IAttachment attachment = m_attachedTo.getAttachment(m_attachmentName);
 		PropertyUtil.set(m_property, m_newValue, attachment, false);
+		NamedAttachable.attachmentChanged(m_attachedTo);
 	}
 	
 	@Override
@@ -499,175 +501,6 @@ class RelationshipChange extends Change
 }
 
 
-/**
- * Add units
- */
-class AddUnits extends Change
-{
-	static final long serialVersionUID = 2694342784633196289L;
-	private final String m_name;
-	private final Collection<Unit> m_units;
-	private final String m_type;
-	
-	AddUnits(final UnitCollection collection, final Collection<Unit> units)
-	{
-		m_units = new ArrayList<Unit>(units);
-		m_name = collection.getHolder().getName();
-		m_type = collection.getHolder().getType();
-	}
-	
-	AddUnits(final String name, final String type, final Collection<Unit> units)
-	{
-		m_units = new ArrayList<Unit>(units);
-		m_type = type;
-		m_name = name;
-	}
-	
-	@Override
-	public Change invert()
-	{
-		return new RemoveUnits(m_name, m_type, m_units);
-	}
-	
-	@Override
-	protected void perform(final GameData data)
-	{
-		/*if (m_name == null || m_type == null || m_units == null)
-			throw new IllegalStateException("AddUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
-		final UnitHolder holder = data.getUnitHolder(m_name, m_type);
-		holder.getUnits().addAllUnits(m_units);
-	}
-	
-	@Override
-	public String toString()
-	{
-		/*if (m_name == null || m_type == null || m_units == null)
-			throw new IllegalStateException("AddUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
-		return "Add unit change.  Add to:" + m_name + " units:" + m_units;
-	}
-}
-
-
-class RemoveUnits extends Change
-{
-	static final long serialVersionUID = -6410444472951010568L;
-	private final String m_name;
-	private final Collection<Unit> m_units;
-	private final String m_type;
-	
-	RemoveUnits(final UnitCollection collection, final Collection<Unit> units)
-	{
-		this(collection.getHolder().getName(), collection.getHolder().getType(), units);
-	}
-	
-	RemoveUnits(final String name, final String type, final Collection<Unit> units)
-	{
-		m_units = new ArrayList<Unit>(units);
-		m_name = name;
-		m_type = type;
-	}
-	
-	RemoveUnits(final String name, final String type, final Collection<Unit> units, final boolean isCasualty)
-	{
-		m_type = type;
-		m_units = new ArrayList<Unit>(units);
-		m_name = name;
-	}
-	
-	@Override
-	public Change invert()
-	{
-		return new AddUnits(m_name, m_type, m_units);
-	}
-	
-	@Override
-	protected void perform(final GameData data)
-	{
-		/*if (m_name == null || m_type == null || m_units == null)
-			throw new IllegalStateException("RemoveUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
-		final UnitHolder holder = data.getUnitHolder(m_name, m_type);
-		if (!holder.getUnits().containsAll(m_units))
-		{
-			throw new IllegalStateException("Not all units present in:" + m_name + ".  Trying to remove:" + m_units + " present:" + holder.getUnits().getUnits());
-		}
-		holder.getUnits().removeAllUnits(m_units);
-	}
-	
-	@Override
-	public String toString()
-	{
-		/*if (m_name == null || m_type == null || m_units == null)
-			throw new IllegalStateException("RemoveUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
-		return "Remove unit change. Remove from:" + m_name + " units:" + m_units;
-	}
-}
-
-
-/**
- * Changes ownership of a territory.
- */
-class OwnerChange extends Change
-{
-	static final long serialVersionUID = -5938125380623744929L;
-	/**
-	 * Either new or old owner can be null.
-	 */
-	private final String m_old;
-	private final String m_new;
-	private final String m_territory;
-	
-	/**
-	 * newOwner can be null
-	 */
-	OwnerChange(final Territory territory, final PlayerID newOwner)
-	{
-		m_territory = territory.getName();
-		m_new = getName(newOwner);
-		m_old = getName(territory.getOwner());
-	}
-	
-	private OwnerChange(final String name, final String newOwner, final String oldOwner)
-	{
-		m_territory = name;
-		m_new = newOwner;
-		m_old = oldOwner;
-	}
-	
-	private String getName(final PlayerID player)
-	{
-		if (player == null)
-			return null;
-		return player.getName();
-	}
-	
-	private PlayerID getPlayerID(final String name, final GameData data)
-	{
-		if (name == null)
-			return null;
-		return data.getPlayerList().getPlayerID(name);
-	}
-	
-	@Override
-	public Change invert()
-	{
-		return new OwnerChange(m_territory, m_old, m_new);
-	}
-	
-	@Override
-	protected void perform(final GameData data)
-	{
-		// both names could be null
-		data.getMap().getTerritory(m_territory).setOwner(getPlayerID(m_new, data));
-	}
-	
-	@Override
-	public String toString()
-	{
-		return m_new + " takes " + m_territory + " from " + m_old;
-	}
-}
-
-
 /**
  * Changes ownership of a unit.
  */
@@ -786,59 +619,6 @@ class ChangeUnitProduction extends Change
 }
 
 
-/**
- * Adds/removes resource from a player.
- */
-class ChangeResourceChange extends Change
-{
-	static final long serialVersionUID = -2304294240555842126L;
-	private final String m_player;
-	private final String m_resource;
-	private final int m_quantity;
-	
-	ChangeResourceChange(final PlayerID player, final Resource resource, final int quantity)
-	{
-		m_player = player.getName();
-		m_resource = resource.getName();
-		m_quantity = quantity;
-	}
-	
-	private ChangeResourceChange(final String player, final String resource, final int quantity)
-	{
-		m_player = player;
-		m_resource = resource;
-		m_quantity = quantity;
-	}
-	
-	@Override
-	public Change invert()
-	{
-		return new ChangeResourceChange(m_player, m_resource, -m_quantity);
-	}
-	
-	@Override
-	protected void perform(final GameData data)
-	{
-		/*if (m_player == null || m_resource == null)
-			throw new IllegalStateException("ChangeResourceChange may not have null arguments");*/
-		final Resource resource = data.getResourceList().getResource(m_resource);
-		final ResourceCollection resources = data.getPlayerList().getPlayerID(m_player).getResources();
-		if (m_quantity > 0)
-			resources.addResource(resource, m_quantity);
-		else if (m_quantity < 0)
-			resources.removeResource(resource, -m_quantity);
-	}
-	
-	@Override
-	public String toString()
-	{
-		/*if (m_player == null || m_resource == null)
-			throw new IllegalStateException("ChangeResourceChange may not have null arguments");*/
-		return "Change resource.  Resource:" + m_resource + " quantity:" + m_quantity + " Player:" + m_player;
-	}
-}
-
-
 class SetPropertyChange extends Change
 {
 	private static final long serialVersionUID = -1377597975513821508L;
@@ -1419,6 +1199,8 @@ class ObjectPropertyChange extends Change
 		/*if (m_object == null || m_property == null)
 			throw new IllegalStateException("ObjectPropertyChange may not have null arguments");*/
 		PropertyUtil.set(m_property, m_newValue, m_object);
+		if (m_object instanceof IAttachment)
+			NamedAttachable.attachmentChanged(((IAttachment) m_object).getAttachedTo());
 	}
 	
 	@Override
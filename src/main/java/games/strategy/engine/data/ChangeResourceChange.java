@@ -0,0 +1,81 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+/**
+ * Adds/removes resource from a player.
+ */
+class ChangeResourceChange extends Change
+{
+	static final long serialVersionUID = -2304294240555842126L;
+	private final String m_player;
+	private final String m_resource;
+	private final int m_quantity;
+	
+	ChangeResourceChange(final PlayerID player, final Resource resource, final int quantity)
+	{
+		m_player = player.getName();
+		m_resource = resource.getName();
+		m_quantity = quantity;
+	}
+	
+	ChangeResourceChange(final String player, final String resource, final int quantity)
+	{
+		m_player = player;
+		m_resource = resource;
+		m_quantity = quantity;
+	}
+	
+	@Override
+	public Change invert()
+	{
+		return new ChangeResourceChange(m_player, m_resource, -m_quantity);
+	}
+	
+	String getPlayerName()
+	{
+		return m_player;
+	}
+	
+	String getResourceName()
+	{
+		return m_resource;
+	}
+	
+	int getQuantity()
+	{
+		return m_quantity;
+	}
+	
+	@Override
+	protected void perform(final GameData data)
+	{
+		/*if (m_player == null || m_resource == null)
+			throw new IllegalStateException("ChangeResourceChange may not have null arguments");*/
+		final Resource resource = data.getResourceList().getResource(m_resource);
+		final ResourceCollection resources = data.getPlayerList().getPlayerID(m_player).getResources();
+		if (m_quantity > 0)
+			resources.addResource(resource, m_quantity);
+		else if (m_quantity < 0)
+			resources.removeResource(resource, -m_quantity);
+	}
+	
+	@Override
+	public String toString()
+	{
+		/*if (m_player == null || m_resource == null)
+			throw new IllegalStateException("ChangeResourceChange may not have null arguments");*/
+		return "Change resource.  Resource:" + m_resource + " quantity:" + m_quantity + " Player:" + m_player;
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.Match;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Caches the shortest paths of a GameMap for the conditions that do not depend on the state of the game: any territory, land only, and water only.
+ * 
+ * Territories are given dense ids by their position in the map, and the connections are copied into arrays of ids.
+ * The first query from a territory runs one breadth first search over those arrays, and stores the distance to and previous territory of every other territory,
+ * so that every later distance query from that territory is a lookup, and every route query only walks the route.
+ * 
+ * The index is a snapshot of the map's connections, so the GameMap must throw it away whenever territories or connections change.
+ */
+class DistanceIndex
+{
+	static final int UNSUPPORTED = -1;
+	static final int ANY = 0;
+	static final int LAND = 1;
+	static final int WATER = 2;
+	private static final int KINDS = 3;
+	private final Territory[] m_territories;
+	private final Map<Territory, Integer> m_ids;
+	private final int[][] m_connections;
+	private final boolean[] m_water;
+	// one lazily computed row per start territory and kind
+	private final List<AtomicReferenceArray<Row>> m_rows = new ArrayList<AtomicReferenceArray<Row>>(KINDS);
+	
+	private static final class Row
+	{
+		// distance from the start, or -1 if not connected
+		final short[] distance;
+		// id of the territory before this one on a shortest route from the start, or -1
+		final int[] previous;
+		
+		Row(final int size)
+		{
+			distance = new short[size];
+			previous = new int[size];
+		}
+	}
+	
+	DistanceIndex(final List<Territory> territories, final Map<Territory, Set<Territory>> connections)
+	{
+		final int size = territories.size();
+		m_territories = territories.toArray(new Territory[size]);
+		m_ids = new HashMap<Territory, Integer>(size * 2);
+		m_water = new boolean[size];
+		for (int i = 0; i < size; i++)
+		{
+			m_ids.put(m_territories[i], i);
+			m_water[i] = m_territories[i].isWater();
+		}
+		m_connections = new int[size][];
+		for (int i = 0; i < size; i++)
+		{
+			final Set<Territory> neighbors = connections.get(m_territories[i]);
+			final int[] ids = new int[neighbors == null ? 0 : neighbors.size()];
+			int j = 0;
+			if (neighbors != null)
+			{
+				for (final Territory neighbor : neighbors)
+				{
+					ids[j++] = m_ids.get(neighbor);
+				}
+			}
+			m_connections[i] = ids;
+		}
+		for (int i = 0; i < KINDS; i++)
+		{
+			m_rows.add(new AtomicReferenceArray<Row>(size));
+		}
+	}
+	
+	/**
+	 * @return which of the cached kinds of route the condition asks for, or UNSUPPORTED if the condition has to be checked the slow way
+	 */
+	static int getKind(final Match<Territory> cond)
+	{
+		if (cond == null || cond == Matches.TerritoryIsLandOrWater)
+			return ANY;
+		if (cond == Matches.TerritoryIsLand)
+			return LAND;
+		if (cond == Matches.TerritoryIsWater)
+			return WATER;
+		return UNSUPPORTED;
+	}
+	
+	/**
+	 * @return the distance between the territories, or -1 if they are not connected
+	 */
+	int getDistance(final Territory t1, final Territory t2, final int kind)
+	{
+		final Integer start = m_ids.get(t1);
+		final Integer end = m_ids.get(t2);
+		if (start == null || end == null)
+			return -1;
+		return getRow(start, kind).distance[end];
+	}
+	
+	/**
+	 * @return a shortest route between the territories, or null if they are not connected
+	 */
+	Route getRoute(final Territory t1, final Territory t2, final int kind)
+	{
+		final Integer start = m_ids.get(t1);
+		final Integer end = m_ids.get(t2);
+		if (start == null || end == null)
+			return null;
+		final Row row = getRow(start, kind);
+		if (row.distance[end] < 0)
+			return null;
+		final List<Territory> route = new ArrayList<Territory>(row.distance[end] + 1);
+		for (int current = end; current != -1; current = row.previous[current])
+		{
+			route.add(m_territories[current]);
+		}
+		Collections.reverse(route);
+		return new Route(route);
+	}
+	
+	private Row getRow(final int start, final int kind)
+	{
+		final AtomicReferenceArray<Row> rows = m_rows.get(kind);
+		Row row = rows.get(start);
+		if (row == null)
+		{
+			// two threads may both compute the same row, which is harmless since they compute the same thing
+			row = search(start, kind);
+			rows.set(start, row);
+		}
+		return row;
+	}
+	
+	private Row search(final int start, final int kind)
+	{
+		final int size = m_territories.length;
+		final Row row = new Row(size);
+		for (int i = 0; i < size; i++)
+		{
+			row.distance[i] = -1;
+			row.previous[i] = -1;
+		}
+		row.distance[start] = 0;
+		final int[] queue = new int[size];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		while (head < tail)
+		{
+			final int current = queue[head++];
+			for (final int next : m_connections[current])
+			{
+				if (row.distance[next] != -1 || (kind == LAND && m_water[next]) || (kind == WATER && !m_water[next]))
+					continue;
+				row.distance[next] = (short) (row.distance[current] + 1);
+				row.previous[next] = current;
+				queue[tail++] = next;
+			}
+		}
+		return row;
+	}
+}
@@ -41,6 +41,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -111,6 +112,8 @@ public class GameData implements java.io.Serializable
 	private IGameLoader m_loader;
 	private final History m_gameHistory = new History(this);
 	private volatile transient boolean m_testLockIsHeld = false;
+	// bumped whenever a unit changes owner, so the unit collections of this game know to regroup their units
+	private transient AtomicInteger m_unitOwnerChanges = new AtomicInteger();
 	private final List<Tuple<IAttachment, ArrayList<Tuple<String, String>>>> m_attachmentOrderAndValues = new ArrayList<Tuple<IAttachment, ArrayList<Tuple<String, String>>>>();
 	private final Hashtable<String, TerritoryEffect> m_territoryEffectList = new Hashtable<String, TerritoryEffect>();
 	private final BattleRecordsList m_battleRecordsList = new BattleRecordsList(this);
@@ -127,6 +130,28 @@ public class GameData implements java.io.Serializable
 	{
 		in.defaultReadObject();
 		m_lockUtil = new LockUtil();
+		m_unitOwnerChanges = new AtomicInteger();
+		// old saves have no dense ids
+		m_map.assignMissingDenseIds();
+		m_playerList.assignMissingDenseIds();
+		m_resourceList.assignMissingDenseIds();
+		m_unitTypeList.assignMissingDenseIds();
+	}
+	
+	/**
+	 * Called whenever a unit of this game changes owner.
+	 */
+	void unitOwnerChanged()
+	{
+		m_unitOwnerChanges.incrementAndGet();
+	}
+	
+	/**
+	 * @return how many times a unit of this game has changed owner
+	 */
+	int getUnitOwnerChanges()
+	{
+		return m_unitOwnerChanges.get();
 	}
 	
 	/**
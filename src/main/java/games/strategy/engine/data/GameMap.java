@@ -57,6 +57,9 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	// otherwise, m_gridDimensions.length is the number of dimensions,
 	// and each element is the size of a dimension
 	private int[] m_gridDimensions = null;
+	private int m_nextDenseId = 0;
+	// shortest paths that do not depend on the game state, built when first needed and thrown away when the map changes
+	private transient volatile DistanceIndex m_distanceIndex = null;
 	
 	GameMap(final GameData data)
 	{
@@ -188,20 +191,37 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	
 	protected void addTerritory(final Territory t1)
 	{
-		if (m_territories.contains(t1))
+		// every territory has an entry in m_connections, which is much faster to look in than the list when there are many territories
+		if (m_connections.containsKey(t1))
 			throw new IllegalArgumentException("Map already contains " + t1.getName());
 		m_territories.add(t1);
 		m_connections.put(t1, Collections.<Territory> emptySet());
 		m_territoryLookup.put(t1.getName(), t1);
+		t1.setDenseId(m_nextDenseId++);
+		m_distanceIndex = null;
+	}
+	
+	/**
+	 * Games saved before territories had dense ids have none, so number them in the order of this list.
+	 */
+	void assignMissingDenseIds()
+	{
+		if (m_nextDenseId != 0)
+			return;
+		for (final Territory t : m_territories)
+		{
+			t.setDenseId(m_nextDenseId++);
+		}
 	}
 	
 	protected void removeTerritory(final Territory t1)
 	{
-		if (!m_territories.contains(t1))
+		if (!m_connections.containsKey(t1))
 			throw new IllegalArgumentException("Map does not contain " + t1.getName());
 		m_territories.remove(t1);
 		m_connections.remove(t1);
 		m_territoryLookup.remove(t1.getName());
+		m_distanceIndex = null;
 		// remove territory from other connections
 		final Map<Territory, Set<Territory>> tempConnections = new HashMap<Territory, Set<Territory>>();
 		for (final Entry<Territory, Set<Territory>> entry : m_connections.entrySet())
@@ -231,7 +251,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	{
 		if (t1.equals(t2))
 			throw new IllegalArgumentException("Cannot connect a territory to itself");
-		if (!m_territories.contains(t1) || !m_territories.contains(t2))
+		if (!m_connections.containsKey(t1) || !m_connections.containsKey(t2))
 			throw new IllegalArgumentException("Map doesnt know about one of " + t1 + " " + t2);
 		// connect t1 to t2
 		setConnection(t1, t2);
@@ -248,7 +268,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	{
 		if (t1.equals(t2))
 			throw new IllegalArgumentException("Cannot connect a territory to itself");
-		if (!m_territories.contains(t1) || !m_territories.contains(t2))
+		if (!m_connections.containsKey(t1) || !m_connections.containsKey(t2))
 			throw new IllegalArgumentException("Map doesnt know about one of " + t1 + " " + t2);
 		// connect t1 to t2
 		setConnection(t1, t2);
@@ -261,6 +281,18 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 		final Set<Territory> modified = new HashSet<Territory>(current);
 		modified.add(to);
 		m_connections.put(from, Collections.unmodifiableSet(modified));
+		m_distanceIndex = null;
+	}
+	
+	private DistanceIndex getDistanceIndex()
+	{
+		DistanceIndex index = m_distanceIndex;
+		if (index == null)
+		{
+			index = new DistanceIndex(m_territories, m_connections);
+			m_distanceIndex = index;
+		}
+		return index;
 	}
 	
 	/**
@@ -474,6 +506,11 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 		{
 			return new Route(t1, t2);
 		}
+		final int kind = DistanceIndex.getKind(cond);
+		if (kind != DistanceIndex.UNSUPPORTED)
+		{
+			return getDistanceIndex().getRoute(t1, t2, kind);
+		}
 		final RouteFinder engine = new RouteFinder(this, cond);
 		return engine.findRoute(t1, t2);
 	}
@@ -573,6 +610,9 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	{
 		if (t1.equals(t2))
 			return 0;
+		final int kind = DistanceIndex.getKind(cond);
+		if (kind != DistanceIndex.UNSUPPORTED)
+			return getDistanceIndex().getDistance(t1, t2, kind);
 		final Set<Territory> frontier = new HashSet<Territory>();
 		frontier.add(t1);
 		return getDistance(0, new HashSet<Territory>(), frontier, t2, cond);
@@ -690,6 +730,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory>
 	 */
 	public void notifyChanged()
 	{
+		m_distanceIndex = null;
 		getData().notifyMapDataChanged();
 	}
 }
@@ -19,10 +19,10 @@
 package games.strategy.engine.data;
 
 import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.net.SessionObjectInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 
 /**
  * Please refer to the comments on GameObjectOutputStream
@@ -30,7 +30,7 @@ import java.io.ObjectInputStream;
  * @author Sean Bridges
  * @version 1.0
  */
-public class GameObjectInputStream extends ObjectInputStream
+public class GameObjectInputStream extends SessionObjectInputStream
 {
 	private final GameObjectStreamFactory m_dataSource;
 	
@@ -18,8 +18,9 @@
  */
 package games.strategy.engine.data;
 
+import games.strategy.net.SessionObjectOutputStream;
+
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
 /**
@@ -40,7 +41,7 @@ import java.io.OutputStream;
  * 
  * @author Sean Bridges
  */
-public class GameObjectOutputStream extends ObjectOutputStream
+public class GameObjectOutputStream extends SessionObjectOutputStream
 {
 	/**
 	 * Creates a new instance of GameObjectOutputStream
@@ -47,6 +47,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -60,14 +61,18 @@ import java.util.concurrent.atomic.AtomicReference;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * @author Sean Bridges
@@ -80,7 +85,10 @@ public class GameParser
 	private final Collection<SAXParseException> errorsSAX = new ArrayList<SAXParseException>();
 	
 	// public static final String OPTION_SEPARATOR = "<>";
-	private static HashMap<String, String> newClassesForOldNames;
+	// class names that have been changed, like newClassesForOldNames.put("<oldClassName>", "<newClassName>")
+	private static final HashMap<String, String> newClassesForOldNames = new HashMap<String, String>();
+	// the sections of the xml that are parsed when parsing is delayed
+	private static final Set<String> HEADER_SECTIONS = new HashSet<String>(Arrays.asList("info", "loader", "triplea", "diceSides", "playerList", "propertyList"));
 	
 	public GameParser()
 	{
@@ -107,7 +115,8 @@ public class GameParser
 		Document doc = null;
 		try
 		{
-			doc = getDocument(stream);
+			// when only the header is wanted, do not build a DOM for the map, units, attachments, etc.
+			doc = delayParsing ? getHeaderDocument(stream) : getDocument(stream);
 		} catch (final IOException e)
 		{
 			throw new IllegalStateException(e);
@@ -329,6 +338,94 @@ public class GameParser
 		return builder.parse(input, system);
 	}
 	
+	/**
+	 * Reads the whole stream (so it is still validated), but only builds a DOM for the sections parsed when parsing is delayed.
+	 */
+	private Document getHeaderDocument(final InputStream input) throws SAXException, IOException, ParserConfigurationException
+	{
+		final SAXParserFactory factory = SAXParserFactory.newInstance();
+		factory.setValidating(true);
+		final URL url = GameParser.class.getResource("/games/strategy/engine/xml/");
+		final InputSource source = new InputSource(input);
+		source.setSystemId(url.toExternalForm());
+		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		factory.newSAXParser().parse(source, new HeaderDocumentHandler(doc));
+		return doc;
+	}
+	
+	/**
+	 * Copies the root element, and the header sections below it, into a document.
+	 */
+	private class HeaderDocumentHandler extends DefaultHandler
+	{
+		private final Document m_doc;
+		// the element that is being copied, null when outside the header sections
+		private Node m_current;
+		// how deep we are in a section that is being skipped
+		private int m_skipDepth = 0;
+		
+		HeaderDocumentHandler(final Document doc)
+		{
+			m_doc = doc;
+		}
+		
+		@Override
+		public void startElement(final String uri, final String localName, final String qName, final Attributes attributes)
+		{
+			if (m_skipDepth > 0)
+			{
+				m_skipDepth++;
+				return;
+			}
+			if (m_current != null && m_current == m_doc.getDocumentElement() && !HEADER_SECTIONS.contains(qName))
+			{
+				m_skipDepth = 1;
+				return;
+			}
+			final Element element = m_doc.createElement(qName);
+			for (int i = 0; i < attributes.getLength(); i++)
+			{
+				element.setAttribute(attributes.getQName(i), attributes.getValue(i));
+			}
+			(m_current == null ? m_doc : m_current).appendChild(element);
+			m_current = element;
+		}
+		
+		@Override
+		public void endElement(final String uri, final String localName, final String qName)
+		{
+			if (m_skipDepth > 0)
+				m_skipDepth--;
+			else
+				m_current = m_current.getParentNode();
+		}
+		
+		@Override
+		public void characters(final char[] ch, final int start, final int length)
+		{
+			if (m_skipDepth == 0 && m_current != null && m_current != m_doc.getDocumentElement())
+				m_current.appendChild(m_doc.createTextNode(new String(ch, start, length)));
+		}
+		
+		@Override
+		public void warning(final SAXParseException exception)
+		{
+			errorsSAX.add(exception);
+		}
+		
+		@Override
+		public void error(final SAXParseException exception)
+		{
+			errorsSAX.add(exception);
+		}
+		
+		@Override
+		public void fatalError(final SAXParseException exception)
+		{
+			errorsSAX.add(exception);
+		}
+	}
+	
 	/**
 	 * If mustfind is true and cannot find the player an exception will be thrown.
 	 */
@@ -541,12 +638,6 @@ public class GameParser
 		// if class cannot be found than it is either not a valid class or an old class that was deleted/renamed
 		catch (final ClassNotFoundException cnfe)
 		{
-			if (newClassesForOldNames == null)
-			{
-				newClassesForOldNames = new HashMap<String, String>();
-				// put in here class names that have been changed like //newClassesForOldNames.put("<oldClassName>", "<newClassName>"), e.g.
-				// newClassesForOldNames.put("attatchment", "attachment")
-			}
 			final String newClassName = newClassesForOldNames.get(className);
 			if (newClassName != null)
 			{
@@ -1610,6 +1701,7 @@ public class GameParser
 				final IAttachment attachment = (IAttachment) constructors.get(className).newInstance(name, attachable, data);
 				attachable.addAttachment(name, attachment);
 				final ArrayList<Tuple<String, String>> attachmentOptionValues = setValues(attachment, options);
+				NamedAttachable.attachmentChanged(attachable);
 				// keep a list of attachment references in the order they were added
 				data.addToAttachmentOrderAndValues(new Tuple<IAttachment, ArrayList<Tuple<String, String>>>(attachment, attachmentOptionValues));
 			} catch (final InstantiationException e)
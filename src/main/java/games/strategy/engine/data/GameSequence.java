@@ -80,6 +80,15 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
 		}
 	}
 	
+	/**
+	 * Moves to the round and step given by getRound() and getStepIndex(), used when bringing a saved game up to date.
+	 */
+	public synchronized void setRoundAndStepIndex(final int round, final int stepIndex)
+	{
+		setStepIndex(stepIndex);
+		m_round = round - m_roundOffset;
+	}
+	
 	protected void addStep(final GameStep step)
 	{
 		m_allOriginalSteps.add(step);
@@ -31,6 +31,11 @@ public class NamedAttachable extends DefaultNamed implements Attachable
 {
 	private static final long serialVersionUID = 8597712929519099255L;
 	private final Map<String, IAttachment> m_attachments = new HashMap<String, IAttachment>();
+	// given by the list in GameData that holds this object, see getDenseId()
+	private int m_denseId = -1;
+	// the attachments for each AttachmentSlot, found when first asked for.
+	// found and cleared while holding the lock on m_attachments, so it is never filled from a map that has since changed
+	private transient volatile IAttachment[] m_attachmentSlots;
 	
 	/** Creates new NamedAttachable */
 	public NamedAttachable(final String name, final GameData data)
@@ -43,6 +48,27 @@ public class NamedAttachable extends DefaultNamed implements Attachable
 		return m_attachments.get(key);
 	}
 	
+	/**
+	 * The same as getAttachment(slot.getName()), but without a map lookup.
+	 */
+	public IAttachment getAttachment(final AttachmentSlot slot)
+	{
+		IAttachment[] attachments = m_attachmentSlots;
+		if (attachments == null || slot.getIndex() >= attachments.length)
+		{
+			synchronized (m_attachments)
+			{
+				attachments = m_attachmentSlots;
+				if (attachments == null || slot.getIndex() >= attachments.length)
+				{
+					attachments = AttachmentSlot.resolve(m_attachments);
+					m_attachmentSlots = attachments;
+				}
+			}
+		}
+		return attachments[slot.getIndex()];
+	}
+	
 	public Map<String, IAttachment> getAttachments()
 	{
 		return Collections.unmodifiableMap(m_attachments);
@@ -50,11 +76,50 @@ public class NamedAttachable extends DefaultNamed implements Attachable
 	
 	public void addAttachment(final String key, final IAttachment value)
 	{
-		m_attachments.put(key, value);
+		synchronized (m_attachments)
+		{
+			m_attachments.put(key, value);
+			m_attachmentSlots = null;
+		}
+		attachmentChanged();
 	}
 	
 	public void removeAttachment(final String keyString)
 	{
-		m_attachments.remove(keyString);
+		synchronized (m_attachments)
+		{
+			m_attachments.remove(keyString);
+			m_attachmentSlots = null;
+		}
+		attachmentChanged();
+	}
+	
+	/**
+	 * Called when an attachment is added or removed, or one of the properties of an attachment is changed.
+	 */
+	void attachmentChanged()
+	{
+	}
+	
+	static void attachmentChanged(final Attachable attachedTo)
+	{
+		if (attachedTo instanceof NamedAttachable)
+			((NamedAttachable) attachedTo).attachmentChanged();
+	}
+	
+	/**
+	 * Unit types, territories, players and resources are numbered 0, 1, 2, ... in the order they are added to their list in GameData,
+	 * and keep their number for the life of the game, including in saved games and in copies of the game data.
+	 * 
+	 * @return the number of this object within its list, or -1 if it is not in a list
+	 */
+	public int getDenseId()
+	{
+		return m_denseId;
+	}
+	
+	void setDenseId(final int denseId)
+	{
+		m_denseId = denseId;
 	}
 }
@@ -0,0 +1,93 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+/**
+ * Changes ownership of a territory.
+ */
+class OwnerChange extends Change
+{
+	static final long serialVersionUID = -5938125380623744929L;
+	/**
+	 * Either new or old owner can be null.
+	 */
+	private final String m_old;
+	private final String m_new;
+	private final String m_territory;
+	
+	/**
+	 * newOwner can be null
+	 */
+	OwnerChange(final Territory territory, final PlayerID newOwner)
+	{
+		m_territory = territory.getName();
+		m_new = getName(newOwner);
+		m_old = getName(territory.getOwner());
+	}
+	
+	OwnerChange(final String name, final String newOwner, final String oldOwner)
+	{
+		m_territory = name;
+		m_new = newOwner;
+		m_old = oldOwner;
+	}
+	
+	private String getName(final PlayerID player)
+	{
+		if (player == null)
+			return null;
+		return player.getName();
+	}
+	
+	private PlayerID getPlayerID(final String name, final GameData data)
+	{
+		if (name == null)
+			return null;
+		return data.getPlayerList().getPlayerID(name);
+	}
+	
+	@Override
+	public Change invert()
+	{
+		return new OwnerChange(m_territory, m_old, m_new);
+	}
+	
+	String getTerritoryName()
+	{
+		return m_territory;
+	}
+	
+	String getOldOwnerName()
+	{
+		return m_old;
+	}
+	
+	String getNewOwnerName()
+	{
+		return m_new;
+	}
+	
+	@Override
+	protected void perform(final GameData data)
+	{
+		// both names could be null
+		data.getMap().getTerritory(m_territory).setOwner(getPlayerID(m_new, data));
+	}
+	
+	@Override
+	public String toString()
+	{
+		return m_new + " takes " + m_territory + " from " + m_old;
+	}
+}
@@ -20,6 +20,7 @@ package games.strategy.engine.data;
 
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.IDenseKey;
 
 import java.io.Serializable;
 import java.util.LinkedHashMap;
@@ -29,7 +30,7 @@ import java.util.LinkedHashMap;
  * @author Sean Bridges
  * @version 1.0
  */
-public class PlayerID extends NamedAttachable implements NamedUnitHolder, Serializable
+public class PlayerID extends NamedAttachable implements NamedUnitHolder, Serializable, IDenseKey
 {
 	private static final long serialVersionUID = -2284878450555315947L;
 	private final boolean m_optional;
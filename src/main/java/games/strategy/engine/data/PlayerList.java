@@ -38,6 +38,7 @@ public class PlayerList extends GameDataComponent implements Iterable<PlayerID>
 	private static final long serialVersionUID = -3895068111754745446L;
 	// maps String playerName -> PlayerID
 	private final Map<String, PlayerID> m_players = new LinkedHashMap<String, PlayerID>();
+	private int m_nextDenseId = 0;
 	
 	/**
 	 * Creates new PlayerCollection
@@ -71,6 +72,20 @@ public class PlayerList extends GameDataComponent implements Iterable<PlayerID>
 	protected void addPlayerID(final PlayerID player)
 	{
 		m_players.put(player.getName(), player);
+		player.setDenseId(m_nextDenseId++);
+	}
+	
+	/**
+	 * Numbers the players of a game saved before players were given ids.
+	 */
+	void assignMissingDenseIds()
+	{
+		if (m_nextDenseId != 0)
+			return;
+		for (final PlayerID player : m_players.values())
+		{
+			player.setDenseId(m_nextDenseId++);
+		}
 	}
 	
 	public int size()
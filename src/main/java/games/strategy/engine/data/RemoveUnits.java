@@ -0,0 +1,86 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+class RemoveUnits extends Change
+{
+	static final long serialVersionUID = -6410444472951010568L;
+	private final String m_name;
+	private final Collection<Unit> m_units;
+	private final String m_type;
+	
+	RemoveUnits(final UnitCollection collection, final Collection<Unit> units)
+	{
+		this(collection.getHolder().getName(), collection.getHolder().getType(), units);
+	}
+	
+	RemoveUnits(final String name, final String type, final Collection<Unit> units)
+	{
+		m_units = new ArrayList<Unit>(units);
+		m_name = name;
+		m_type = type;
+	}
+	
+	RemoveUnits(final String name, final String type, final Collection<Unit> units, final boolean isCasualty)
+	{
+		m_type = type;
+		m_units = new ArrayList<Unit>(units);
+		m_name = name;
+	}
+	
+	@Override
+	public Change invert()
+	{
+		return new AddUnits(m_name, m_type, m_units);
+	}
+	
+	String getHolderName()
+	{
+		return m_name;
+	}
+	
+	String getHolderType()
+	{
+		return m_type;
+	}
+	
+	Collection<Unit> getUnits()
+	{
+		return m_units;
+	}
+	
+	@Override
+	protected void perform(final GameData data)
+	{
+		/*if (m_name == null || m_type == null || m_units == null)
+			throw new IllegalStateException("RemoveUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
+		final UnitHolder holder = data.getUnitHolder(m_name, m_type);
+		if (!holder.getUnits().containsAll(m_units))
+		{
+			throw new IllegalStateException("Not all units present in:" + m_name + ".  Trying to remove:" + m_units + " present:" + holder.getUnits().getUnits());
+		}
+		holder.getUnits().removeAllUnits(m_units);
+	}
+	
+	@Override
+	public String toString()
+	{
+		/*if (m_name == null || m_type == null || m_units == null)
+			throw new IllegalStateException("RemoveUnits change may not have null arguments: m_name: " + m_name + ", m_type: " + m_type + ", m_units: " + m_units);*/
+		return "Remove unit change. Remove from:" + m_name + " units:" + m_units;
+	}
+}
@@ -18,12 +18,14 @@
  */
 package games.strategy.engine.data;
 
+import games.strategy.util.IDenseKey;
+
 /**
  * 
  * @author Sean Bridges
  * @version 1.0
  */
-public class Resource extends NamedAttachable
+public class Resource extends NamedAttachable implements IDenseKey
 {
 	private static final long serialVersionUID = 7471431759007499935L;
 	
@@ -32,6 +32,7 @@ public class ResourceList extends GameDataComponent
 {
 	private static final long serialVersionUID = -8812702449627698253L;
 	private final Map<String, Resource> m_resourceList = new HashMap<String, Resource>();
+	private int m_nextDenseId = 0;
 	
 	/* TODO: is this a good way to have a static reference for PUs?
 	private static Resource PUresource = null;
@@ -54,6 +55,20 @@ public class ResourceList extends GameDataComponent
 	protected void addResource(final Resource resource)
 	{
 		m_resourceList.put(resource.getName(), resource);
+		resource.setDenseId(m_nextDenseId++);
+	}
+	
+	/**
+	 * Numbers the resources of a game saved before resources were given ids.
+	 */
+	void assignMissingDenseIds()
+	{
+		if (m_nextDenseId != 0)
+			return;
+		for (final Resource resource : m_resourceList.values())
+		{
+			resource.setDenseId(m_nextDenseId++);
+		}
 	}
 	
 	public int size()
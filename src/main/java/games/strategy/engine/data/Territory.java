@@ -18,6 +18,8 @@
  */
 package games.strategy.engine.data;
 
+import games.strategy.util.IDenseKey;
+
 import java.io.Serializable;
 
 /**
@@ -25,7 +27,7 @@ import java.io.Serializable;
  * @author Sean Bridges
  * @version 1.0
  */
-public class Territory extends NamedAttachable implements NamedUnitHolder, Serializable, Comparable<Territory>
+public class Territory extends NamedAttachable implements NamedUnitHolder, Serializable, Comparable<Territory>, IDenseKey
 {
 	private static final long serialVersionUID = -6390555051736721082L;
 	private final boolean m_water;
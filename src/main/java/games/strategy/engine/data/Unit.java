@@ -48,7 +48,8 @@ public class Unit extends GameDataComponent implements Serializable
 		}
 		m_type = type;
 		m_uid = new GUID();
-		setOwner(owner);
+		// a new unit is in no collection yet, so there is no need to tell the collections about its owner
+		m_owner = owner == null ? PlayerID.NULL_PLAYERID : owner;
 	}
 	
 	public GUID getID()
@@ -114,6 +115,8 @@ public class Unit extends GameDataComponent implements Serializable
 		if (player == null)
 			player = PlayerID.NULL_PLAYERID;
 		m_owner = player;
+		if (getData() != null)
+			getData().unitOwnerChanged();
 	}
 	
 	@Override
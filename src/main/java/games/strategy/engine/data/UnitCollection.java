@@ -18,15 +18,19 @@
  */
 package games.strategy.engine.data;
 
+import games.strategy.util.DenseIntegerMap;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -41,6 +45,9 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	private static final long serialVersionUID = -3534037864426122864L;
 	private final List<Unit> m_units = new ArrayList<Unit>();
 	private final NamedUnitHolder m_holder;
+	// the units grouped by type and owner, built when first asked for and then kept up to date as units are added and removed.
+	// the index is built, changed and read while holding the lock on m_units, so a unit added while it is built is not missed
+	private transient UnitIndex m_index;
 	
 	/**
 	 * Creates new UnitCollection
@@ -58,28 +65,74 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	
 	void addUnit(final Unit unit)
 	{
-		m_units.add(unit);
+		synchronized (m_units)
+		{
+			m_units.add(unit);
+			if (m_index != null)
+				m_index.add(unit);
+		}
 		m_holder.notifyChanged();
 	}
 	
 	void addAllUnits(final UnitCollection collection)
 	{
-		m_units.addAll(collection.m_units);
-		m_holder.notifyChanged();
+		addAllUnits(collection.m_units);
 	}
 	
 	void addAllUnits(final Collection<Unit> units)
 	{
-		m_units.addAll(units);
+		synchronized (m_units)
+		{
+			m_units.addAll(units);
+			if (m_index != null)
+			{
+				for (final Unit unit : units)
+				{
+					m_index.add(unit);
+				}
+			}
+		}
 		m_holder.notifyChanged();
 	}
 	
 	void removeAllUnits(final Collection<Unit> units)
 	{
-		m_units.removeAll(units);
+		// much faster for large sets
+		final Collection<Unit> removed = units.size() > 10 ? new HashSet<Unit>(units) : units;
+		synchronized (m_units)
+		{
+			m_units.removeAll(removed);
+			if (m_index != null)
+				m_index.removeAll(removed);
+		}
 		m_holder.notifyChanged();
 	}
 	
+	// called holding the lock on m_units
+	private UnitIndex getIndex()
+	{
+		// units change owner without being removed from their collection, so the index is rebuilt after a unit of this game changes owner
+		final GameData data = getData();
+		// without game data we can not tell when an owner changes, so the index is not kept
+		if (data == null)
+			return buildIndex(0);
+		final int ownerChanges = data.getUnitOwnerChanges();
+		if (m_index == null || m_index.m_ownerChanges != ownerChanges)
+			m_index = buildIndex(ownerChanges);
+		return m_index;
+	}
+	
+	// called holding the lock on m_units
+	private UnitIndex buildIndex(final int ownerChanges)
+	{
+		final UnitIndex index = new UnitIndex(ownerChanges);
+		for (final Unit unit : m_units)
+		{
+			index.add(unit);
+		}
+		return index;
+	}
+	
 	public int getUnitCount()
 	{
 		return m_units.size();
@@ -87,39 +140,34 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	
 	public int getUnitCount(final UnitType type)
 	{
-		int count = 0;
-		final Iterator<Unit> iterator = m_units.iterator();
-		while (iterator.hasNext())
+		synchronized (m_units)
 		{
-			if (iterator.next().getType().equals(type))
-				count++;
+			return size(getIndex().m_byType.get(type));
 		}
-		return count;
 	}
 	
 	public int getUnitCount(final UnitType type, final PlayerID owner)
 	{
-		int count = 0;
-		final Iterator<Unit> iterator = m_units.iterator();
-		while (iterator.hasNext())
+		synchronized (m_units)
 		{
-			final Unit current = iterator.next();
-			if (current.getType().equals(type) && current.getOwner().equals(owner))
-				count++;
+			final Map<UnitType, List<Unit>> byType = getIndex().m_byOwnerAndType.get(owner);
+			if (byType == null)
+				return 0;
+			return size(byType.get(type));
 		}
-		return count;
 	}
 	
 	public int getUnitCount(final PlayerID owner)
 	{
-		int count = 0;
-		final Iterator<Unit> iterator = m_units.iterator();
-		while (iterator.hasNext())
+		synchronized (m_units)
 		{
-			if (iterator.next().getOwner().equals(owner))
-				count++;
+			return size(getIndex().m_byOwner.get(owner));
 		}
-		return count;
+	}
+	
+	private static int size(final List<Unit> units)
+	{
+		return units == null ? 0 : units.size();
 	}
 	
 	public boolean containsAll(final Collection<Unit> units)
@@ -145,17 +193,13 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 			return new ArrayList<Unit>();
 		if (max_units < 0)
 			throw new IllegalArgumentException("value must be positiive.  Instead its:" + max_units);
-		final Collection<Unit> rVal = new ArrayList<Unit>();
-		for (final Unit current : m_units)
+		synchronized (m_units)
 		{
-			if (current.getType().equals(type))
-			{
-				rVal.add(current);
-				if (rVal.size() == max_units)
-					return rVal;
-			}
+			final List<Unit> ofType = getIndex().m_byType.get(type);
+			if (ofType == null)
+				return new ArrayList<Unit>();
+			return new ArrayList<Unit>(ofType.subList(0, Math.min(max_units, ofType.size())));
 		}
-		return rVal;
 	}
 	
 	/**
@@ -163,14 +207,10 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	 */
 	public IntegerMap<UnitType> getUnitsByType()
 	{
-		final IntegerMap<UnitType> units = new IntegerMap<UnitType>();
-		for (final UnitType type : getData().getUnitTypeList())
+		synchronized (m_units)
 		{
-			final int count = getUnitCount(type);
-			if (count > 0)
-				units.put(type, count);
+			return countByType(getIndex().m_byType);
 		}
-		return units;
 	}
 	
 	/**
@@ -180,11 +220,21 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	 */
 	public IntegerMap<UnitType> getUnitsByType(final PlayerID id)
 	{
-		final IntegerMap<UnitType> count = new IntegerMap<UnitType>();
-		for (final Unit unit : m_units)
+		synchronized (m_units)
 		{
-			if (unit.getOwner().equals(id))
-				count.add(unit.getType(), 1);
+			final Map<UnitType, List<Unit>> byType = getIndex().m_byOwnerAndType.get(id);
+			if (byType == null)
+				return new DenseIntegerMap<UnitType>(getData().getUnitTypeList().size());
+			return countByType(byType);
+		}
+	}
+	
+	private IntegerMap<UnitType> countByType(final Map<UnitType, List<Unit>> byType)
+	{
+		final IntegerMap<UnitType> count = new DenseIntegerMap<UnitType>(getData().getUnitTypeList().size());
+		for (final Entry<UnitType, List<Unit>> entry : byType.entrySet())
+		{
+			count.put(entry.getKey(), entry.getValue().size());
 		}
 		return count;
 	}
@@ -226,12 +276,10 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	public Set<PlayerID> getPlayersWithUnits()
 	{
 		// note nulls are handled by PlayerID.NULL_PLAYERID
-		final Set<PlayerID> ids = new HashSet<PlayerID>();
-		for (final Unit unit : m_units)
+		synchronized (m_units)
 		{
-			ids.add(unit.getOwner());
+			return new HashSet<PlayerID>(getIndex().m_byOwner.keySet());
 		}
-		return ids;
 	}
 	
 	/**
@@ -241,16 +289,22 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	public IntegerMap<PlayerID> getPlayerUnitCounts()
 	{
 		final IntegerMap<PlayerID> count = new IntegerMap<PlayerID>();
-		for (final Unit unit : m_units)
+		synchronized (m_units)
 		{
-			count.add(unit.getOwner(), 1);
+			for (final Entry<PlayerID, List<Unit>> entry : getIndex().m_byOwner.entrySet())
+			{
+				count.put(entry.getKey(), entry.getValue().size());
+			}
 		}
 		return count;
 	}
 	
 	public boolean hasUnitsFromMultiplePlayers()
 	{
-		return getPlayersWithUnits().size() > 1;
+		synchronized (m_units)
+		{
+			return getIndex().m_byOwner.size() > 1;
+		}
 	}
 	
 	public NamedUnitHolder getHolder()
@@ -312,4 +366,83 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 	{
 		return Collections.unmodifiableList(m_units).iterator();
 	}
+	
+	/**
+	 * The units of a collection grouped by type, by owner, and by owner and type.
+	 * Each group keeps its units in the order they have in the collection.
+	 */
+	private static final class UnitIndex
+	{
+		private final int m_ownerChanges;
+		private final Map<UnitType, List<Unit>> m_byType = new HashMap<UnitType, List<Unit>>();
+		private final Map<PlayerID, List<Unit>> m_byOwner = new HashMap<PlayerID, List<Unit>>();
+		private final Map<PlayerID, Map<UnitType, List<Unit>>> m_byOwnerAndType = new HashMap<PlayerID, Map<UnitType, List<Unit>>>();
+		
+		UnitIndex(final int ownerChanges)
+		{
+			m_ownerChanges = ownerChanges;
+		}
+		
+		void add(final Unit unit)
+		{
+			add(m_byType, unit.getType(), unit);
+			add(m_byOwner, unit.getOwner(), unit);
+			Map<UnitType, List<Unit>> byType = m_byOwnerAndType.get(unit.getOwner());
+			if (byType == null)
+			{
+				byType = new HashMap<UnitType, List<Unit>>();
+				m_byOwnerAndType.put(unit.getOwner(), byType);
+			}
+			add(byType, unit.getType(), unit);
+		}
+		
+		void removeAll(final Collection<Unit> units)
+		{
+			final Set<UnitType> types = new HashSet<UnitType>();
+			final Set<PlayerID> owners = new HashSet<PlayerID>();
+			for (final Unit unit : units)
+			{
+				types.add(unit.getType());
+				owners.add(unit.getOwner());
+			}
+			for (final UnitType type : types)
+			{
+				removeAll(m_byType, type, units);
+			}
+			for (final PlayerID owner : owners)
+			{
+				removeAll(m_byOwner, owner, units);
+				final Map<UnitType, List<Unit>> byType = m_byOwnerAndType.get(owner);
+				if (byType == null)
+					continue;
+				for (final UnitType type : types)
+				{
+					removeAll(byType, type, units);
+				}
+				if (byType.isEmpty())
+					m_byOwnerAndType.remove(owner);
+			}
+		}
+		
+		private static <K> void add(final Map<K, List<Unit>> groups, final K key, final Unit unit)
+		{
+			List<Unit> group = groups.get(key);
+			if (group == null)
+			{
+				group = new ArrayList<Unit>();
+				groups.put(key, group);
+			}
+			group.add(unit);
+		}
+		
+		private static <K> void removeAll(final Map<K, List<Unit>> groups, final K key, final Collection<Unit> units)
+		{
+			final List<Unit> group = groups.get(key);
+			if (group == null)
+				return;
+			group.removeAll(units);
+			if (group.isEmpty())
+				groups.remove(key);
+		}
+	}
 }
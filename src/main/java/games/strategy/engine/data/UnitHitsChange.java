@@ -36,6 +36,14 @@ public class UnitHitsChange extends Change
 		return m_hits.keySet();
 	}
 	
+	/**
+	 * @return the number of hits the unit will have after this change is performed
+	 */
+	public int getHits(final Unit unit)
+	{
+		return m_hits.getInt(unit);
+	}
+	
 	UnitHitsChange(final IntegerMap<Unit> hits)
 	{
 		m_hits = hits.copy();
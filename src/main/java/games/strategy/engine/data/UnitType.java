@@ -23,6 +23,7 @@ import games.strategy.triplea.attatchments.UnitAttachment;
 import games.strategy.triplea.image.UnitImageFactory;
 import games.strategy.triplea.ui.IUIContext;
 import games.strategy.triplea.ui.TooltipProperties;
+import games.strategy.util.IDenseKey;
 import games.strategy.util.LocalizeHTML;
 
 import java.awt.Image;
@@ -42,15 +43,49 @@ import java.util.Set;
  * 
  *          A prototype for units.
  */
-public class UnitType extends NamedAttachable implements Serializable
+public class UnitType extends NamedAttachable implements Serializable, IDenseKey
 {
 	private static final long serialVersionUID = 4885339076798905247L;
+	// remembered results of UnitTypeMatches, indexed by match: 0 if not known, 1 if matched, 2 if not matched
+	private transient volatile byte[] m_matchResults;
 	
 	public UnitType(final String name, final GameData data)
 	{
 		super(name, data);
 	}
 	
+	boolean getMatchResult(final int slot, final UnitTypeMatch match)
+	{
+		final byte[] results = m_matchResults;
+		if (results != null && slot < results.length && results[slot] != 0)
+			return results[slot] == 1;
+		final boolean result = match.compute(this);
+		if (results != null && slot < results.length)
+			results[slot] = (byte) (result ? 1 : 2);
+		else
+			growMatchResults(results, slot, result);
+		return result;
+	}
+	
+	private synchronized void growMatchResults(final byte[] results, final int slot, final boolean result)
+	{
+		// if the attachments changed while the result was worked out, the result may be out of date
+		if (m_matchResults != results)
+			return;
+		final byte[] grown = new byte[slot + 16];
+		if (results != null)
+			System.arraycopy(results, 0, grown, 0, results.length);
+		grown[slot] = (byte) (result ? 1 : 2);
+		m_matchResults = grown;
+	}
+	
+	@Override
+	synchronized void attachmentChanged()
+	{
+		// a new array rather than null, so that growMatchResults can tell the results were thrown away
+		m_matchResults = new byte[0];
+	}
+	
 	public List<Unit> create(final int quantity, final PlayerID owner)
 	{
 		return create(quantity, owner, false);
@@ -36,6 +36,7 @@ public class UnitTypeList extends GameDataComponent implements Iterable<UnitType
 {
 	private static final long serialVersionUID = 9002927658524651749L;
 	private final Map<String, UnitType> m_unitTypes = new HashMap<String, UnitType>();
+	private int m_nextDenseId = 0;
 	
 	/**
 	 * Creates new UnitTypeCollection
@@ -51,6 +52,20 @@ public class UnitTypeList extends GameDataComponent implements Iterable<UnitType
 	protected void addUnitType(final UnitType type)
 	{
 		m_unitTypes.put(type.getName(), type);
+		type.setDenseId(m_nextDenseId++);
+	}
+	
+	/**
+	 * Numbers the unit types of a game saved before unit types were given ids.
+	 */
+	void assignMissingDenseIds()
+	{
+		if (m_nextDenseId != 0)
+			return;
+		for (final UnitType type : m_unitTypes.values())
+		{
+			type.setDenseId(m_nextDenseId++);
+		}
 	}
 	
 	public UnitType getUnitType(final String name)
@@ -0,0 +1,61 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import games.strategy.util.Match;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A match on unit types whose result depends only on the unit type and its attachments. <br>
+ * The result for each unit type is worked out once, and kept on the unit type until one of its attachments changes,
+ * so matching a unit type is an array lookup instead of an attachment lookup.
+ * 
+ * Subclasses must not look at anything but the type and its attachments (no game properties, techs, owners, or unit state),
+ * otherwise the remembered results will be wrong.
+ * Every instance takes a slot on every unit type, so instances should be kept in static fields, not created for each use.
+ */
+public abstract class UnitTypeMatch extends Match<UnitType>
+{
+	private static final AtomicInteger s_nextSlot = new AtomicInteger();
+	// where the results of this match are kept on each unit type
+	private final int m_slot = s_nextSlot.getAndIncrement();
+	private final Match<Unit> m_unitMatch = new Match<Unit>()
+	{
+		@Override
+		public boolean match(final Unit unit)
+		{
+			return UnitTypeMatch.this.match(unit.getType());
+		}
+	};
+	
+	@Override
+	public final boolean match(final UnitType type)
+	{
+		return type.getMatchResult(m_slot, this);
+	}
+	
+	/**
+	 * Works out the result for a unit type that does not have one yet.
+	 */
+	protected abstract boolean compute(UnitType type);
+	
+	/**
+	 * @return a match on units that matches when this matches the type of the unit
+	 */
+	public Match<Unit> forUnits()
+	{
+		return m_unitMatch;
+	}
+}
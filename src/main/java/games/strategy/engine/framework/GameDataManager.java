@@ -74,7 +74,10 @@ public class GameDataManager
 	
 	public GameData loadGame(final InputStream input, final String path) throws IOException
 	{
-		return loadGame(new ObjectInputStream(new GZIPInputStream(input)), path);
+		final InputStream markable = input.markSupported() ? input : new BufferedInputStream(input);
+		if (IncrementalSaveGame.isIncrementalSaveGame(markable))
+			return IncrementalSaveGame.load(markable, this, path);
+		return loadGame(new ObjectInputStream(new GZIPInputStream(markable)), path);
 	}
 	
 	public GameData loadGame(final ObjectInputStream input, final String savegamePath) throws IOException
@@ -267,6 +270,20 @@ public class GameDataManager
 	public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo) throws IOException
 	{
 		// write internally first in case of error
+		final byte[] bytes = saveGameUncompressed(data, saveDelegateInfo);
+		final GZIPOutputStream zippedOut = new GZIPOutputStream(sink);
+		// now write to file
+		zippedOut.write(bytes);
+		zippedOut.flush();
+		zippedOut.close();
+	}
+	
+	/**
+	 * Serializes the game into an uncompressed byte array, holding the read lock only while the data is written.
+	 * The result can be read back with loadGame(ObjectInputStream, String), and is much cheaper to produce than a full save when the bytes never leave memory.
+	 */
+	public byte[] saveGameUncompressed(final GameData data, final boolean saveDelegateInfo) throws IOException
+	{
 		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
 		final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
 		outStream.writeObject(games.strategy.engine.EngineVersion.VERSION);
@@ -282,11 +299,8 @@ public class GameDataManager
 		{
 			data.releaseReadLock();
 		}
-		final GZIPOutputStream zippedOut = new GZIPOutputStream(sink);
-		// now write to file
-		zippedOut.write(bytes.toByteArray());
-		zippedOut.flush();
-		zippedOut.close();
+		outStream.close();
+		return bytes.toByteArray();
 	}
 	
 	private void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException
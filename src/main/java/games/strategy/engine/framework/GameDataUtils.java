@@ -21,16 +21,37 @@ public class GameDataUtils
 	 * <Strong>You should have the game datas read or write lock before calling this method</STRONG>
 	 */
 	public static GameData cloneGameData(final GameData data, final boolean copyDelegates)
+	{
+		final byte[] snapshot = createSnapshot(data, copyDelegates);
+		return snapshot == null ? null : createGameDataFromSnapshot(snapshot);
+	}
+	
+	/**
+	 * Serialize GameData into an uncompressed snapshot that can be turned into any number of independent copies with createGameDataFromSnapshot.
+	 * Making several copies from one snapshot only pays the cost of writing the data once, and the source data only needs to be locked while the snapshot is taken.
+	 * 
+	 * <Strong>You should have the game datas read or write lock before calling this method</STRONG>
+	 */
+	public static byte[] createSnapshot(final GameData data, final boolean copyDelegates)
 	{
 		try
 		{
-			final GameDataManager manager = new GameDataManager();
-			ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
-			manager.saveGame(sink, data, copyDelegates);
-			sink.close();
-			final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
-			sink = null;
-			return manager.loadGame(source, null);
+			return new GameDataManager().saveGameUncompressed(data, copyDelegates);
+		} catch (final IOException ex)
+		{
+			ex.printStackTrace();
+			return null;
+		}
+	}
+	
+	/**
+	 * Create a new deep copy of GameData from a snapshot made by createSnapshot. The snapshot is not modified, so this may be called from several threads at once.
+	 */
+	public static GameData createGameDataFromSnapshot(final byte[] snapshot)
+	{
+		try
+		{
+			return new GameDataManager().loadGame(new ObjectInputStream(new ByteArrayInputStream(snapshot)), null);
 		} catch (final IOException ex)
 		{
 			ex.printStackTrace();
@@ -0,0 +1,155 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.framework;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.history.HistoryDelta;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The running game, kept serialized for observers to load when they join. <br>
+ * The game is written in full once, in the format of an IncrementalSaveGame, and after that the changes each joining observer
+ * is sent to catch up are appended to it, so joining does not mean writing the whole game each time,
+ * and observers that join at about the same time load the same bytes.
+ * 
+ * An observer loads a version of the snapshot while the game goes on, and once it has loaded,
+ * is sent the changes made since that version with the game stopped, see ServerGame.addObserver(...).
+ */
+public class GameSnapshot
+{
+	private final GameData m_data;
+	private final int m_maxDeltas;
+	// null until the game is first written, and after too many changes have been appended
+	private Version m_current;
+	private int m_deltas;
+	
+	public GameSnapshot(final GameData data)
+	{
+		this(data, IncrementalSaveGame.DEFAULT_MAX_DELTAS);
+	}
+	
+	/**
+	 * @param maxDeltas
+	 *            how many times to append changes before writing the whole game again
+	 */
+	public GameSnapshot(final GameData data, final int maxDeltas)
+	{
+		m_data = data;
+		m_maxDeltas = maxDeltas;
+	}
+	
+	/**
+	 * @return the latest version, or null if the game must be written in full first
+	 */
+	public synchronized Version get()
+	{
+		return m_current;
+	}
+	
+	/**
+	 * Writes the whole game. The caller must make sure that no delegate is running.
+	 */
+	public synchronized Version write() throws IOException
+	{
+		final HistoryDelta.Mark mark;
+		final byte[] record;
+		m_data.acquireReadLock();
+		try
+		{
+			mark = m_data.getHistory().getMark();
+			record = IncrementalSaveGame.gzip(new GameDataManager().saveGameUncompressed(m_data, true));
+		} finally
+		{
+			m_data.releaseReadLock();
+		}
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream(record.length + 8);
+		final DataOutputStream out = new DataOutputStream(sink);
+		out.writeInt(IncrementalSaveGame.MAGIC);
+		out.writeInt(record.length);
+		out.write(record);
+		out.close();
+		m_current = new Version(sink.toByteArray(), mark);
+		m_deltas = 0;
+		return m_current;
+	}
+	
+	/**
+	 * What changed in the game since version was taken, to be read with IncrementalSaveGame.readDelta(GameData, byte[]).
+	 * The caller must make sure that no delegate is running. <br>
+	 * If version is the latest, the changes are appended to it, so observers that join later have less to catch up on.
+	 * 
+	 * @return the changes, or null if they can not be told, and the game must be sent in full
+	 */
+	public synchronized byte[] getChangesSince(final Version version) throws IOException
+	{
+		final HistoryDelta.Mark mark;
+		final HistoryDelta delta;
+		final byte[] record;
+		m_data.acquireReadLock();
+		try
+		{
+			mark = m_data.getHistory().getMark();
+			delta = m_data.getHistory().getDeltaSince(version.m_mark);
+			if (delta == null)
+				return null;
+			// delegate states may have changed even when the history did not, so they are always sent
+			record = IncrementalSaveGame.writeDelta(m_data, delta);
+		} finally
+		{
+			m_data.releaseReadLock();
+		}
+		if (version == m_current && !delta.isEmpty())
+		{
+			if (m_deltas < m_maxDeltas)
+			{
+				final ByteArrayOutputStream sink = new ByteArrayOutputStream(version.m_bytes.length + record.length + 4);
+				final DataOutputStream out = new DataOutputStream(sink);
+				out.write(version.m_bytes);
+				out.writeInt(record.length);
+				out.write(record);
+				out.close();
+				m_current = new Version(sink.toByteArray(), mark);
+				m_deltas++;
+			}
+			else
+			{
+				m_current = null;
+			}
+		}
+		return record;
+	}
+	
+	/**
+	 * The game as it was at some point. The bytes load with GameDataManager.loadGame(InputStream, String), and must not be changed.
+	 */
+	public static final class Version
+	{
+		private final byte[] m_bytes;
+		private final HistoryDelta.Mark m_mark;
+		
+		private Version(final byte[] bytes, final HistoryDelta.Mark mark)
+		{
+			m_bytes = bytes;
+			m_mark = mark;
+		}
+		
+		public byte[] getBytes()
+		{
+			return m_bytes;
+		}
+	}
+}
@@ -0,0 +1,382 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.framework;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.HistoryDelta;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A save game file that is written in full once, and after that is brought up to date by appending only what changed. <br>
+ * Used for autosaves, which are written after most steps, where writing the whole game (and its ever growing history) each time is slow.
+ * 
+ * The file starts with a magic number, followed by records of an int length and that many bytes of gzipped data.
+ * The first record is an ordinary save game. Each record after it holds the round and step, the history nodes and changes
+ * added since the record before it, and the state of every delegate, written with a GameObjectOutputStream.
+ * Loading reads the first record, then performs the changes in the others.
+ * A record that was not completely written, because the game stopped while saving, is ignored.
+ * 
+ * The whole game is written again when there are too many records, or when the history changed in a way that can not be appended.
+ * It is written to a temporary file that then replaces the save game, so the save game is never left half written.
+ * 
+ * Saving is split in two, so that the game need only wait for the first part. capture(GameData) serializes what changed,
+ * and writePending() compresses and writes it, and can be left to another thread, see IncrementalSaveGameWriter.
+ * 
+ * @see GameDataManager#loadGame(InputStream, String)
+ */
+public class IncrementalSaveGame
+{
+	// can not be the start of a gzip stream, so these files can be told apart from ordinary save games
+	static final int MAGIC = 0x54534156;
+	public static final int DEFAULT_MAX_DELTAS = 20;
+	private final File m_file;
+	private final int m_maxDeltas;
+	// what the history held at the last capture, which is what the file holds once the pending record is written
+	private HistoryDelta.Mark m_mark;
+	// how many records were appended to the file, counting the pending record
+	private int m_deltas = 0;
+	// captured but not yet written, later captures are merged into it
+	private Record m_pending;
+	// held while writing, so records are written in the order they were captured
+	private final Object m_writeLock = new Object();
+	// what the file looked like after we last wrote it, so we do not append to a file someone else has written
+	private long m_length = -1;
+	private long m_lastModified = -1;
+	
+	public IncrementalSaveGame(final File file)
+	{
+		this(file, DEFAULT_MAX_DELTAS);
+	}
+	
+	/**
+	 * @param maxDeltas
+	 *            how many times to append to the file before writing the whole game again
+	 */
+	public IncrementalSaveGame(final File file, final int maxDeltas)
+	{
+		m_file = file;
+		m_maxDeltas = maxDeltas;
+	}
+	
+	public File getFile()
+	{
+		return m_file;
+	}
+	
+	/**
+	 * Saves the game, appending only what changed since the last save when possible.
+	 * The caller must make sure that no delegate is running while the game is saved.
+	 */
+	public void save(final GameData data) throws IOException
+	{
+		capture(data);
+		writePending();
+	}
+	
+	/**
+	 * Serializes what changed since the last capture, or the whole game, to be written by writePending().
+	 * The caller must make sure that no delegate is running. <br>
+	 * If the last capture has not been written yet, it is replaced by this one, which then holds what changed since the capture before it.
+	 */
+	public synchronized void capture(final GameData data) throws IOException
+	{
+		// what the file holds before the pending record, which is what this capture appends to
+		final HistoryDelta.Mark base;
+		final int deltas;
+		if (m_pending == null)
+		{
+			base = isUnchanged() ? m_mark : null;
+			deltas = m_deltas;
+		}
+		else
+		{
+			base = m_pending.m_full ? null : m_pending.m_base;
+			deltas = m_deltas - 1;
+		}
+		final HistoryDelta.Mark mark;
+		HistoryDelta delta = null;
+		final byte[] bytes;
+		data.acquireReadLock();
+		try
+		{
+			mark = data.getHistory().getMark();
+			if (base != null && deltas < m_maxDeltas)
+				delta = data.getHistory().getDeltaSince(base);
+			if (delta != null)
+				bytes = writeDeltaUncompressed(data, delta);
+			else
+				bytes = new GameDataManager().saveGameUncompressed(data, true);
+		} finally
+		{
+			data.releaseReadLock();
+		}
+		m_pending = new Record(bytes, delta == null, base);
+		m_mark = mark;
+		m_deltas = delta == null ? 0 : deltas + 1;
+	}
+	
+	/**
+	 * Compresses and writes what was captured, if it has not been written yet. <br>
+	 * If the record can not be written, the next capture writes the whole game.
+	 */
+	public void writePending() throws IOException
+	{
+		synchronized (m_writeLock)
+		{
+			final Record record;
+			synchronized (this)
+			{
+				record = m_pending;
+				m_pending = null;
+			}
+			if (record == null)
+				return;
+			try
+			{
+				if (!record.m_full && !isUnchanged())
+					throw new IOException(m_file.getName() + " was changed since we last wrote it, not appending to it");
+				final byte[] compressed = gzip(record.m_bytes);
+				if (record.m_full)
+					replace(compressed);
+				else
+					append(compressed);
+			} catch (final IOException e)
+			{
+				synchronized (this)
+				{
+					m_mark = null;
+					// captured after this record, so it can not be appended either
+					if (m_pending != null && !m_pending.m_full)
+						m_pending = null;
+				}
+				throw e;
+			}
+			synchronized (this)
+			{
+				m_length = m_file.length();
+				m_lastModified = m_file.lastModified();
+			}
+		}
+	}
+	
+	private synchronized boolean isUnchanged()
+	{
+		return m_file.length() == m_length && m_file.lastModified() == m_lastModified;
+	}
+	
+	private void append(final byte[] record) throws IOException
+	{
+		final DataOutputStream out = new DataOutputStream(new FileOutputStream(m_file, true));
+		try
+		{
+			out.writeInt(record.length);
+			out.write(record);
+		} finally
+		{
+			out.close();
+		}
+	}
+	
+	private void replace(final byte[] record) throws IOException
+	{
+		final File file = m_file.getAbsoluteFile();
+		final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+		final DataOutputStream out = new DataOutputStream(new FileOutputStream(temp));
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(record.length);
+			out.write(record);
+		} finally
+		{
+			out.close();
+		}
+		try
+		{
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e)
+		{
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * @return a record holding delta, and the round, step and delegate states of data
+	 */
+	static byte[] writeDelta(final GameData data, final HistoryDelta delta) throws IOException
+	{
+		return gzip(writeDeltaUncompressed(data, delta));
+	}
+	
+	private static byte[] writeDeltaUncompressed(final GameData data, final HistoryDelta delta) throws IOException
+	{
+		final Map<String, Serializable> delegateStates = new HashMap<String, Serializable>();
+		for (final IDelegate delegate : data.getDelegateList())
+		{
+			delegateStates.put(delegate.getName(), delegate.saveState());
+		}
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream(5000);
+		final ObjectOutputStream out = new GameObjectOutputStream(sink);
+		out.writeInt(data.getSequence().getRound());
+		out.writeInt(data.getSequence().getStepIndex());
+		out.writeObject(delta);
+		out.writeObject(delegateStates);
+		out.close();
+		return sink.toByteArray();
+	}
+	
+	static byte[] gzip(final byte[] bytes) throws IOException
+	{
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream(bytes.length / 4);
+		final OutputStream zippedOut = new GZIPOutputStream(sink);
+		zippedOut.write(bytes);
+		zippedOut.close();
+		return sink.toByteArray();
+	}
+	
+	/**
+	 * Looks at the start of the stream without reading it.
+	 * 
+	 * @param input
+	 *            a stream that supports mark and reset
+	 */
+	static boolean isIncrementalSaveGame(final InputStream input) throws IOException
+	{
+		input.mark(4);
+		try
+		{
+			int magic = 0;
+			for (int i = 0; i < 4; i++)
+			{
+				final int b = input.read();
+				if (b == -1)
+					return false;
+				magic = (magic << 8) | b;
+			}
+			return magic == MAGIC;
+		} finally
+		{
+			input.reset();
+		}
+	}
+	
+	static GameData load(final InputStream input, final GameDataManager manager, final String path) throws IOException
+	{
+		final DataInputStream in = new DataInputStream(input);
+		if (in.readInt() != MAGIC)
+			throw new IOException("Not an incremental save game");
+		final byte[] base = readRecord(in);
+		if (base == null)
+			throw new IOException("Save game is empty");
+		final GameData data = manager.loadGame(new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(base))), path);
+		if (data == null)
+			return null;
+		for (byte[] record = readRecord(in); record != null; record = readRecord(in))
+		{
+			readDelta(data, record);
+		}
+		return data;
+	}
+	
+	/**
+	 * @return the next record, or null if there are no more complete records
+	 */
+	private static byte[] readRecord(final DataInputStream in) throws IOException
+	{
+		try
+		{
+			final int length = in.readInt();
+			if (length < 0)
+				return null;
+			final byte[] record = new byte[length];
+			in.readFully(record);
+			return record;
+		} catch (final EOFException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * Brings data up to date with a record written by writeDelta(GameData, HistoryDelta).
+	 */
+	@SuppressWarnings("unchecked")
+	public static void readDelta(final GameData data, final byte[] record) throws IOException
+	{
+		final ObjectInputStream in = new GameObjectInputStream(new GameObjectStreamFactory(data), new GZIPInputStream(new ByteArrayInputStream(record)));
+		try
+		{
+			final int round = in.readInt();
+			final int stepIndex = in.readInt();
+			final HistoryDelta delta = (HistoryDelta) in.readObject();
+			final Map<String, Serializable> delegateStates = (Map<String, Serializable>) in.readObject();
+			delta.applyTo(data);
+			data.getSequence().setRoundAndStepIndex(round, stepIndex);
+			for (final Map.Entry<String, Serializable> entry : delegateStates.entrySet())
+			{
+				final IDelegate delegate = data.getDelegateList().getDelegate(entry.getKey());
+				if (delegate != null)
+					delegate.loadState(entry.getValue());
+			}
+		} catch (final ClassNotFoundException cnfe)
+		{
+			throw new IOException(cnfe.getMessage());
+		} finally
+		{
+			in.close();
+		}
+	}
+	
+	/**
+	 * Serialized, but not yet compressed or written.
+	 */
+	private static final class Record
+	{
+		private final byte[] m_bytes;
+		// the whole game, rather than what changed
+		private final boolean m_full;
+		// what the history held at the capture before this one, which the delta is from
+		private final HistoryDelta.Mark m_base;
+		
+		Record(final byte[] bytes, final boolean full, final HistoryDelta.Mark base)
+		{
+			m_bytes = bytes;
+			m_full = full;
+			m_base = base;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.framework;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Writes what was captured for save games on a background thread, so the game does not wait for compressing and writing. <br>
+ * A save game is queued at most once. If it is captured again before it is written, the captures are merged
+ * (see IncrementalSaveGame.capture(GameData)), so a slow disk delays the save games rather than piling up work.
+ * The writer thread is a daemon, so what is queued is also written by a shutdown hook, in case the jvm exits without the writer being shut down.
+ */
+public class IncrementalSaveGameWriter
+{
+	// how long the jvm waits for queued save games when it exits
+	private static final long EXIT_TIMEOUT_MS = 10000;
+	private final Set<IncrementalSaveGame> m_queued = new LinkedHashSet<IncrementalSaveGame>();
+	private final Thread m_thread;
+	private final Thread m_shutdownHook;
+	// being written, guarded by m_queued
+	private IncrementalSaveGame m_writing;
+	private boolean m_shutDown = false;
+	
+	public IncrementalSaveGameWriter(final String name)
+	{
+		m_thread = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				writeQueued();
+			}
+		}, "Save game writer:" + name);
+		m_thread.setDaemon(true);
+		m_shutdownHook = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					if (!shutDown(EXIT_TIMEOUT_MS))
+						System.err.println("Could not finish writing save games.");
+				} catch (final InterruptedException e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}, "Save game writer shutdown:" + name);
+	}
+	
+	/**
+	 * Write what was captured for save, unless it is already waiting to be written.
+	 * Once the writer is shut down, save is written before returning.
+	 */
+	public void write(final IncrementalSaveGame save)
+	{
+		synchronized (m_queued)
+		{
+			if (!m_shutDown)
+			{
+				// started when first needed, so games that never autosave do not leave a thread behind
+				if (!m_thread.isAlive())
+				{
+					m_thread.start();
+					try
+					{
+						Runtime.getRuntime().addShutdownHook(m_shutdownHook);
+					} catch (final IllegalStateException e)
+					{
+						// the jvm is already exiting
+					}
+				}
+				if (m_queued.add(save))
+					m_queued.notifyAll();
+				return;
+			}
+		}
+		try
+		{
+			save.writePending();
+		} catch (final Exception e)
+		{
+			System.err.println("Could not write save game: " + save.getFile().getName());
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Forget save if it is waiting to be written, and wait for it if it is being written,
+	 * so its file can be written some other way without an older game being written over it.
+	 */
+	public void discard(final IncrementalSaveGame save) throws InterruptedException
+	{
+		synchronized (m_queued)
+		{
+			m_queued.remove(save);
+			while (m_writing == save)
+			{
+				m_queued.wait();
+			}
+		}
+	}
+	
+	/**
+	 * Wait until everything queued so far has been written.
+	 * 
+	 * @return false if we timed out first
+	 */
+	public boolean flush(final long timeoutMs) throws InterruptedException
+	{
+		final long end = System.currentTimeMillis() + timeoutMs;
+		synchronized (m_queued)
+		{
+			while (!m_queued.isEmpty() || m_writing != null)
+			{
+				final long remaining = end - System.currentTimeMillis();
+				if (remaining <= 0)
+					return false;
+				m_queued.wait(remaining);
+			}
+			return true;
+		}
+	}
+	
+	/**
+	 * Stops the writer once what is queued has been written, waiting up to timeoutMs for it.
+	 * 
+	 * @return false if we timed out first
+	 */
+	public boolean shutDown(final long timeoutMs) throws InterruptedException
+	{
+		synchronized (m_queued)
+		{
+			m_shutDown = true;
+			m_queued.notifyAll();
+			if (!m_thread.isAlive())
+				return true;
+		}
+		m_thread.join(timeoutMs);
+		if (Thread.currentThread() != m_shutdownHook)
+		{
+			try
+			{
+				Runtime.getRuntime().removeShutdownHook(m_shutdownHook);
+			} catch (final IllegalStateException e)
+			{
+				// the jvm is already exiting, and the hook waits for the writer as well
+			}
+		}
+		return !m_thread.isAlive();
+	}
+	
+	private void writeQueued()
+	{
+		while (true)
+		{
+			final IncrementalSaveGame save;
+			synchronized (m_queued)
+			{
+				m_writing = null;
+				m_queued.notifyAll();
+				while (m_queued.isEmpty() && !m_shutDown)
+				{
+					try
+					{
+						m_queued.wait();
+					} catch (final InterruptedException e)
+					{
+						// check again
+					}
+				}
+				if (m_queued.isEmpty())
+					return;
+				final Iterator<IncrementalSaveGame> iter = m_queued.iterator();
+				save = iter.next();
+				iter.remove();
+				m_writing = save;
+			}
+			try
+			{
+				save.writePending();
+			} catch (final Exception e)
+			{
+				System.err.println("Could not write save game: " + save.getFile().getName());
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -63,6 +63,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -95,6 +96,12 @@ public class ServerGame extends AbstractGame
 	 * Has the delegate signaled that delegate execution should stop.
 	 */
 	private volatile boolean m_delegateExecutionStopped = false;
+	private final Map<File, IncrementalSaveGame> m_autoSaves = new HashMap<File, IncrementalSaveGame>();
+	private final IncrementalSaveGameWriter m_autoSaveWriter = new IncrementalSaveGameWriter("Autosave");
+	// the file of the two alternating autosaves that was last chosen, guarded by m_autoSaves
+	private File m_lastAutoSave;
+	// what observers load when they join
+	private final GameSnapshot m_snapshot;
 	private final IServerRemote m_serverRemote = new IServerRemote()
 	{
 		public byte[] getSavedGame()
@@ -126,6 +133,7 @@ public class ServerGame extends AbstractGame
 	public ServerGame(final GameData data, final Set<IGamePlayer> localPlayers, final Map<String, INode> remotePlayerMapping, final Messengers messengers)
 	{
 		super(data, localPlayers, remotePlayerMapping, messengers);
+		m_snapshot = new GameSnapshot(data);
 		m_gameModifiedChannel = new IGameModifiedChannel()
 		{
 			public void gameDataChanged(final Change aChange)
@@ -188,8 +196,33 @@ public class ServerGame extends AbstractGame
 		m_remoteMessenger.registerRemote(m_serverRemote, SERVER_REMOTE);
 	}
 	
+	/**
+	 * Adds an observer to the running game. <br>
+	 * The observer first loads a snapshot of the game while the game goes on, then delegate execution is blocked
+	 * only while it catches up on what changed since and starts listening for further changes.
+	 */
 	public void addObserver(final IObserverWaitingToJoin blockingObserver, final IObserverWaitingToJoin nonBlockingObserver, final INode newNode)
 	{
+		final GameSnapshot.Version snapshot;
+		try
+		{
+			snapshot = getSnapshot();
+			if (snapshot == null)
+			{
+				nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+				return;
+			}
+			blockingObserver.loadGame(snapshot.getBytes());
+		} catch (final ConnectionLostException cle)
+		{
+			System.out.println("Connection lost to observer while joining: " + newNode.getName());
+			return;
+		} catch (final Exception e)
+		{
+			e.printStackTrace();
+			nonBlockingObserver.cannotJoinGame(e.getMessage());
+			return;
+		}
 		try
 		{
 			if (!m_delegateExecutionManager.blockDelegateExecution(2000))
@@ -205,15 +238,19 @@ public class ServerGame extends AbstractGame
 		try
 		{
 			final CountDownLatch waitOnObserver = new CountDownLatch(1);
-			final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
-			saveGame(sink);
+			final byte[] changes = m_snapshot.getChangesSince(snapshot);
+			// if we can not tell what changed, send the whole game again
+			final byte[] gameData = changes == null ? m_snapshot.write().getBytes() : null;
 			(new Thread(new Runnable()
 			{
 				public void run()
 				{
 					try
 					{
-						blockingObserver.joinGame(sink.toByteArray(), m_playerManager.getPlayerMapping());
+						if (changes != null)
+							blockingObserver.joinLoadedGame(changes, m_playerManager.getPlayerMapping());
+						else
+							blockingObserver.joinGame(gameData, m_playerManager.getPlayerMapping());
 						waitOnObserver.countDown();
 					} catch (final ConnectionLostException cle)
 					{
@@ -253,6 +290,27 @@ public class ServerGame extends AbstractGame
 		}
 	}
 	
+	/**
+	 * @return the latest snapshot, blocking delegate execution to write one if there is none, or null if execution could not be blocked
+	 */
+	private GameSnapshot.Version getSnapshot() throws IOException, InterruptedException
+	{
+		final GameSnapshot.Version snapshot = m_snapshot.get();
+		if (snapshot != null)
+			return snapshot;
+		if (!m_delegateExecutionManager.blockDelegateExecution(2000))
+			return null;
+		try
+		{
+			// another observer may have written it while we waited
+			final GameSnapshot.Version written = m_snapshot.get();
+			return written != null ? written : m_snapshot.write();
+		} finally
+		{
+			m_delegateExecutionManager.resumeDelegateExecution();
+		}
+	}
+	
 	private void setupDelegateMessaging(final GameData data)
 	{
 		for (final IDelegate delegate : data.getDelegateList())
@@ -413,6 +471,14 @@ public class ServerGame extends AbstractGame
 		{
 			m_delegateExecutionManager.resumeDelegateExecution();
 		}
+		try
+		{
+			if (!m_autoSaveWriter.shutDown(10000))
+				System.err.println("Could not finish writing autosaves.");
+		} catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
 		m_data.getGameLoader().shutDown();
 		if (HeadlessGameServer.headless())
 		{
@@ -422,72 +488,126 @@ public class ServerGame extends AbstractGame
 	
 	private void autoSave()
 	{
-		FileOutputStream out = null;
+		autoSave(nextAutoSaveFile());
+	}
+	
+	/**
+	 * Saves the game to the next of the two alternating autosave files, in place of an autosave,
+	 * like the save made when the game is stopped. Autosaves waiting to be written are written first,
+	 * so none of them is written over this save.
+	 * 
+	 * @return the file the game was saved to
+	 */
+	public File saveInPlaceOfAutoSave()
+	{
+		final File f = chooseAutoSaveFile();
+		saveGame(f);
+		return f;
+	}
+	
+	private File chooseAutoSaveFile()
+	{
 		try
 		{
-			SaveGameFileChooser.ensureDefaultDirExists();
-			final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
-			final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
-			final File f;
-			if (f1.lastModified() > f2.lastModified())
-				f = f2;
-			else
-				f = f1;
-			out = new FileOutputStream(f);
-			saveGame(out);
-		} catch (final Exception e)
+			if (!m_autoSaveWriter.flush(10000))
+				System.err.println("Could not finish writing autosaves.");
+		} catch (final InterruptedException e)
 		{
 			e.printStackTrace();
-		} finally
-		{
-			try
-			{
-				if (out != null)
-					out.close();
-			} catch (final IOException e)
-			{
-				e.printStackTrace();
-			}
 		}
+		return nextAutoSaveFile();
+	}
+	
+	private File nextAutoSaveFile()
+	{
+		SaveGameFileChooser.ensureDefaultDirExists();
+		final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
+		final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
+		final File f;
+		synchronized (m_autoSaves)
+		{
+			// alternate between the files as autosaves are queued, the last one may not have been written yet
+			if (m_lastAutoSave == null)
+				f = f1.lastModified() > f2.lastModified() ? f2 : f1;
+			else
+				f = m_lastAutoSave.equals(f1) ? f2 : f1;
+			m_lastAutoSave = f;
+		}
+		return f;
 	}
 	
 	private void autoSaveRound()
 	{
-		FileOutputStream out = null;
+		SaveGameFileChooser.ensureDefaultDirExists();
+		File autosaveFile;
+		if (m_data.getSequence().getRound() % 2 == 0)
+			autosaveFile = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveEvenFileName());
+		else
+			autosaveFile = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveOddFileName());
+		autoSave(autosaveFile);
+	}
+	
+	/**
+	 * Autosaves only append what changed since this game last saved to the same file.
+	 * Delegates wait only while the changes are captured, they are written in the background.
+	 */
+	private void autoSave(final File f)
+	{
+		IncrementalSaveGame save;
+		synchronized (m_autoSaves)
+		{
+			save = m_autoSaves.get(f);
+			if (save == null)
+			{
+				save = new IncrementalSaveGame(f);
+				m_autoSaves.put(f, save);
+			}
+		}
 		try
 		{
-			SaveGameFileChooser.ensureDefaultDirExists();
-			File autosaveFile;
-			if (m_data.getSequence().getRound() % 2 == 0)
-				autosaveFile = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveEvenFileName());
-			else
-				autosaveFile = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveOddFileName());
-			out = new FileOutputStream(autosaveFile);
-			saveGame(out);
+			if (!m_delegateExecutionManager.blockDelegateExecution(6000))
+			{
+				System.err.println("Could not lock delegate execution, not autosaving to: " + f.getName());
+				return;
+			}
+		} catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+			return;
+		}
+		try
+		{
+			save.capture(m_data);
 		} catch (final Exception e)
 		{
 			e.printStackTrace();
+			return;
 		} finally
 		{
-			try
-			{
-				if (out != null)
-					out.close();
-			} catch (final IOException e)
-			{
-				e.printStackTrace();
-			}
+			m_delegateExecutionManager.resumeDelegateExecution();
 		}
+		m_autoSaveWriter.write(save);
 	}
 	
 	public void saveGame(final File f)
 	{
+		// an autosave waiting to be written to the same file would write an older game over this save
+		final IncrementalSaveGame autoSave;
+		synchronized (m_autoSaves)
+		{
+			autoSave = m_autoSaves.remove(f);
+		}
 		FileOutputStream fout = null;
 		try
 		{
+			if (autoSave != null)
+				m_autoSaveWriter.discard(autoSave);
 			fout = new FileOutputStream(f);
 			saveGame(fout);
 		} catch (final IOException e)
+		{
+			e.printStackTrace();
+		} catch (final InterruptedException e)
 		{
 			e.printStackTrace();
 		} finally
@@ -6,6 +6,7 @@ import games.strategy.engine.framework.GameRunner2;
 import games.strategy.engine.framework.ui.NewGameChooserModel;
 import games.strategy.triplea.Constants;
 import games.strategy.util.ClassLoaderUtil;
+import games.strategy.util.Tuple;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -23,6 +24,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -81,17 +87,60 @@ public class AvailableGames
 				final Set<String> mapNamePropertyList)
 	{
 		System.out.println("Parsing all available games (this could take a while). ");
+		// the game xmls, and the map folder or zip each is in
+		final List<Tuple<URI, String>> gameXmls = new ArrayList<Tuple<URI, String>>();
 		for (final File map : allMapFiles())
 		{
 			if (map.isDirectory())
 			{
-				populateFromDirectory(map, availableGames, availableMapFolderOrZipNames, mapNamePropertyList);
+				populateFromDirectory(map, gameXmls);
 			}
 			else if (map.isFile() && map.getName().toLowerCase().endsWith(ZIP_EXTENSION))
 			{
-				populateFromZip(map, availableGames, availableMapFolderOrZipNames, mapNamePropertyList);
+				populateFromZip(map, gameXmls);
 			}
 		}
+		// the games do not depend on each other, so they are parsed at the same time, but added in the same order as before, so user maps still come first
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+		try
+		{
+			// only the names are kept, so the parsed games can be collected while the others are parsed
+			final List<Future<Tuple<String, String>>> parsed = new ArrayList<Future<Tuple<String, String>>>(gameXmls.size());
+			for (final Tuple<URI, String> gameXml : gameXmls)
+			{
+				parsed.add(executor.submit(new Callable<Tuple<String, String>>()
+				{
+					public Tuple<String, String> call()
+					{
+						return getNames(parseForAvailableGames(gameXml.getFirst()));
+					}
+				}));
+			}
+			for (int i = 0; i < gameXmls.size(); i++)
+			{
+				final Tuple<String, String> names;
+				try
+				{
+					names = parsed.get(i).get();
+				} catch (final InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					break;
+				} catch (final ExecutionException e)
+				{
+					e.printStackTrace();
+					continue;
+				}
+				final boolean added = addToAvailableGames(gameXmls.get(i).getFirst(), names, availableGames, mapNamePropertyList);
+				if (added && gameXmls.get(i).getSecond() != null)
+				{
+					availableMapFolderOrZipNames.add(gameXmls.get(i).getSecond());
+				}
+			}
+		} finally
+		{
+			executor.shutdownNow();
+		}
 		System.out.println("Finished parsing all available game xmls. ");
 	}
 	
@@ -114,8 +163,7 @@ public class AvailableGames
 		return Arrays.asList(files);
 	}
 	
-	private static void populateFromDirectory(final File mapDir, final Map<String, URI> availableGames,
-				final Set<String> availableMapFolderOrZipNames, final Set<String> mapNamePropertyList)
+	private static void populateFromDirectory(final File mapDir, final List<Tuple<URI, String>> gameXmls)
 	{
 		final File games = new File(mapDir, "games");
 		if (!games.exists())
@@ -126,17 +174,12 @@ public class AvailableGames
 		{
 			if (game.isFile() && game.getName().toLowerCase().endsWith("xml"))
 			{
-				final boolean added = addToAvailableGames(game.toURI(), availableGames, mapNamePropertyList);
-				if (added)
-				{
-					availableMapFolderOrZipNames.add(mapDir.getName());
-				}
+				gameXmls.add(new Tuple<URI, String>(game.toURI(), mapDir.getName()));
 			}
 		}
 	}
 	
-	private static void populateFromZip(final File map, final Map<String, URI> availableGames,
-				final Set<String> availableMapFolderOrZipNames, final Set<String> mapNamePropertyList)
+	private static void populateFromZip(final File map, final List<Tuple<URI, String>> gameXmls)
 	{
 		try
 		{
@@ -157,11 +200,8 @@ public class AvailableGames
 							ClassLoaderUtil.closeLoader(loader);
 							try
 							{
-								final boolean added = addToAvailableGames(new URI(url.toString().replace(" ", "%20")), availableGames, mapNamePropertyList);
-								if (added && map.getName().length() > 4)
-								{
-									availableMapFolderOrZipNames.add(map.getName().substring(0, map.getName().length() - ZIP_EXTENSION.length()));
-								}
+								gameXmls.add(new Tuple<URI, String>(new URI(url.toString().replace(" ", "%20")),
+											map.getName().length() > 4 ? map.getName().substring(0, map.getName().length() - ZIP_EXTENSION.length()) : null));
 							} catch (final URISyntaxException e)
 							{
 								// only happens when URI couldn't be build and therefore no entry was added. That's fine
@@ -190,6 +230,44 @@ public class AvailableGames
 		{
 			return false;
 		}
+		return addToAvailableGames(uri, getNames(parseForAvailableGames(uri)), availableGames, mapNamePropertyList);
+	}
+	
+	/**
+	 * @return the game name and the map name property of the game, or null if the game could not be parsed
+	 */
+	private static Tuple<String, String> getNames(final GameData data)
+	{
+		if (data == null)
+			return null;
+		return new Tuple<String, String>(data.getGameName(), data.getProperties().get(Constants.MAP_NAME, ""));
+	}
+	
+	private static boolean addToAvailableGames(final URI uri, final Tuple<String, String> names, final Map<String, URI> availableGames, final Set<String> mapNamePropertyList)
+	{
+		if (names == null)
+		{
+			return false;
+		}
+		final String name = names.getFirst();
+		final String mapName = names.getSecond();
+		if (!availableGames.containsKey(name))
+		{
+			availableGames.put(name, uri);
+			if (mapName.length() > 0)
+			{
+				mapNamePropertyList.add(mapName);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * @return the parsed game, or null if it could not be parsed
+	 */
+	private static GameData parseForAvailableGames(final URI uri)
+	{
 		InputStream input = null;
 		final AtomicReference<String> gameName = new AtomicReference<String>();
 		try
@@ -197,18 +275,7 @@ public class AvailableGames
 			input = uri.toURL().openStream();
 			try
 			{
-				final GameData data = new GameParser().parse(input, gameName, s_delayedParsing);
-				final String name = data.getGameName();
-				final String mapName = data.getProperties().get(Constants.MAP_NAME, "");
-				if (!availableGames.containsKey(name))
-				{
-					availableGames.put(name, uri);
-					if (mapName.length() > 0)
-					{
-						mapNamePropertyList.add(mapName);
-					}
-					return true;
-				}
+				return new GameParser().parse(input, gameName, s_delayedParsing);
 			} catch (final Exception e2)
 			{// ignore
 				System.err.println("Exception while parsing: " + uri.toString() + " : " + (gameName.get() != null ? gameName.get() + " : " : "")
@@ -229,7 +296,7 @@ public class AvailableGames
 			{// ignore
 			}
 		}
-		return false;
+		return null;
 	}
 	
 	public static String getGameXMLLocation(final URI uri)
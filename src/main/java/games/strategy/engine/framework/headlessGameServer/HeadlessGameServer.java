@@ -14,7 +14,6 @@ import games.strategy.engine.framework.startup.mc.SetupPanelModel;
 import games.strategy.engine.framework.startup.ui.ClientSetupPanel;
 import games.strategy.engine.framework.startup.ui.ISetupPanel;
 import games.strategy.engine.framework.startup.ui.ServerSetupPanel;
-import games.strategy.engine.framework.ui.SaveGameFileChooser;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 import games.strategy.sound.ClipPlayer;
@@ -318,17 +317,9 @@ public class HeadlessGameServer
 					public void run()
 					{
 						System.out.println("Remote Stop Game Initiated.");
-						SaveGameFileChooser.ensureDefaultDirExists();
-						final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
-						final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
-						final File f;
-						if (f1.lastModified() > f2.lastModified())
-							f = f2;
-						else
-							f = f1;
 						try
 						{
-							iGame.saveGame(f);
+							iGame.saveInPlaceOfAutoSave();
 						} catch (final Exception e)
 						{
 							e.printStackTrace();
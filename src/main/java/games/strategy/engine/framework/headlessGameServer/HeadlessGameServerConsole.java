@@ -502,17 +502,9 @@ public class HeadlessGameServerConsole
 			final boolean stop = readin.toLowerCase().startsWith("y");
 			if (stop)
 			{
-				SaveGameFileChooser.ensureDefaultDirExists();
-				final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
-				final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
-				final File f;
-				if (f1.lastModified() > f2.lastModified())
-					f = f2;
-				else
-					f = f1;
 				try
 				{
-					game.saveGame(f);
+					game.saveInPlaceOfAutoSave();
 				} catch (final Exception e)
 				{
 					e.printStackTrace();
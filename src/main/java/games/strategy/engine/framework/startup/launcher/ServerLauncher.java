@@ -445,21 +445,16 @@ public class ServerLauncher extends AbstractLauncher
 		final DateFormat format = new SimpleDateFormat("MMM_dd_'at'_HH_mm");
 		SaveGameFileChooser.ensureDefaultDirExists();
 		// a hack, if headless save to the autosave to avoid polluting our savegames folder with a million saves
-		final File f;
-		if (m_headless)
-		{
-			final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
-			final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
-			if (f1.lastModified() > f2.lastModified())
-				f = f2;
-			else
-				f = f1;
-		}
-		else
-			f = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, "connection_lost_on_" + format.format(new Date()) + ".tsvg");
+		File f = null;
 		try
 		{
-			m_serverGame.saveGame(f);
+			if (m_headless)
+				f = m_serverGame.saveInPlaceOfAutoSave();
+			else
+			{
+				f = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, "connection_lost_on_" + format.format(new Date()) + ".tsvg");
+				m_serverGame.saveGame(f);
+			}
 		} catch (final Exception e)
 		{
 			e.printStackTrace();
@@ -468,20 +463,21 @@ public class ServerLauncher extends AbstractLauncher
 			// TODO: We seem to be getting this bug once a week (1.8.0.1 and previous versions). Trying a fix for 1.8.0.3, need to see if it works.
 		}
 		stopGame();
+		final String savedTo = f == null ? "Game could not be saved." : "Game saved to:" + f.getName();
 		if (!m_headless)
 		{
 			SwingUtilities.invokeLater(new Runnable()
 			{
 				public void run()
 				{
-					final String message = "Connection lost to:" + node.getName() + " game is over.  Game saved to:" + f.getName();
+					final String message = "Connection lost to:" + node.getName() + " game is over.  " + savedTo;
 					JOptionPane.showMessageDialog(JOptionPane.getFrameForComponent(m_ui), message);
 				}
 			});
 		}
 		else
 		{
-			System.out.println("Connection lost to:" + node.getName() + " game is over.  Game saved to:" + f.getName());
+			System.out.println("Connection lost to:" + node.getName() + " game is over.  " + savedTo);
 		}
 	}
 }
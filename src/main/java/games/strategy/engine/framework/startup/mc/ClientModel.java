@@ -284,13 +284,48 @@ public class ClientModel implements IMessengerErrorListener
 			}
 		}
 	};
-	IObserverWaitingToJoin m_observerWaitingToJoin = new IObserverWaitingToJoin()
+	IObserverWaitingToJoin m_observerWaitingToJoin = new ObserverWaitingToJoin()
 	{
-		public void joinGame(final byte[] gameData, final Map<String, INode> players)
+		@Override
+		protected void showWait()
+		{
+			SwingUtilities.invokeLater(new Runnable()
+			{
+				public void run()
+				{
+					m_gameLoadingWindow.setVisible(true);
+					m_gameLoadingWindow.setLocationRelativeTo(JOptionPane.getFrameForComponent(m_ui));
+					m_gameLoadingWindow.showWait();
+				}
+			});
+		}
+		
+		@Override
+		protected void doneWait()
+		{
+			m_gameLoadingWindow.doneWait();
+		}
+		
+		@Override
+		protected void startGame(final byte[] gameData, final Map<String, INode> players)
 		{
 			m_remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(m_messenger.getLocalNode()));
 			final CountDownLatch latch = new CountDownLatch(1);
-			startGame(gameData, players, latch, true);
+			ClientModel.this.startGame(gameData, players, latch, true);
+			awaitStart(latch);
+		}
+		
+		@Override
+		protected void startGame(final GameData data, final Map<String, INode> players)
+		{
+			m_remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(m_messenger.getLocalNode()));
+			final CountDownLatch latch = new CountDownLatch(1);
+			ClientModel.this.startGame(data, players, latch, true);
+			awaitStart(latch);
+		}
+		
+		private void awaitStart(final CountDownLatch latch)
+		{
 			try
 			{
 				latch.await(GameRunner2.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
@@ -300,7 +335,8 @@ public class ClientModel implements IMessengerErrorListener
 			}
 		}
 		
-		public void cannotJoinGame(final String reason)
+		@Override
+		protected void showCannotJoin(final String reason)
 		{
 			SwingUtilities.invokeLater(new Runnable()
 			{
@@ -314,6 +350,28 @@ public class ClientModel implements IMessengerErrorListener
 	};
 	
 	private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone, final boolean gameRunning)
+	{
+		startGame(new Runnable()
+		{
+			public void run()
+			{
+				startGameInNewThread(gameData, players, gameRunning);
+			}
+		}, onDone);
+	}
+	
+	private void startGame(final GameData data, final Map<String, INode> players, final CountDownLatch onDone, final boolean gameRunning)
+	{
+		startGame(new Runnable()
+		{
+			public void run()
+			{
+				startGameInNewThread(data, players, gameRunning);
+			}
+		}, onDone);
+	}
+	
+	private void startGame(final Runnable start, final CountDownLatch onDone)
 	{
 		SwingUtilities.invokeLater(new Runnable()
 		{
@@ -330,7 +388,7 @@ public class ClientModel implements IMessengerErrorListener
 			{
 				try
 				{
-					startGameInNewThread(gameData, players, gameRunning);
+					start.run();
 				} catch (final RuntimeException e)
 				{
 					m_gameLoadingWindow.doneWait();
@@ -357,6 +415,11 @@ public class ClientModel implements IMessengerErrorListener
 			ex.printStackTrace();
 			return;
 		}
+		startGameInNewThread(data, players, gameRunning);
+	}
+	
+	private void startGameInNewThread(final GameData data, final Map<String, INode> players, final boolean gameRunning)
+	{
 		m_objectStreamFactory.setData(data);
 		final Map<String, String> playerMapping = new HashMap<String, String>();
 		for (final String player : m_playersToNodes.keySet())
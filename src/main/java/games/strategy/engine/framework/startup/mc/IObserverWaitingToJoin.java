@@ -33,6 +33,18 @@ public interface IObserverWaitingToJoin extends IRemote
 	 */
 	public void joinGame(byte[] gameData, Map<String, INode> players);
 	
+	/**
+	 * Loads the game as it was at some point, without starting it. The server goes on running the game while this is called. <br>
+	 * Followed by joinLoadedGame(...), or by joinGame(...) if the server could not tell what changed since.
+	 */
+	public void loadGame(byte[] gameData);
+	
+	/**
+	 * Brings the game loaded by loadGame(byte[]) up to date with what changed since, then joins it the way joinGame(...) does.
+	 * The game does not change until this returns.
+	 */
+	public void joinLoadedGame(byte[] changes, Map<String, INode> players);
+	
 	/**
 	 * You could not join the game, usually this is due to an error.
 	 */
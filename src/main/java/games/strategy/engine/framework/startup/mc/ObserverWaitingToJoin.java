@@ -0,0 +1,109 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.framework.startup.mc;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.IncrementalSaveGame;
+import games.strategy.net.INode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Joins a game in progress as an observer, leaving how the wait is shown and how the game is started to subclasses. <br>
+ * The game loaded by loadGame(byte[]) is held until it is joined, or until the server tells us we can not join.
+ */
+abstract class ObserverWaitingToJoin implements IObserverWaitingToJoin
+{
+	// loaded by loadGame, and waiting to be joined
+	private volatile GameData m_loadedGame;
+	
+	public void joinGame(final byte[] gameData, final Map<String, INode> players)
+	{
+		m_loadedGame = null;
+		startGame(gameData, players);
+	}
+	
+	public void loadGame(final byte[] gameData)
+	{
+		showWait();
+		try
+		{
+			m_loadedGame = new GameDataManager().loadGame(new ByteArrayInputStream(gameData), null);
+		} catch (final IOException e)
+		{
+			e.printStackTrace();
+			doneWait();
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+	
+	public void joinLoadedGame(final byte[] changes, final Map<String, INode> players)
+	{
+		final GameData data = m_loadedGame;
+		m_loadedGame = null;
+		if (data == null)
+			throw new IllegalStateException("No game loaded");
+		try
+		{
+			IncrementalSaveGame.readDelta(data, changes);
+		} catch (final IOException e)
+		{
+			e.printStackTrace();
+			doneWait();
+			throw new IllegalStateException(e.getMessage());
+		}
+		startGame(data, players);
+	}
+	
+	public void cannotJoinGame(final String reason)
+	{
+		// the game we loaded will never be joined
+		m_loadedGame = null;
+		doneWait();
+		showCannotJoin(reason);
+	}
+	
+	/**
+	 * @return the game loaded by loadGame(byte[]) and not yet joined, or null
+	 */
+	GameData getLoadedGame()
+	{
+		return m_loadedGame;
+	}
+	
+	/**
+	 * Show that a game is being loaded.
+	 */
+	protected abstract void showWait();
+	
+	/**
+	 * Stop showing that a game is being loaded.
+	 */
+	protected abstract void doneWait();
+	
+	/**
+	 * Start the game, not returning until the client is ready, see IObserverWaitingToJoin.joinGame(...).
+	 */
+	protected abstract void startGame(byte[] gameData, Map<String, INode> players);
+	
+	/**
+	 * Start the loaded game, not returning until the client is ready.
+	 */
+	protected abstract void startGame(GameData data, Map<String, INode> players);
+	
+	protected abstract void showCannotJoin(String reason);
+}
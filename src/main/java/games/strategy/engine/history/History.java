@@ -33,6 +33,7 @@ package games.strategy.engine.history;
  * 
  */
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeCompactor;
 import games.strategy.engine.data.ChangePerformer;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
@@ -42,7 +43,9 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -54,6 +57,8 @@ public class History extends DefaultTreeModel implements java.io.Serializable
 	private final List<Change> m_changes = new ArrayList<Change>();
 	private final GameData m_data;
 	private HistoryNode m_currentNode;
+	// round start change index -> the changes of that round compacted, only for rounds that are over
+	private final Map<Integer, Change> m_checkpoints = new HashMap<Integer, Change>();
 	
 	private void assertCorrectThread()
 	{
@@ -123,8 +128,7 @@ public class History extends DefaultTreeModel implements java.io.Serializable
 		final int lastChange = getLastChange(end);
 		if (firstChange == lastChange)
 			return null;
-		final List<Change> changes = m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
-		final Change compositeChange = new CompositeChange(changes);
+		final Change compositeChange = getChangesBetween(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
 		if (lastChange >= firstChange)
 		{
 			return compositeChange;
@@ -135,6 +139,56 @@ public class History extends DefaultTreeModel implements java.io.Serializable
 		}
 	}
 	
+	/**
+	 * Whole rounds between from and to are replaced by their checkpoint, the round's changes compacted,
+	 * so going far back or forward in a long game does not replay every change that was made.
+	 */
+	private synchronized Change getChangesBetween(final int from, final int to)
+	{
+		final List<Change> rVal = new ArrayList<Change>();
+		int index = from;
+		final List<Integer> roundStarts = getRoundStarts();
+		for (int i = 0; i < roundStarts.size() - 1; i++)
+		{
+			final int roundStart = roundStarts.get(i);
+			final int roundEnd = roundStarts.get(i + 1);
+			if (roundStart < index || roundStart == roundEnd)
+				continue;
+			if (roundEnd > to)
+				break;
+			rVal.addAll(m_changes.subList(index, roundStart));
+			Change checkpoint = m_checkpoints.get(roundStart);
+			if (checkpoint == null)
+			{
+				checkpoint = ChangeCompactor.compact(m_changes.subList(roundStart, roundEnd));
+				m_checkpoints.put(roundStart, checkpoint);
+			}
+			rVal.add(checkpoint);
+			index = roundEnd;
+		}
+		rVal.addAll(m_changes.subList(index, to));
+		// units that moved in several rounds need only move once
+		if (index != from)
+			return ChangeCompactor.compact(rVal);
+		return new CompositeChange(rVal);
+	}
+	
+	/**
+	 * @return the index of the first change of each round, in order
+	 */
+	private List<Integer> getRoundStarts()
+	{
+		final List<Integer> rVal = new ArrayList<Integer>();
+		final HistoryNode root = (HistoryNode) getRoot();
+		for (int i = 0; i < root.getChildCount(); i++)
+		{
+			final Object child = root.getChildAt(i);
+			if (child instanceof Round)
+				rVal.add(((Round) child).getChangeStartIndex());
+		}
+		return rVal;
+	}
+	
 	public synchronized void gotoNode(final HistoryNode node)
 	{
 		assertCorrectThread();
@@ -167,6 +221,7 @@ public class History extends DefaultTreeModel implements java.io.Serializable
 			{
 				m_changes.remove(lastChange);
 			}
+			m_checkpoints.clear();
 			final List<HistoryNode> nodesToRemove = new ArrayList<HistoryNode>();
 			final Enumeration enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
 			enumeration.nextElement();
@@ -213,7 +268,68 @@ public class History extends DefaultTreeModel implements java.io.Serializable
 	
 	private Object writeReplace() throws ObjectStreamException
 	{
-		return new SerializedHistory(this, m_data, m_changes);
+		return new SerializedHistory(this, m_data);
+	}
+	
+	/**
+	 * @return the nodes (not including the root) and changes of this history, in the order they are written to a stream.
+	 *         Each change comes just before the first node that starts after it.
+	 */
+	List<Object> getEntries()
+	{
+		final List<Object> rVal = new ArrayList<Object>();
+		int changeIndex = 0;
+		final Enumeration enumeration = ((DefaultMutableTreeNode) getRoot()).preorderEnumeration();
+		enumeration.nextElement();
+		while (enumeration.hasMoreElements())
+		{
+			final HistoryNode node = (HistoryNode) enumeration.nextElement();
+			// write the changes to the start of the node
+			if (node instanceof IndexedHistoryNode)
+			{
+				while (changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex())
+				{
+					rVal.add(m_changes.get(changeIndex));
+					changeIndex++;
+				}
+			}
+			// write the node itself
+			rVal.add(node);
+		}
+		// write out remaining changes
+		while (changeIndex < m_changes.size())
+		{
+			rVal.add(m_changes.get(changeIndex));
+			changeIndex++;
+		}
+		return rVal;
+	}
+	
+	static SerializationWriter getWriter(final Object entry)
+	{
+		if (entry instanceof HistoryNode)
+			return ((HistoryNode) entry).getWriter();
+		return new ChangeSerializationWriter((Change) entry);
+	}
+	
+	/**
+	 * Marks everything that has been written to this history so far.
+	 * The caller should hold the read lock of the game data.
+	 */
+	public HistoryDelta.Mark getMark()
+	{
+		return new HistoryDelta.Mark(getEntries());
+	}
+	
+	/**
+	 * The caller should hold the read lock of the game data.
+	 * 
+	 * @return what has been written to this history since the mark was taken,
+	 *         or null if the history was changed in some other way (for example if nodes were removed, or an old event was given new rendering data)
+	 */
+	public HistoryDelta getDeltaSince(final HistoryDelta.Mark mark)
+	{
+		return HistoryDelta.create(mark, getEntries());
 	}
 	
 	List<Change> getChanges()
@@ -239,32 +355,12 @@ class SerializedHistory implements Serializable
 	private final List<SerializationWriter> m_Writers = new ArrayList<SerializationWriter>();
 	private final GameData m_data;
 	
-	public SerializedHistory(final History history, final GameData data, final List<Change> changes)
+	public SerializedHistory(final History history, final GameData data)
 	{
 		m_data = data;
-		int changeIndex = 0;
-		final Enumeration enumeration = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
-		enumeration.nextElement();
-		while (enumeration.hasMoreElements())
-		{
-			final HistoryNode node = (HistoryNode) enumeration.nextElement();
-			// write the changes to the start of the node
-			if (node instanceof IndexedHistoryNode)
-			{
-				while (changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex())
-				{
-					m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
-					changeIndex++;
-				}
-			}
-			// write the node itself
-			m_Writers.add(node.getWriter());
-		}
-		// write out remaining changes
-		while (changeIndex < changes.size())
+		for (final Object entry : history.getEntries())
 		{
-			m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
-			changeIndex++;
+			m_Writers.add(History.getWriter(entry));
 		}
 	}
 	
@@ -296,26 +392,3 @@ class RootHistoryNode extends HistoryNode
 		throw new IllegalStateException("Not implemented");
 	}
 }
-
-
-interface SerializationWriter extends Serializable
-{
-	public void write(HistoryWriter writer);
-}
-
-
-class ChangeSerializationWriter implements SerializationWriter
-{
-	private static final long serialVersionUID = -3802807345707883606L;
-	private final Change aChange;
-	
-	public ChangeSerializationWriter(final Change change)
-	{
-		aChange = change;
-	}
-	
-	public void write(final HistoryWriter writer)
-	{
-		writer.addChange(aChange);
-	}
-}
@@ -0,0 +1,100 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.history;
+
+import games.strategy.engine.data.ChangePerformer;
+import games.strategy.engine.data.GameData;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The nodes and changes added to a history after a mark was taken. <br>
+ * A delta can be written to a GameObjectOutputStream, and applied to a copy of the game data that was saved when the mark was taken,
+ * bringing that copy (both its history and its state) up to date without saving the whole game again.
+ */
+public class HistoryDelta implements Serializable
+{
+	private static final long serialVersionUID = -2817360412938715093L;
+	private final List<SerializationWriter> m_writers;
+	
+	private HistoryDelta(final List<SerializationWriter> writers)
+	{
+		m_writers = writers;
+	}
+	
+	static HistoryDelta create(final Mark mark, final List<Object> entries)
+	{
+		if (entries.size() < mark.m_entries.length)
+			return null;
+		for (int i = 0; i < mark.m_entries.length; i++)
+		{
+			if (entries.get(i) != mark.m_entries[i])
+				return null;
+		}
+		// rendering data is only ever set on the last event, so that is the only old node that may have changed
+		if (mark.m_lastEvent != null && mark.m_lastEvent.getRenderingData() != mark.m_lastRenderingData)
+			return null;
+		final List<SerializationWriter> writers = new ArrayList<SerializationWriter>(entries.size() - mark.m_entries.length);
+		for (int i = mark.m_entries.length; i < entries.size(); i++)
+		{
+			writers.add(History.getWriter(entries.get(i)));
+		}
+		return new HistoryDelta(writers);
+	}
+	
+	public boolean isEmpty()
+	{
+		return m_writers.isEmpty();
+	}
+	
+	/**
+	 * Adds the nodes and changes to the history of the data, and performs the changes on the data.
+	 */
+	public void applyTo(final GameData data)
+	{
+		final ChangePerformer changePerformer = new ChangePerformer(data);
+		final HistoryWriter historyWriter = data.getHistory().getHistoryWriter();
+		for (final SerializationWriter writer : m_writers)
+		{
+			if (writer instanceof ChangeSerializationWriter)
+				changePerformer.perform(((ChangeSerializationWriter) writer).getChange());
+			writer.write(historyWriter);
+		}
+	}
+	
+	/**
+	 * What a history held at some point. Only kept in memory, never written.
+	 */
+	public static final class Mark
+	{
+		private final Object[] m_entries;
+		private final Event m_lastEvent;
+		private final Object m_lastRenderingData;
+		
+		Mark(final List<Object> entries)
+		{
+			m_entries = entries.toArray();
+			Event lastEvent = null;
+			for (int i = m_entries.length - 1; i >= 0 && lastEvent == null; i--)
+			{
+				if (m_entries[i] instanceof Event)
+					lastEvent = (Event) m_entries[i];
+			}
+			m_lastEvent = lastEvent;
+			m_lastRenderingData = lastEvent == null ? null : lastEvent.getRenderingData();
+		}
+	}
+}
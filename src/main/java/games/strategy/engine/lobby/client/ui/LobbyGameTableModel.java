@@ -14,6 +14,8 @@
 package games.strategy.engine.lobby.client.ui;
 
 import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.GameListDelta;
 import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
 import games.strategy.engine.lobby.server.ILobbyGameController;
 import games.strategy.engine.message.IChannelMessenger;
@@ -46,6 +48,12 @@ public class LobbyGameTableModel extends AbstractTableModel
 	// these must only be accessed in the swing event thread
 	private final List<GUID> m_gameIDs = new ArrayList<GUID>();
 	private final List<GameDescription> m_games = new ArrayList<GameDescription>();
+	// the version of the game list we last got from the server, only accessed in the swing event thread
+	private long m_listVersion = -1;
+	// are we waiting for the list from the server, only accessed in the swing event thread after we are made
+	private boolean m_refreshing = true;
+	// did an update need a refresh while we were waiting, only accessed in the swing event thread
+	private boolean m_refreshWanted = false;
 	
 	public LobbyGameTableModel(final IMessenger messenger, final IChannelMessenger channelMessenger, final IRemoteMessenger remoteMessenger)
 	{
@@ -54,10 +62,10 @@ public class LobbyGameTableModel extends AbstractTableModel
 		m_remoteMessenger = remoteMessenger;
 		m_channelMessenger.registerChannelSubscriber(new ILobbyGameBroadcaster()
 		{
-			public void gameUpdated(final GUID gameId, final GameDescription description)
+			public void gameUpdated(final GUID gameId, final GameDescriptionDelta delta)
 			{
 				assertSentFromServer();
-				updateGame(gameId, description);
+				updateGame(gameId, delta);
 			}
 			
 			public void gameAdded(final GUID gameId, final GameDescription description)
@@ -72,10 +80,113 @@ public class LobbyGameTableModel extends AbstractTableModel
 				removeGame(gameId);
 			}
 		}, ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
-		final Map<GUID, GameDescription> games = ((ILobbyGameController) m_remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE)).listGames();
-		for (final GUID id : games.keySet())
+		final GameListDelta games = getGameController().listGamesSince(-1);
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				applyChanges(games);
+			}
+		});
+	}
+	
+	private ILobbyGameController getGameController()
+	{
+		return (ILobbyGameController) m_remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+	}
+	
+	/**
+	 * Fetch what we missed, when an update does not apply to the game we have.
+	 * If we are already waiting for the list, fetch again once it comes, as it may have been made before the update.
+	 */
+	private void refresh()
+	{
+		if (m_refreshing)
+		{
+			m_refreshWanted = true;
+			return;
+		}
+		m_refreshing = true;
+		final long version = m_listVersion;
+		final Thread thread = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				final GameListDelta changes;
+				try
+				{
+					changes = getGameController().listGamesSince(version);
+				} catch (final RuntimeException e)
+				{
+					e.printStackTrace();
+					SwingUtilities.invokeLater(new Runnable()
+					{
+						public void run()
+						{
+							m_refreshing = false;
+							refreshIfWanted();
+						}
+					});
+					return;
+				}
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					public void run()
+					{
+						applyChanges(changes);
+					}
+				});
+			}
+		}, "Lobby game list refresh");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	private void refreshIfWanted()
+	{
+		if (!m_refreshWanted)
+			return;
+		m_refreshWanted = false;
+		refresh();
+	}
+	
+	private void applyChanges(final GameListDelta changes)
+	{
+		m_refreshing = false;
+		if (changes.getVersion() >= m_listVersion)
+			applyList(changes);
+		refreshIfWanted();
+	}
+	
+	private void applyList(final GameListDelta changes)
+	{
+		m_listVersion = changes.getVersion();
+		if (changes.isComplete())
+		{
+			for (int i = m_gameIDs.size() - 1; i >= 0; i--)
+			{
+				if (!changes.getGames().containsKey(m_gameIDs.get(i)))
+					removeGameNow(m_gameIDs.get(i));
+			}
+		}
+		for (final GUID gameId : changes.getRemoved())
+		{
+			removeGameNow(gameId);
+		}
+		for (final Map.Entry<GUID, GameDescription> entry : changes.getGames().entrySet())
 		{
-			addGame(id, games.get(id));
+			final int index = m_gameIDs.indexOf(entry.getKey());
+			if (index == -1)
+			{
+				m_gameIDs.add(entry.getKey());
+				m_games.add(entry.getValue());
+				fireTableRowsInserted(m_gameIDs.size() - 1, m_gameIDs.size() - 1);
+			}
+			else if (m_games.get(index).getVersion() <= entry.getValue().getVersion())
+			{
+				m_games.set(index, entry.getValue());
+				fireTableRowsUpdated(index, index);
+			}
 		}
 	}
 	
@@ -98,20 +209,35 @@ public class LobbyGameTableModel extends AbstractTableModel
 		{
 			public void run()
 			{
-				final int index = m_gameIDs.indexOf(gameId);
-				m_gameIDs.remove(index);
-				m_games.remove(index);
-				fireTableRowsDeleted(index, index);
+				removeGameNow(gameId);
 			}
 		});
 	}
 	
+	private void removeGameNow(final GUID gameId)
+	{
+		final int index = m_gameIDs.indexOf(gameId);
+		if (index == -1)
+			return;
+		m_gameIDs.remove(index);
+		m_games.remove(index);
+		fireTableRowsDeleted(index, index);
+	}
+	
 	private void addGame(final GUID gameId, final GameDescription description)
 	{
 		SwingUtilities.invokeLater(new Runnable()
 		{
 			public void run()
 			{
+				// we may have it already, if it was added while we were getting the list
+				final int index = m_gameIDs.indexOf(gameId);
+				if (index != -1)
+				{
+					m_games.set(index, description);
+					fireTableRowsUpdated(index, index);
+					return;
+				}
 				m_gameIDs.add(gameId);
 				m_games.add(description);
 				fireTableRowsInserted(m_gameIDs.size() - 1, m_gameIDs.size() - 1);
@@ -125,14 +251,22 @@ public class LobbyGameTableModel extends AbstractTableModel
 			throw new IllegalStateException("Invalid sender");
 	}
 	
-	private void updateGame(final GUID gameId, final GameDescription description)
+	private void updateGame(final GUID gameId, final GameDescriptionDelta delta)
 	{
 		SwingUtilities.invokeLater(new Runnable()
 		{
 			public void run()
 			{
 				final int index = m_gameIDs.indexOf(gameId);
-				m_games.set(index, description);
+				if (index != -1 && m_games.get(index).getVersion() >= delta.getToVersion())
+					return;
+				if (index == -1 || m_games.get(index).getVersion() != delta.getFromVersion())
+				{
+					// we missed an update, or have not got the list yet
+					refresh();
+					return;
+				}
+				m_games.set(index, delta.apply(m_games.get(index)));
 				fireTableRowsUpdated(index, index);
 			}
 		});
@@ -125,6 +125,14 @@ public class GameDescription implements Externalizable, Cloneable
 		return m_version;
 	}
 	
+	/**
+	 * Used by GameDescriptionDelta, to give a copy the version of what it was copied from.
+	 */
+	void setVersion(final int version)
+	{
+		m_version = version;
+	}
+	
 	public void setGameName(final String gameName)
 	{
 		m_version++;
@@ -205,6 +213,12 @@ public class GameDescription implements Externalizable, Cloneable
 		return m_botSupportEmail;
 	}
 	
+	void setBotSupportEmail(final String botSupportEmail)
+	{
+		m_version++;
+		m_botSupportEmail = botSupportEmail;
+	}
+	
 	public String getRound()
 	{
 		return m_round;
@@ -0,0 +1,232 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.lobby.server;
+
+import games.strategy.net.INode;
+import games.strategy.net.Node;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Date;
+
+/**
+ * The fields that changed between two versions of a GameDescription. <br>
+ * A bot updates its game after every step, which usually changes only the round or the status,
+ * so this is what the lobby sends to everyone rather than the whole description.
+ */
+public class GameDescriptionDelta implements Externalizable
+{
+	private static final long serialVersionUID = -2361823398409658013L;
+	private static final int HOSTED_BY = 1 << 0;
+	private static final int PORT = 1 << 1;
+	private static final int START_DATE_TIME = 1 << 2;
+	private static final int GAME_NAME = 1 << 3;
+	private static final int PLAYER_COUNT = 1 << 4;
+	private static final int ROUND = 1 << 5;
+	private static final int STATUS = 1 << 6;
+	private static final int HOST_NAME = 1 << 7;
+	private static final int COMMENT = 1 << 8;
+	private static final int PASSWORDED = 1 << 9;
+	private static final int ENGINE_VERSION = 1 << 10;
+	private static final int GAME_VERSION = 1 << 11;
+	private static final int BOT_SUPPORT_EMAIL = 1 << 12;
+	// which fields changed
+	private int m_changed;
+	// the version this applies to, and the version it makes
+	private int m_fromVersion;
+	private int m_toVersion;
+	// only the fields that changed are set
+	private GameDescription m_values;
+	
+	// for Externalizable
+	public GameDescriptionDelta()
+	{
+	}
+	
+	public GameDescriptionDelta(final GameDescription from, final GameDescription to)
+	{
+		m_fromVersion = from.getVersion();
+		m_toVersion = to.getVersion();
+		m_values = to;
+		if (!equal(from.getHostedBy(), to.getHostedBy()) || !equal(from.getHostedBy().getName(), to.getHostedBy().getName()))
+			m_changed |= HOSTED_BY;
+		if (from.getPort() != to.getPort())
+			m_changed |= PORT;
+		if (!equal(from.getStartDateTime(), to.getStartDateTime()))
+			m_changed |= START_DATE_TIME;
+		if (!equal(from.getGameName(), to.getGameName()))
+			m_changed |= GAME_NAME;
+		if (from.getPlayerCount() != to.getPlayerCount())
+			m_changed |= PLAYER_COUNT;
+		if (!equal(from.getRound(), to.getRound()))
+			m_changed |= ROUND;
+		if (from.getStatus() != to.getStatus())
+			m_changed |= STATUS;
+		if (!equal(from.getHostName(), to.getHostName()))
+			m_changed |= HOST_NAME;
+		if (!equal(from.getComment(), to.getComment()))
+			m_changed |= COMMENT;
+		if (from.getPassworded() != to.getPassworded())
+			m_changed |= PASSWORDED;
+		if (!equal(from.getEngineVersion(), to.getEngineVersion()))
+			m_changed |= ENGINE_VERSION;
+		if (!equal(from.getGameVersion(), to.getGameVersion()))
+			m_changed |= GAME_VERSION;
+		if (!equal(from.getBotSupportEmail(), to.getBotSupportEmail()))
+			m_changed |= BOT_SUPPORT_EMAIL;
+	}
+	
+	private static boolean equal(final Object o1, final Object o2)
+	{
+		return o1 == null ? o2 == null : o1.equals(o2);
+	}
+	
+	private boolean isChanged(final int field)
+	{
+		return (m_changed & field) != 0;
+	}
+	
+	/**
+	 * The version of the description this can be applied to.
+	 */
+	public int getFromVersion()
+	{
+		return m_fromVersion;
+	}
+	
+	public int getToVersion()
+	{
+		return m_toVersion;
+	}
+	
+	/**
+	 * @return a copy of description with the changes made, description is not changed
+	 */
+	public GameDescription apply(final GameDescription description)
+	{
+		if (description.getVersion() != m_fromVersion)
+			throw new IllegalArgumentException("Delta is from version:" + m_fromVersion + " not:" + description.getVersion());
+		final GameDescription rVal = (GameDescription) description.clone();
+		if (isChanged(HOSTED_BY))
+			rVal.setHostedBy(m_values.getHostedBy());
+		if (isChanged(PORT))
+			rVal.setPort(m_values.getPort());
+		if (isChanged(START_DATE_TIME))
+			rVal.setStartDateTime(m_values.getStartDateTime());
+		if (isChanged(GAME_NAME))
+			rVal.setGameName(m_values.getGameName());
+		if (isChanged(PLAYER_COUNT))
+			rVal.setPlayerCount(m_values.getPlayerCount());
+		if (isChanged(ROUND))
+			rVal.setRound(m_values.getRound());
+		if (isChanged(STATUS))
+			rVal.setStatus(m_values.getStatus());
+		if (isChanged(HOST_NAME))
+			rVal.setHostName(m_values.getHostName());
+		if (isChanged(COMMENT))
+			rVal.setComment(m_values.getComment());
+		if (isChanged(PASSWORDED))
+			rVal.setPassworded(m_values.getPassworded());
+		if (isChanged(ENGINE_VERSION))
+			rVal.setEngineVersion(m_values.getEngineVersion());
+		if (isChanged(GAME_VERSION))
+			rVal.setGameVersion(m_values.getGameVersion());
+		if (isChanged(BOT_SUPPORT_EMAIL))
+			rVal.setBotSupportEmail(m_values.getBotSupportEmail());
+		rVal.setVersion(m_toVersion);
+		return rVal;
+	}
+	
+	public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException
+	{
+		m_changed = in.readShort();
+		m_fromVersion = in.readInt();
+		m_toVersion = in.readInt();
+		m_values = new GameDescription();
+		if (isChanged(HOSTED_BY))
+		{
+			final Node hostedBy = new Node();
+			hostedBy.readExternal(in);
+			m_values.setHostedBy(hostedBy);
+		}
+		if (isChanged(PORT))
+			m_values.setPort(in.readInt());
+		if (isChanged(START_DATE_TIME))
+			m_values.setStartDateTime(new Date(in.readLong()));
+		if (isChanged(GAME_NAME))
+			m_values.setGameName(in.readUTF());
+		if (isChanged(PLAYER_COUNT))
+			m_values.setPlayerCount(in.readByte());
+		if (isChanged(ROUND))
+			m_values.setRound(in.readUTF());
+		if (isChanged(STATUS))
+			m_values.setStatus(GameDescription.GameStatus.values()[in.readByte()]);
+		if (isChanged(HOST_NAME))
+			m_values.setHostName(in.readUTF());
+		if (isChanged(COMMENT))
+			m_values.setComment(in.readUTF());
+		if (isChanged(PASSWORDED))
+			m_values.setPassworded(in.readBoolean());
+		if (isChanged(ENGINE_VERSION))
+			m_values.setEngineVersion(in.readUTF());
+		if (isChanged(GAME_VERSION))
+			m_values.setGameVersion(in.readUTF());
+		if (isChanged(BOT_SUPPORT_EMAIL))
+			m_values.setBotSupportEmail(in.readUTF());
+	}
+	
+	public void writeExternal(final ObjectOutput out) throws IOException
+	{
+		out.writeShort(m_changed);
+		out.writeInt(m_fromVersion);
+		out.writeInt(m_toVersion);
+		if (isChanged(HOSTED_BY))
+		{
+			final INode hostedBy = m_values.getHostedBy();
+			((Node) hostedBy).writeExternal(out);
+		}
+		if (isChanged(PORT))
+			out.writeInt(m_values.getPort());
+		if (isChanged(START_DATE_TIME))
+			out.writeLong(m_values.getStartDateTime().getTime());
+		if (isChanged(GAME_NAME))
+			out.writeUTF(m_values.getGameName());
+		if (isChanged(PLAYER_COUNT))
+			out.writeByte(m_values.getPlayerCount());
+		if (isChanged(ROUND))
+			out.writeUTF(m_values.getRound());
+		if (isChanged(STATUS))
+			out.writeByte(m_values.getStatus().ordinal());
+		if (isChanged(HOST_NAME))
+			out.writeUTF(m_values.getHostName());
+		if (isChanged(COMMENT))
+			out.writeUTF(m_values.getComment());
+		if (isChanged(PASSWORDED))
+			out.writeBoolean(m_values.getPassworded());
+		if (isChanged(ENGINE_VERSION))
+			out.writeUTF(m_values.getEngineVersion());
+		if (isChanged(GAME_VERSION))
+			out.writeUTF(m_values.getGameVersion());
+		if (isChanged(BOT_SUPPORT_EMAIL))
+			out.writeUTF(m_values.getBotSupportEmail());
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "GameDescriptionDelta from:" + m_fromVersion + " to:" + m_toVersion + " changed:" + Integer.toBinaryString(m_changed);
+	}
+}
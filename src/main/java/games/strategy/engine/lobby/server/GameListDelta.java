@@ -0,0 +1,72 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.lobby.server;
+
+import games.strategy.net.GUID;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * What changed in the lobby's list of games since some version of the list.
+ * 
+ * @see ILobbyGameController#listGamesSince(long)
+ */
+public class GameListDelta implements Serializable
+{
+	private static final long serialVersionUID = 3271460948723115840L;
+	private final long m_version;
+	private final boolean m_complete;
+	private final Map<GUID, GameDescription> m_games;
+	private final Collection<GUID> m_removed;
+	
+	public GameListDelta(final long version, final boolean complete, final Map<GUID, GameDescription> games, final Collection<GUID> removed)
+	{
+		m_version = version;
+		m_complete = complete;
+		m_games = games;
+		m_removed = removed;
+	}
+	
+	/**
+	 * The version of the list to ask for changes since next time.
+	 */
+	public long getVersion()
+	{
+		return m_version;
+	}
+	
+	/**
+	 * @return true if getGames() is every game, and games not in it have been removed.
+	 *         This is the case when the version asked for was too old to know what was removed since.
+	 */
+	public boolean isComplete()
+	{
+		return m_complete;
+	}
+	
+	/**
+	 * The games that were added or updated.
+	 */
+	public Map<GUID, GameDescription> getGames()
+	{
+		return m_games;
+	}
+	
+	public Collection<GUID> getRemoved()
+	{
+		return m_removed;
+	}
+}
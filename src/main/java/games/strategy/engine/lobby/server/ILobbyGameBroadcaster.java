@@ -23,7 +23,10 @@ public interface ILobbyGameBroadcaster extends IChannelSubscribor
 	
 	public void gameAdded(GUID gameId, GameDescription description);
 	
-	public void gameUpdated(GUID gameId, GameDescription description);
+	/**
+	 * Only what changed is sent, see GameDescriptionDelta.
+	 */
+	public void gameUpdated(GUID gameId, GameDescriptionDelta delta);
 	
 	public void gameRemoved(GUID gameId);
 }
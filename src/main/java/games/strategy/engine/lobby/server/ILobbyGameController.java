@@ -29,6 +29,13 @@ public interface ILobbyGameController extends IRemote
 	
 	public Map<GUID, GameDescription> listGames();
 	
+	/**
+	 * @param version
+	 *            the version of the last list we got, or -1 to get every game
+	 * @return what changed in the list of games since version
+	 */
+	public GameListDelta listGamesSince(long version);
+	
 	/**
 	 * Test if the server can connect to the game at this address. This is used to see if the client address is network accessible
 	 * (this will not be true if the client is behind a nat or firewall that is not properly configured)
@@ -25,18 +25,37 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Keeps the list of games hosted through the lobby. <br>
+ * Every change to the list gets a new version, so clients can ask for only what changed since the list they have.
+ */
 public class LobbyGameController implements ILobbyGameController
 {
 	private final static Logger s_logger = Logger.getLogger(LobbyGameController.class.getName());
-	private final Object m_mutex = new Object();
-	private final Map<GUID, GameDescription> m_allGames = new HashMap<GUID, GameDescription>();
+	// how many removed games we remember, asking for changes since before the oldest gets the whole list
+	private static final int MAX_REMOVED_GAMES = 1000;
+	// changes to the list hold the write lock while they take their version and make the change,
+	// so a change is either seen by listGamesSince, or has a version after the one it returns
+	private final ReadWriteLock m_lock = new ReentrantReadWriteLock();
+	// guarded by m_lock
+	private final Map<GUID, GameEntry> m_allGames = new HashMap<GUID, GameEntry>();
+	// removed game -> the version of the list it was removed in, guarded by m_lock
+	private final Map<GUID, Long> m_removedGames = new LinkedHashMap<GUID, Long>();
+	// the version of the list, incremented with every change, guarded by m_lock
+	private long m_version = 0;
+	// the list version when the last game we no longer remember removing was removed, guarded by m_lock
+	private long m_forgottenVersion = -1;
 	private final ILobbyGameBroadcaster m_broadcaster;
 	private final IMessenger m_messenger;
 	
@@ -60,19 +79,23 @@ public class LobbyGameController implements ILobbyGameController
 	private void connectionLost(final INode to)
 	{
 		final List<GUID> removed = new ArrayList<GUID>();
-		synchronized (m_mutex)
+		m_lock.writeLock().lock();
+		try
 		{
-			final Iterator<GUID> keys = m_allGames.keySet().iterator();
-			while (keys.hasNext())
+			final Iterator<Map.Entry<GUID, GameEntry>> iter = m_allGames.entrySet().iterator();
+			while (iter.hasNext())
 			{
-				final GUID key = keys.next();
-				final GameDescription game = m_allGames.get(key);
-				if (game.getHostedBy().equals(to))
+				final Map.Entry<GUID, GameEntry> entry = iter.next();
+				if (entry.getValue().m_description.getHostedBy().equals(to))
 				{
-					keys.remove();
-					removed.add(key);
+					iter.remove();
+					gameRemoved(entry.getKey());
+					removed.add(entry.getKey());
 				}
 			}
+		} finally
+		{
+			m_lock.writeLock().unlock();
 		}
 		for (final GUID guid : removed)
 		{
@@ -80,14 +103,31 @@ public class LobbyGameController implements ILobbyGameController
 		}
 	}
 	
+	// called holding the write lock
+	private void gameRemoved(final GUID gameID)
+	{
+		m_removedGames.remove(gameID);
+		m_removedGames.put(gameID, ++m_version);
+		if (m_removedGames.size() > MAX_REMOVED_GAMES)
+		{
+			final Iterator<Long> oldest = m_removedGames.values().iterator();
+			m_forgottenVersion = oldest.next();
+			oldest.remove();
+		}
+	}
+	
 	public void postGame(final GUID gameID, final GameDescription description)
 	{
 		final INode from = MessageContext.getSender();
 		assertCorrectHost(description, from);
 		s_logger.info("Game added:" + description);
-		synchronized (m_mutex)
+		m_lock.writeLock().lock();
+		try
 		{
-			m_allGames.put(gameID, description);
+			m_allGames.put(gameID, new GameEntry(description, ++m_version));
+		} finally
+		{
+			m_lock.writeLock().unlock();
 		}
 		m_broadcaster.gameAdded(gameID, description);
 	}
@@ -107,28 +147,70 @@ public class LobbyGameController implements ILobbyGameController
 		assertCorrectHost(description, from);
 		if (s_logger.isLoggable(Level.FINE))
 			s_logger.fine("Game updated:" + description);
-		synchronized (m_mutex)
+		final GameEntry oldEntry;
+		m_lock.writeLock().lock();
+		try
 		{
-			final GameDescription oldDescription = m_allGames.get(gameID);
+			oldEntry = m_allGames.get(gameID);
 			// out of order updates
 			// ignore, we already have the latest
-			if (oldDescription.getVersion() > description.getVersion())
+			if (oldEntry.m_description.getVersion() > description.getVersion())
 				return;
-			if (!oldDescription.getHostedBy().equals(description.getHostedBy()))
+			if (!oldEntry.m_description.getHostedBy().equals(description.getHostedBy()))
 			{
 				throw new IllegalStateException("Game modified by wrong host");
 			}
-			m_allGames.put(gameID, description);
+			m_allGames.put(gameID, new GameEntry(description, ++m_version));
+		} finally
+		{
+			m_lock.writeLock().unlock();
 		}
-		m_broadcaster.gameUpdated(gameID, description);
+		m_broadcaster.gameUpdated(gameID, new GameDescriptionDelta(oldEntry.m_description, description));
 	}
 	
 	public Map<GUID, GameDescription> listGames()
 	{
-		synchronized (m_mutex)
+		final Map<GUID, GameDescription> rVal = new HashMap<GUID, GameDescription>();
+		m_lock.readLock().lock();
+		try
+		{
+			for (final Map.Entry<GUID, GameEntry> entry : m_allGames.entrySet())
+			{
+				rVal.put(entry.getKey(), entry.getValue().m_description);
+			}
+		} finally
+		{
+			m_lock.readLock().unlock();
+		}
+		return rVal;
+	}
+	
+	public GameListDelta listGamesSince(final long version)
+	{
+		final Collection<GUID> removed = new ArrayList<GUID>();
+		final Map<GUID, GameDescription> games = new HashMap<GUID, GameDescription>();
+		// no change can be made while we look, so every change up to the version we return is in what we return
+		m_lock.readLock().lock();
+		try
+		{
+			final boolean complete = version < 0 || version < m_forgottenVersion;
+			if (!complete)
+			{
+				for (final Map.Entry<GUID, Long> entry : m_removedGames.entrySet())
+				{
+					if (entry.getValue() > version)
+						removed.add(entry.getKey());
+				}
+			}
+			for (final Map.Entry<GUID, GameEntry> entry : m_allGames.entrySet())
+			{
+				if (complete || entry.getValue().m_version > version)
+					games.put(entry.getKey(), entry.getValue().m_description);
+			}
+			return new GameListDelta(m_version, complete, games, removed);
+		} finally
 		{
-			final Map<GUID, GameDescription> rVal = new HashMap<GUID, GameDescription>(m_allGames);
-			return rVal;
+			m_lock.readLock().unlock();
 		}
 	}
 	
@@ -139,13 +221,18 @@ public class LobbyGameController implements ILobbyGameController
 	
 	public String testGame(final GUID gameID)
 	{
-		GameDescription description;
-		synchronized (m_mutex)
+		final GameEntry entry;
+		m_lock.readLock().lock();
+		try
 		{
-			description = m_allGames.get(gameID);
+			entry = m_allGames.get(gameID);
+		} finally
+		{
+			m_lock.readLock().unlock();
 		}
-		if (description == null)
+		if (entry == null)
 			return "No such game found";
+		final GameDescription description = entry.m_description;
 		// make sure we are being tested from the right node
 		final INode from = MessageContext.getSender();
 		assertCorrectHost(description, from);
@@ -165,4 +252,19 @@ public class LobbyGameController implements ILobbyGameController
 			return "host:" + host + " " + " port:" + port;
 		}
 	}
+	
+	/**
+	 * A game, and the version of the list it was last changed in.
+	 */
+	private static final class GameEntry
+	{
+		private final GameDescription m_description;
+		private final long m_version;
+		
+		GameEntry(final GameDescription description, final long version)
+		{
+			m_description = description;
+			m_version = version;
+		}
+	}
 }
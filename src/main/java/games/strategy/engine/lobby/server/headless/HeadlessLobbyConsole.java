@@ -187,6 +187,7 @@ public class HeadlessLobbyConsole
 			if (DBExplorerPanel.isNotQuery(sql))
 			{
 				final int rs = ps.executeUpdate(sql);
+				Database.clearCaches();
 				out.println("Update count:" + rs);
 			}
 			else
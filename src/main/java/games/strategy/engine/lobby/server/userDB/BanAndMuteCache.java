@@ -0,0 +1,131 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.lobby.server.userDB;
+
+import games.strategy.util.Tuple;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * An in memory copy of one of the ban or mute tables, so checking a login or a chat message does not go to the database. <br>
+ * The whole table is read when first needed, and the controllers write through it after changing the table.
+ * Expired entries are kept until the controller sees that they have expired and removes them.
+ * <p>
+ * 
+ * This class is thread safe.
+ */
+class BanAndMuteCache
+{
+	private static final Logger s_logger = Logger.getLogger(BanAndMuteCache.class.getName());
+	private static final List<BanAndMuteCache> s_caches = new ArrayList<BanAndMuteCache>();
+	private final String m_table;
+	private final String m_keyColumn;
+	private final String m_tillColumn;
+	// key -> when the ban or mute ends, null if it never does. null until the table is read
+	private Map<String, Timestamp> m_entries;
+	
+	BanAndMuteCache(final String table, final String keyColumn, final String tillColumn)
+	{
+		m_table = table;
+		m_keyColumn = keyColumn;
+		m_tillColumn = tillColumn;
+		synchronized (s_caches)
+		{
+			s_caches.add(this);
+		}
+	}
+	
+	/**
+	 * @return whether key is in the table, and when its ban or mute ends
+	 */
+	synchronized Tuple<Boolean, Timestamp> get(final String key)
+	{
+		final Map<String, Timestamp> entries = getEntries();
+		return new Tuple<Boolean, Timestamp>(entries.containsKey(key), entries.get(key));
+	}
+	
+	/**
+	 * Call after inserting key into the table.
+	 */
+	synchronized void put(final String key, final Timestamp till)
+	{
+		if (m_entries != null)
+			m_entries.put(key, till);
+	}
+	
+	/**
+	 * Call after deleting key from the table.
+	 */
+	synchronized void remove(final String key)
+	{
+		if (m_entries != null)
+			m_entries.remove(key);
+	}
+	
+	/**
+	 * Read the table again when next needed.
+	 */
+	synchronized void clear()
+	{
+		m_entries = null;
+	}
+	
+	static void clearAll()
+	{
+		synchronized (s_caches)
+		{
+			for (final BanAndMuteCache cache : s_caches)
+			{
+				cache.clear();
+			}
+		}
+	}
+	
+	private Map<String, Timestamp> getEntries()
+	{
+		if (m_entries != null)
+			return m_entries;
+		final Map<String, Timestamp> entries = new HashMap<String, Timestamp>();
+		final Connection con = Database.getConnection();
+		try
+		{
+			final PreparedStatement ps = con.prepareStatement("select " + m_keyColumn + ", " + m_tillColumn + " from " + m_table);
+			final ResultSet rs = ps.executeQuery();
+			while (rs.next())
+			{
+				entries.put(rs.getString(1), rs.getTimestamp(2));
+			}
+			rs.close();
+			ps.close();
+		} catch (final SQLException sqle)
+		{
+			s_logger.info("Error reading " + m_table + " error:" + sqle.getMessage());
+			throw new IllegalStateException(sqle.getMessage());
+		} finally
+		{
+			DbUtil.closeConnection(con);
+		}
+		m_entries = entries;
+		return entries;
+	}
+}
@@ -17,7 +17,6 @@ import games.strategy.util.Tuple;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Date;
@@ -32,6 +31,7 @@ import java.util.logging.Logger;
 public class BannedIpController
 {
 	private static final Logger s_logger = Logger.getLogger(BannedIpController.class.getName());
+	private static final BanAndMuteCache s_cache = new BanAndMuteCache("banned_ips", "ip", "ban_till");
 	
 	/**
 	 * Ban the ip permanently
@@ -68,10 +68,13 @@ public class BannedIpController
 			ps.execute();
 			ps.close();
 			con.commit();
+			s_cache.put(ip, banTillTs);
 		} catch (final SQLException sqle)
 		{
 			if (sqle.getErrorCode() == 30000)
 			{
+				// we do not know what the table holds
+				s_cache.clear();
 				// this is ok
 				// the ip is banned as expected
 				s_logger.info("Tried to create duplicate banned ip:" + ip + " error:" + sqle.getMessage());
@@ -96,6 +99,7 @@ public class BannedIpController
 			ps.execute();
 			ps.close();
 			con.commit();
+			s_cache.remove(ip);
 		} catch (final SQLException sqle)
 		{
 			s_logger.log(Level.SEVERE, "Error deleting banned ip:" + ip, sqle);
@@ -112,42 +116,15 @@ public class BannedIpController
 	 */
 	public Tuple<Boolean, Timestamp> isIpBanned(final String ip)
 	{
-		boolean found = false;
-		boolean expired = false;
-		Timestamp banTill = null;
-		final String sql = "select ip, ban_till from banned_ips where ip = ?";
-		final Connection con = Database.getConnection();
-		try
-		{
-			final PreparedStatement ps = con.prepareStatement(sql);
-			ps.setString(1, ip);
-			final ResultSet rs = ps.executeQuery();
-			found = rs.next();
-			// if the ban has expird, allow the ip
-			if (found)
-			{
-				banTill = rs.getTimestamp(2);
-				if (banTill != null && banTill.getTime() < System.currentTimeMillis())
-				{
-					s_logger.fine("Ban expired for:" + ip);
-					expired = true;
-				}
-			}
-			rs.close();
-			ps.close();
-		} catch (final SQLException sqle)
-		{
-			s_logger.info("Error for testing banned ip existence:" + ip + " error:" + sqle.getMessage());
-			throw new IllegalStateException(sqle.getMessage());
-		} finally
-		{
-			DbUtil.closeConnection(con);
-		}
-		if (expired)
+		final Tuple<Boolean, Timestamp> ban = s_cache.get(ip);
+		final Timestamp banTill = ban.getSecond();
+		// if the ban has expired, allow the ip
+		if (ban.getFirst() && banTill != null && banTill.getTime() < System.currentTimeMillis())
 		{
+			s_logger.fine("Ban expired for:" + ip);
 			removeBannedIp(ip);
 			return new Tuple<Boolean, Timestamp>(false, banTill);
 		}
-		return new Tuple<Boolean, Timestamp>(found, banTill);
+		return ban;
 	}
 }
@@ -17,7 +17,6 @@ import games.strategy.util.Tuple;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Date;
@@ -32,6 +31,7 @@ import java.util.logging.Logger;
 public class BannedUsernameController
 {
 	private static final Logger s_logger = Logger.getLogger(BannedUsernameController.class.getName());
+	private static final BanAndMuteCache s_cache = new BanAndMuteCache("banned_usernames", "username", "ban_till");
 	
 	/**
 	 * Ban the username permanently
@@ -68,10 +68,13 @@ public class BannedUsernameController
 			ps.execute();
 			ps.close();
 			con.commit();
+			s_cache.put(username, banTillTs);
 		} catch (final SQLException sqle)
 		{
 			if (sqle.getErrorCode() == 30000)
 			{
+				// we do not know what the table holds
+				s_cache.clear();
 				// this is ok
 				// the username is banned as expected
 				s_logger.info("Tried to create duplicate banned username:" + username + " error:" + sqle.getMessage());
@@ -96,6 +99,7 @@ public class BannedUsernameController
 			ps.execute();
 			ps.close();
 			con.commit();
+			s_cache.remove(username);
 		} catch (final SQLException sqle)
 		{
 			s_logger.log(Level.SEVERE, "Error deleting banned username:" + username, sqle);
@@ -112,42 +116,15 @@ public class BannedUsernameController
 	 */
 	public Tuple<Boolean, Timestamp> isUsernameBanned(final String username)
 	{
-		boolean found = false;
-		boolean expired = false;
-		Timestamp banTill = null;
-		final String sql = "select username, ban_till from banned_usernames where username = ?";
-		final Connection con = Database.getConnection();
-		try
-		{
-			final PreparedStatement ps = con.prepareStatement(sql);
-			ps.setString(1, username);
-			final ResultSet rs = ps.executeQuery();
-			found = rs.next();
-			// If the ban has expired, allow the username
-			if (found)
-			{
-				banTill = rs.getTimestamp(2);
-				if (banTill != null && banTill.getTime() < System.currentTimeMillis())
-				{
-					s_logger.fine("Ban expired for:" + username);
-					expired = true;
-				}
-			}
-			rs.close();
-			ps.close();
-		} catch (final SQLException sqle)
-		{
-			s_logger.info("Error for testing banned username existence:" + username + " error:" + sqle.getMessage());
-			throw new IllegalStateException(sqle.getMessage());
-		} finally
-		{
-			DbUtil.closeConnection(con);
-		}
-		if (expired)
+		final Tuple<Boolean, Timestamp> ban = s_cache.get(username);
+		final Timestamp banTill = ban.getSecond();
+		// if the ban has expired, allow the username
+		if (ban.getFirst() && banTill != null && banTill.getTime() < System.currentTimeMillis())
 		{
+			s_logger.fine("Ban expired for:" + username);
 			removeBannedUsername(username);
 			return new Tuple<Boolean, Timestamp>(false, banTill);
 		}
-		return new Tuple<Boolean, Timestamp>(found, banTill);
+		return ban;
 	}
 }
@@ -17,6 +17,10 @@ import games.strategy.engine.framework.GameRunner2;
 import games.strategy.engine.framework.startup.launcher.ServerLauncher;
 
 import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -49,6 +53,9 @@ import javax.swing.JOptionPane;
  * Getting a connection will also schedule backups at regular intervals.
  * <p>
  * 
+ * Connections are pooled. Closing a connection gives it back to the pool, along with closing any statements left open.
+ * <p>
+ * 
  * 
  * @author sgb
  */
@@ -58,6 +65,9 @@ public class Database
 	private static final Object s_dbSetupLock = new Object();
 	private static boolean s_isDbSetup = false;
 	private static boolean s_areDBTablesCreated = false;
+	// how many closed connections we keep open for reuse
+	private static final int MAX_IDLE_CONNECTIONS = 8;
+	private static final List<Connection> s_idleConnections = new ArrayList<Connection>();
 	
 	private static File getCurrentDataBaseDir()
 	{
@@ -90,9 +100,25 @@ public class Database
 		return dbRootDir;
 	}
 	
+	/**
+	 * @return a connection from the pool, that is given back to the pool when closed
+	 */
 	public static Connection getConnection()
 	{
 		ensureDbIsSetup();
+		Connection conn = null;
+		synchronized (s_idleConnections)
+		{
+			if (!s_idleConnections.isEmpty())
+				conn = s_idleConnections.remove(s_idleConnections.size() - 1);
+		}
+		if (conn == null)
+			conn = createConnection();
+		return (Connection) Proxy.newProxyInstance(Database.class.getClassLoader(), new Class<?>[] { Connection.class }, new PooledConnectionHandler(conn));
+	}
+	
+	private static Connection createConnection()
+	{
 		Connection conn = null;
 		final Properties props = getDbProps();
 		/*
@@ -265,6 +291,8 @@ public class Database
 	public static void restoreFromBackup(final File backupDir) throws SQLException
 	{
 		// http://www-128.ibm.com/developerworks/db2/library/techarticle/dm-0502thalamati/
+		closeIdleConnections();
+		BanAndMuteCache.clearAll();
 		final String url = "jdbc:derby:ta_users;restoreFrom=" + backupDir.getAbsolutePath();
 		final Properties props = getDbProps();
 		final Connection con = DriverManager.getConnection(url, props);
@@ -315,13 +343,63 @@ public class Database
 		s_logger.log(Level.INFO, "Done backing up database");
 	}
 	
+	/**
+	 * Bans and mutes are kept in memory, call this after changing them without going through their controllers.
+	 */
+	public static void clearCaches()
+	{
+		BanAndMuteCache.clearAll();
+	}
+	
 	public static File getBackupDir()
 	{
 		return new File(getDBRoot(), "backups");
 	}
 	
+	/**
+	 * Called when a pooled connection is closed.
+	 */
+	private static void release(final Connection conn)
+	{
+		try
+		{
+			if (conn.isClosed())
+				return;
+			// leave nothing half done for the next user
+			if (!conn.getAutoCommit())
+				conn.rollback();
+			synchronized (s_idleConnections)
+			{
+				if (s_idleConnections.size() < MAX_IDLE_CONNECTIONS)
+				{
+					s_idleConnections.add(conn);
+					return;
+				}
+			}
+		} catch (final SQLException e)
+		{
+			s_logger.log(Level.WARNING, "Could not give connection back to the pool", e);
+		}
+		DbUtil.closeConnection(conn);
+	}
+	
+	private static void closeIdleConnections()
+	{
+		final List<Connection> idle;
+		synchronized (s_idleConnections)
+		{
+			idle = new ArrayList<Connection>(s_idleConnections);
+			s_idleConnections.clear();
+		}
+		for (final Connection conn : idle)
+		{
+			DbUtil.closeConnection(conn);
+		}
+	}
+	
 	private static void shutDownDB()
 	{
+		closeIdleConnections();
 		try
 		{
 			DriverManager.getConnection("jdbc:derby:ta_users;shutdown=true");
@@ -359,4 +437,64 @@ public class Database
 			}
 		}
 	}
+	
+	/**
+	 * Hands calls to a pooled connection, until the connection is closed.
+	 */
+	private static final class PooledConnectionHandler implements InvocationHandler
+	{
+		private final Connection m_connection;
+		// statements made through this handler, closed when the connection is
+		private final List<Statement> m_statements = new ArrayList<Statement>();
+		private boolean m_closed = false;
+		
+		PooledConnectionHandler(final Connection connection)
+		{
+			m_connection = connection;
+		}
+		
+		public synchronized Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+		{
+			final String name = method.getName();
+			if (name.equals("close"))
+			{
+				if (!m_closed)
+				{
+					m_closed = true;
+					for (final Statement statement : m_statements)
+					{
+						try
+						{
+							statement.close();
+						} catch (final SQLException e)
+						{
+							// closing the connection would have closed it anyway
+						}
+					}
+					m_statements.clear();
+					release(m_connection);
+				}
+				return null;
+			}
+			if (name.equals("isClosed"))
+				return m_closed || m_connection.isClosed();
+			if (name.equals("equals"))
+				return proxy == args[0];
+			if (name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+			if (m_closed && !name.equals("toString"))
+				throw new SQLException("Connection is closed");
+			final Object rVal;
+			try
+			{
+				rVal = method.invoke(m_connection, args);
+			} catch (final InvocationTargetException e)
+			{
+				throw e.getCause();
+			}
+			if (rVal instanceof Statement)
+				m_statements.add((Statement) rVal);
+			return rVal;
+		}
+	}
 }
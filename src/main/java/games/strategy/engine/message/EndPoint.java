@@ -0,0 +1,374 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.message;
+
+import games.strategy.net.INode;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is where the methods finally get called.
+ * 
+ * An endpoint contains the implementors for a given name that are local to this
+ * node.
+ * 
+ * You can invoke the method and get the results for all the implementors.
+ * 
+ * @author Sean Bridges
+ */
+class EndPoint
+{
+	// the next number we are going to give
+	private final AtomicLong m_nextGivenNumber = new AtomicLong();
+	// the next number we can run
+	private long m_currentRunnableNumber = 0;
+	private final Object m_numberMutext = new Object();
+	private final Object m_implementorsMutext = new Object();
+	private final String m_name;
+	private final Class<?> m_remoteClass;
+	private final List<Object> m_implementors = new ArrayList<Object>();
+	private final boolean m_singleThreaded;
+	// invocations from remote nodes waiting for a thread, only used if we are single threaded
+	private final Queue<Runnable> m_queued = new LinkedList<Runnable>();
+	// is a thread running the queued invocations, guarded by m_queued
+	private boolean m_runningQueued = false;
+	// guarded by m_queued
+	private int m_maxQueued = 0;
+	// invocations from remote nodes, and how long they took from being read to finishing
+	private final AtomicLong m_remoteInvocationCount = new AtomicLong();
+	private final AtomicLong m_remoteInvocationNanos = new AtomicLong();
+	private final AtomicLong m_maxRemoteInvocationNanos = new AtomicLong();
+	// how many queued invocations a thread runs before giving other end points a turn
+	private static final int MAX_INVOCATIONS_PER_TURN = 32;
+	
+	public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded)
+	{
+		m_name = name;
+		m_remoteClass = remoteClass;
+		m_singleThreaded = singleThreaded;
+	}
+	
+	public Object getFirstImplementor()
+	{
+		synchronized (m_implementorsMutext)
+		{
+			if (m_implementors.size() != 1)
+			{
+				throw new IllegalStateException("Invalid implementor count, " + m_implementors);
+			}
+			return m_implementors.get(0);
+		}
+	}
+	
+	public long takeANumber()
+	{
+		return m_nextGivenNumber.getAndIncrement();
+	}
+	
+	private void waitTillCanBeRun(final long aNumber)
+	{
+		synchronized (m_numberMutext)
+		{
+			while (aNumber > m_currentRunnableNumber)
+			{
+				try
+				{
+					m_numberMutext.wait();
+				} catch (final InterruptedException e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	private void releaseNumber()
+	{
+		synchronized (m_numberMutext)
+		{
+			m_currentRunnableNumber++;
+			m_numberMutext.notifyAll();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return is this the first implementor
+	 */
+	public boolean addImplementor(final Object implementor)
+	{
+		if (!m_remoteClass.isAssignableFrom(implementor.getClass()))
+			throw new IllegalArgumentException(m_remoteClass + " is not assignable from " + implementor.getClass());
+		synchronized (m_implementorsMutext)
+		{
+			final boolean rVal = m_implementors.isEmpty();
+			m_implementors.add(implementor);
+			return rVal;
+		}
+	}
+	
+	public boolean isSingleThreaded()
+	{
+		return m_singleThreaded;
+	}
+	
+	/**
+	 * Run a remote invocation on the executor after the invocations queued before it.
+	 * At most one thread of the executor runs queued invocations for an end point,
+	 * so other end points still get threads while this one is busy.
+	 */
+	void runInOrder(final Runnable invocation, final Executor executor)
+	{
+		synchronized (m_queued)
+		{
+			m_queued.add(invocation);
+			m_maxQueued = Math.max(m_maxQueued, m_queued.size());
+			if (m_runningQueued)
+				return;
+			m_runningQueued = true;
+		}
+		runQueuedOn(executor);
+	}
+	
+	private void runQueuedOn(final Executor executor)
+	{
+		executor.execute(new Runnable()
+		{
+			public void run()
+			{
+				for (int i = 0; i < MAX_INVOCATIONS_PER_TURN; i++)
+				{
+					final Runnable invocation;
+					synchronized (m_queued)
+					{
+						invocation = m_queued.poll();
+						if (invocation == null)
+						{
+							m_runningQueued = false;
+							return;
+						}
+					}
+					try
+					{
+						invocation.run();
+					} catch (final Throwable t)
+					{
+						t.printStackTrace();
+					}
+				}
+				// let tasks queued for other end points run, then carry on
+				runQueuedOn(executor);
+			}
+		});
+	}
+	
+	int getQueuedCount()
+	{
+		synchronized (m_queued)
+		{
+			return m_queued.size();
+		}
+	}
+	
+	/**
+	 * Record that a remote invocation finished, nanos after it was read.
+	 */
+	void invoked(final long nanos)
+	{
+		m_remoteInvocationCount.incrementAndGet();
+		m_remoteInvocationNanos.addAndGet(nanos);
+		long max = m_maxRemoteInvocationNanos.get();
+		while (nanos > max && !m_maxRemoteInvocationNanos.compareAndSet(max, nanos))
+		{
+			max = m_maxRemoteInvocationNanos.get();
+		}
+	}
+	
+	long getRemoteInvocationCount()
+	{
+		return m_remoteInvocationCount.get();
+	}
+	
+	/**
+	 * @return how many invocations are queued, the most that were ever queued, and how long remote invocations took
+	 */
+	String getStatistics()
+	{
+		final int queued;
+		final int maxQueued;
+		synchronized (m_queued)
+		{
+			queued = m_queued.size();
+			maxQueued = m_maxQueued;
+		}
+		final long count = m_remoteInvocationCount.get();
+		final long averageMicros = count == 0 ? 0 : m_remoteInvocationNanos.get() / count / 1000;
+		return "queued:" + queued + " max queued:" + maxQueued + " remote invocations:" + count + " average micros:" + averageMicros + " max micros:"
+					+ m_maxRemoteInvocationNanos.get() / 1000;
+	}
+	
+	public boolean hasImplementors()
+	{
+		synchronized (m_implementorsMutext)
+		{
+			return !m_implementors.isEmpty();
+		}
+	}
+	
+	public int getLocalImplementorCount()
+	{
+		synchronized (m_implementorsMutext)
+		{
+			return m_implementors.size();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return - we have no more implementors
+	 */
+	boolean removeImplementor(final Object implementor)
+	{
+		synchronized (m_implementorsMutext)
+		{
+			if (!m_implementors.remove(implementor))
+			{
+				throw new IllegalStateException("Not removed, impl:" + implementor + " have " + m_implementors);
+			}
+			return m_implementors.isEmpty();
+		}
+	}
+	
+	public String getName()
+	{
+		return m_name;
+	}
+	
+	public Class<?> getRemoteClass()
+	{
+		return m_remoteClass;
+	}
+	
+	/*
+	 * @param number - like the number you get in a bank line, if we are single
+	 * threaded, then the method will not run until the number comes up. Acquire
+	 * with getNumber() @return a List of RemoteMethodCallResults
+	 */
+	public List<RemoteMethodCallResults> invokeLocal(final RemoteMethodCall call, final long number, final INode messageOriginator)
+	{
+		try
+		{
+			if (m_singleThreaded)
+			{
+				waitTillCanBeRun(number);
+			}
+			return invokeMultiple(call, messageOriginator);
+		} finally
+		{
+			releaseNumber();
+		}
+	}
+	
+	/**
+	 * @param call
+	 * @param rVal
+	 */
+	private List<RemoteMethodCallResults> invokeMultiple(final RemoteMethodCall call, final INode messageOriginator)
+	{
+		// copy the implementors
+		List<Object> implementorsCopy;
+		synchronized (m_implementorsMutext)
+		{
+			implementorsCopy = new ArrayList<Object>(m_implementors);
+		}
+		final List<RemoteMethodCallResults> results = new ArrayList<RemoteMethodCallResults>(implementorsCopy.size());
+		for (final Object implementor : implementorsCopy)
+		{
+			results.add(invokeSingle(call, implementor, messageOriginator));
+		}
+		return results;
+	}
+	
+	/**
+	 * @param call
+	 * @param implementor
+	 * @return
+	 */
+	private RemoteMethodCallResults invokeSingle(final RemoteMethodCall call, final Object implementor, final INode messageOriginator)
+	{
+		call.resolve(m_remoteClass);
+		Method method;
+		try
+		{
+			method = implementor.getClass().getMethod(call.getMethodName(), call.getArgTypes());
+			method.setAccessible(true);
+		} catch (final SecurityException e)
+		{
+			e.printStackTrace();
+			throw new IllegalStateException(e.getMessage());
+		} catch (final NoSuchMethodException e)
+		{
+			e.printStackTrace();
+			throw new IllegalStateException(e.getMessage());
+		}
+		MessageContext.setSenderNodeForThread(messageOriginator);
+		try
+		{
+			final Object methodRVal = method.invoke(implementor, call.getArgs());
+			return new RemoteMethodCallResults(methodRVal);
+		} catch (final InvocationTargetException e)
+		{
+			return new RemoteMethodCallResults(e.getTargetException());
+		} catch (final IllegalAccessException e)
+		{
+			// this shouldnt happen
+			System.err.println("error in call:" + call);
+			e.printStackTrace();
+			return new RemoteMethodCallResults(e);
+		} catch (final IllegalArgumentException e)
+		{
+			// this shouldnt happen
+			System.err.println("error in call:" + call);
+			e.printStackTrace();
+			return new RemoteMethodCallResults(e);
+		} finally
+		{
+			MessageContext.setSenderNodeForThread(null);
+		}
+	}
+	
+	public boolean equivalent(final EndPoint other)
+	{
+		if (other.m_singleThreaded != this.m_singleThreaded)
+			return false;
+		if (!other.m_name.equals(this.m_name))
+			return false;
+		if (!(other.m_remoteClass.equals(m_remoteClass)))
+			return false;
+		return true;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "Name:" + m_name + " singleThreaded:" + m_singleThreaded + " implementors:" + m_implementors;
+	}
+}
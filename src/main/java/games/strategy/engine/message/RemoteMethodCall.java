@@ -11,6 +11,8 @@
  */
 package games.strategy.engine.message;
 
+import games.strategy.net.SessionObjectInputStream;
+import games.strategy.net.SessionObjectOutputStream;
 import games.strategy.util.Tuple;
 
 import java.io.Externalizable;
@@ -189,7 +191,9 @@ public class RemoteMethodCall implements Externalizable
 	
 	public void writeExternal(final ObjectOutput out) throws IOException
 	{
-		out.writeUTF(m_remoteName);
+		// the same remotes are called over and over, so send their names only once per connection when we can
+		if (!SessionObjectOutputStream.writeShared(out, m_remoteName))
+			out.writeUTF(m_remoteName);
 		out.writeByte(m_methodNumber);
 		if (m_args == null)
 		{
@@ -208,7 +212,10 @@ public class RemoteMethodCall implements Externalizable
 	
 	public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException
 	{
-		m_remoteName = in.readUTF();
+		if (SessionObjectInputStream.hasSession(in))
+			m_remoteName = (String) SessionObjectInputStream.readShared(in);
+		else
+			m_remoteName = in.readUTF();
 		m_methodNumber = in.readByte();
 		final byte count = in.readByte();
 		if (count != Byte.MAX_VALUE)
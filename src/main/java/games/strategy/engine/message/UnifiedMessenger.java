@@ -18,7 +18,6 @@ import games.strategy.net.IMessageListener;
 import games.strategy.net.IMessenger;
 import games.strategy.net.IMessengerErrorListener;
 import games.strategy.net.INode;
-import games.strategy.thread.ThreadPool;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -26,14 +25,17 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.PrintStream;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,8 +48,44 @@ import java.util.logging.Logger;
 public class UnifiedMessenger
 {
 	private final static Logger s_logger = Logger.getLogger(UnifiedMessenger.class.getName());
+	private static final int MAX_THREADS = 15;
+	// how many tasks are queued or running on the thread pool, guarded by s_tasksMutex, which is notified when it drops to 0
+	private static int s_unfinishedTasks = 0;
+	private static final Object s_tasksMutex = new Object();
 	// a thread pool to run the invoke on
-	private static ThreadPool m_threadPool = new ThreadPool(15, "UnifiedMessengerPool");
+	private static final ThreadPoolExecutor s_threadPool = createThreadPool();
+	// runs tasks on the thread pool, keeping count of them for waitForAllJobs()
+	private static final Executor s_executor = new Executor()
+	{
+		public void execute(final Runnable task)
+		{
+			synchronized (s_tasksMutex)
+			{
+				s_unfinishedTasks++;
+			}
+			s_threadPool.execute(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						task.run();
+					} catch (final Throwable t)
+					{
+						t.printStackTrace();
+					} finally
+					{
+						synchronized (s_tasksMutex)
+						{
+							s_unfinishedTasks--;
+							if (s_unfinishedTasks == 0)
+								s_tasksMutex.notifyAll();
+						}
+					}
+				}
+			});
+		}
+	};
 	// the messenger we are based on
 	private final IMessenger m_messenger;
 	// lock on this for modifications to create or remove local end points
@@ -88,6 +126,21 @@ public class UnifiedMessenger
 		}
 	}
 	
+	private static ThreadPoolExecutor createThreadPool()
+	{
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+		{
+			public Thread newThread(final Runnable r)
+			{
+				return new Thread(r, "UnifiedMessengerPool:" + threadCount.incrementAndGet());
+			}
+		});
+		// threads that are not needed go away, so an idle client does not keep 15 threads around
+		threadPool.allowCoreThreadTimeOut(true);
+		return threadPool;
+	}
+	
 	UnifiedMessengerHub getHub()
 	{
 		return m_hub;
@@ -364,6 +417,7 @@ public class UnifiedMessenger
 			// we get the next message notification
 			// get the number for the invocation here
 			final long methodRunNumber = local.takeANumber();
+			final long received = System.nanoTime();
 			// we dont want to block the message thread, only one thread is
 			// reading messages
 			// per connection, so run with out thread pool
@@ -373,6 +427,7 @@ public class UnifiedMessenger
 				public void run()
 				{
 					final List<RemoteMethodCallResults> results = localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
+					localFinal.invoked(System.nanoTime() - received);
 					if (invoke.needReturnValues)
 					{
 						RemoteMethodCallResults result = null;
@@ -386,7 +441,12 @@ public class UnifiedMessenger
 					}
 				}
 			};
-			m_threadPool.runTask(task);
+			// single threaded end points run their invocations one after the other on one thread of the pool,
+			// rather than having a thread for each waiting its turn, so a slow end point can not take all the threads
+			if (local.isSingleThreaded())
+				local.runInOrder(task, s_executor);
+			else
+				s_executor.execute(task);
 		}
 		// a remote machine is returning results
 		else if (msg instanceof SpokeInvocationResults)
@@ -412,6 +472,11 @@ public class UnifiedMessenger
 		synchronized (m_endPointMutex)
 		{
 			stream.println("Local Endpoints:" + m_localEndPoints);
+			stream.println("Thread pool threads:" + s_threadPool.getPoolSize() + " active:" + s_threadPool.getActiveCount() + " queued:" + s_threadPool.getQueue().size());
+			for (final EndPoint endPoint : m_localEndPoints.values())
+			{
+				stream.println(endPoint.getName() + " " + endPoint.getStatistics());
+			}
 		}
 		synchronized (m_endPointMutex)
 		{
@@ -422,256 +487,25 @@ public class UnifiedMessenger
 	
 	public void waitForAllJobs()
 	{
-		m_threadPool.waitForAll();
-	}
-	
-	@Override
-	public String toString()
-	{
-		return "Server:" + m_messenger.isServer() + " EndPoints:" + m_localEndPoints;
-	}
-}
-
-
-/**
- * This is where the methods finally get called.
- * 
- * An endpoint contains the implementors for a given name that are local to this
- * node.
- * 
- * You can invoke the method and get the results for all the implementors.
- * 
- * @author Sean Bridges
- */
-class EndPoint
-{
-	// the next number we are going to give
-	private final AtomicLong m_nextGivenNumber = new AtomicLong();
-	// the next number we can run
-	private long m_currentRunnableNumber = 0;
-	private final Object m_numberMutext = new Object();
-	private final Object m_implementorsMutext = new Object();
-	private final String m_name;
-	private final Class<?> m_remoteClass;
-	private final List<Object> m_implementors = new ArrayList<Object>();
-	private final boolean m_singleThreaded;
-	
-	public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded)
-	{
-		m_name = name;
-		m_remoteClass = remoteClass;
-		m_singleThreaded = singleThreaded;
-	}
-	
-	public Object getFirstImplementor()
-	{
-		synchronized (m_implementorsMutext)
+		synchronized (s_tasksMutex)
 		{
-			if (m_implementors.size() != 1)
-			{
-				throw new IllegalStateException("Invalid implementor count, " + m_implementors);
-			}
-			return m_implementors.get(0);
-		}
-	}
-	
-	public long takeANumber()
-	{
-		return m_nextGivenNumber.getAndIncrement();
-	}
-	
-	private void waitTillCanBeRun(final long aNumber)
-	{
-		synchronized (m_numberMutext)
-		{
-			while (aNumber > m_currentRunnableNumber)
+			while (s_unfinishedTasks != 0)
 			{
 				try
 				{
-					m_numberMutext.wait();
+					s_tasksMutex.wait();
 				} catch (final InterruptedException e)
 				{
-					e.printStackTrace();
+					// ignore
 				}
 			}
 		}
 	}
 	
-	private void releaseNumber()
-	{
-		synchronized (m_numberMutext)
-		{
-			m_currentRunnableNumber++;
-			m_numberMutext.notifyAll();
-		}
-	}
-	
-	/**
-	 * 
-	 * @return is this the first implementor
-	 */
-	public boolean addImplementor(final Object implementor)
-	{
-		if (!m_remoteClass.isAssignableFrom(implementor.getClass()))
-			throw new IllegalArgumentException(m_remoteClass + " is not assignable from " + implementor.getClass());
-		synchronized (m_implementorsMutext)
-		{
-			final boolean rVal = m_implementors.isEmpty();
-			m_implementors.add(implementor);
-			return rVal;
-		}
-	}
-	
-	public boolean isSingleThreaded()
-	{
-		return m_singleThreaded;
-	}
-	
-	public boolean hasImplementors()
-	{
-		synchronized (m_implementorsMutext)
-		{
-			return !m_implementors.isEmpty();
-		}
-	}
-	
-	public int getLocalImplementorCount()
-	{
-		synchronized (m_implementorsMutext)
-		{
-			return m_implementors.size();
-		}
-	}
-	
-	/**
-	 * 
-	 * @return - we have no more implementors
-	 */
-	boolean removeImplementor(final Object implementor)
-	{
-		synchronized (m_implementorsMutext)
-		{
-			if (!m_implementors.remove(implementor))
-			{
-				throw new IllegalStateException("Not removed, impl:" + implementor + " have " + m_implementors);
-			}
-			return m_implementors.isEmpty();
-		}
-	}
-	
-	public String getName()
-	{
-		return m_name;
-	}
-	
-	public Class<?> getRemoteClass()
-	{
-		return m_remoteClass;
-	}
-	
-	/*
-	 * @param number - like the number you get in a bank line, if we are single
-	 * threaded, then the method will not run until the number comes up. Acquire
-	 * with getNumber() @return a List of RemoteMethodCallResults
-	 */
-	public List<RemoteMethodCallResults> invokeLocal(final RemoteMethodCall call, final long number, final INode messageOriginator)
-	{
-		try
-		{
-			if (m_singleThreaded)
-			{
-				waitTillCanBeRun(number);
-			}
-			return invokeMultiple(call, messageOriginator);
-		} finally
-		{
-			releaseNumber();
-		}
-	}
-	
-	/**
-	 * @param call
-	 * @param rVal
-	 */
-	private List<RemoteMethodCallResults> invokeMultiple(final RemoteMethodCall call, final INode messageOriginator)
-	{
-		// copy the implementors
-		List<Object> implementorsCopy;
-		synchronized (m_implementorsMutext)
-		{
-			implementorsCopy = new ArrayList<Object>(m_implementors);
-		}
-		final List<RemoteMethodCallResults> results = new ArrayList<RemoteMethodCallResults>(implementorsCopy.size());
-		for (final Object implementor : implementorsCopy)
-		{
-			results.add(invokeSingle(call, implementor, messageOriginator));
-		}
-		return results;
-	}
-	
-	/**
-	 * @param call
-	 * @param implementor
-	 * @return
-	 */
-	private RemoteMethodCallResults invokeSingle(final RemoteMethodCall call, final Object implementor, final INode messageOriginator)
-	{
-		call.resolve(m_remoteClass);
-		Method method;
-		try
-		{
-			method = implementor.getClass().getMethod(call.getMethodName(), call.getArgTypes());
-			method.setAccessible(true);
-		} catch (final SecurityException e)
-		{
-			e.printStackTrace();
-			throw new IllegalStateException(e.getMessage());
-		} catch (final NoSuchMethodException e)
-		{
-			e.printStackTrace();
-			throw new IllegalStateException(e.getMessage());
-		}
-		MessageContext.setSenderNodeForThread(messageOriginator);
-		try
-		{
-			final Object methodRVal = method.invoke(implementor, call.getArgs());
-			return new RemoteMethodCallResults(methodRVal);
-		} catch (final InvocationTargetException e)
-		{
-			return new RemoteMethodCallResults(e.getTargetException());
-		} catch (final IllegalAccessException e)
-		{
-			// this shouldnt happen
-			System.err.println("error in call:" + call);
-			e.printStackTrace();
-			return new RemoteMethodCallResults(e);
-		} catch (final IllegalArgumentException e)
-		{
-			// this shouldnt happen
-			System.err.println("error in call:" + call);
-			e.printStackTrace();
-			return new RemoteMethodCallResults(e);
-		} finally
-		{
-			MessageContext.setSenderNodeForThread(null);
-		}
-	}
-	
-	public boolean equivalent(final EndPoint other)
-	{
-		if (other.m_singleThreaded != this.m_singleThreaded)
-			return false;
-		if (!other.m_name.equals(this.m_name))
-			return false;
-		if (!(other.m_remoteClass.equals(m_remoteClass)))
-			return false;
-		return true;
-	}
-	
 	@Override
 	public String toString()
 	{
-		return "Name:" + m_name + " singleThreaded:" + m_singleThreaded + " implementors:" + m_implementors;
+		return "Server:" + m_messenger.isServer() + " EndPoints:" + m_localEndPoints;
 	}
 }
 
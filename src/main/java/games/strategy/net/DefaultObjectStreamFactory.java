@@ -19,11 +19,11 @@ public class DefaultObjectStreamFactory implements IObjectStreamFactory
 {
 	public ObjectInputStream create(final InputStream stream) throws IOException
 	{
-		return new ObjectInputStream(stream);
+		return new SessionObjectInputStream(stream);
 	}
 	
 	public ObjectOutputStream create(final OutputStream stream) throws IOException
 	{
-		return new ObjectOutputStream(stream);
+		return new SessionObjectOutputStream(stream);
 	}
 }
@@ -90,13 +90,18 @@ public class GUID implements Externalizable
 	public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException
 	{
 		m_id = in.readInt();
-		m_prefix = (VMID) in.readObject();
+		if (SessionObjectInputStream.hasSession(in))
+			m_prefix = (VMID) SessionObjectInputStream.readShared(in);
+		else
+			m_prefix = (VMID) in.readObject();
 	}
 	
 	public void writeExternal(final ObjectOutput out) throws IOException
 	{
 		out.writeInt(m_id);
-		out.writeObject(m_prefix);
+		// every guid from a vm has the same prefix, so over a connection it need only be sent once
+		if (!SessionObjectOutputStream.writeShared(out, m_prefix))
+			out.writeObject(m_prefix);
 	}
 	
 	public static void main(final String[] args) throws IOException
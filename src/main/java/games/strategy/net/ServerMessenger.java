@@ -569,11 +569,9 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener
 		{
 			s_logger.log(Level.FINEST, "broadcasting to" + nodes);
 		}
-		for (final SocketChannel channel : nodes)
-		{
-			if (channel != fromChannel)
-				m_nioSocket.send(channel, msg);
-		}
+		nodes.remove(fromChannel);
+		// encoded once and shared by every channel, rather than encoded again for each
+		m_nioSocket.send(nodes, msg);
 	}
 	
 	private boolean isNameTaken(final String nodeName)
@@ -0,0 +1,77 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * Reads what a SessionObjectOutputStream wrote. <br>
+ * Given a session, class descriptors and shared values that were sent before are looked up by their number.
+ * 
+ * Without a session this reads the same as an ObjectInputStream.
+ */
+public class SessionObjectInputStream extends ObjectInputStream
+{
+	private StreamSession m_session;
+	
+	public SessionObjectInputStream(final InputStream in) throws IOException
+	{
+		super(in);
+	}
+	
+	/**
+	 * Must be set before any object is read.
+	 */
+	public void setSession(final StreamSession session)
+	{
+		m_session = session;
+	}
+	
+	@Override
+	protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException
+	{
+		if (m_session == null)
+			return super.readClassDescriptor();
+		final int id = readInt();
+		if (id != -1)
+			return (ObjectStreamClass) m_session.get(id);
+		final ObjectStreamClass desc = super.readClassDescriptor();
+		m_session.add(desc);
+		return desc;
+	}
+	
+	/**
+	 * @return true if in has a session, and so values written with SessionObjectOutputStream.writeShared(ObjectOutput, Object)
+	 *         must be read with readShared(ObjectInput)
+	 */
+	public static boolean hasSession(final ObjectInput in)
+	{
+		return in instanceof SessionObjectInputStream && ((SessionObjectInputStream) in).m_session != null;
+	}
+	
+	public static Object readShared(final ObjectInput in) throws IOException, ClassNotFoundException
+	{
+		final StreamSession session = ((SessionObjectInputStream) in).m_session;
+		final int id = in.readInt();
+		if (id != -1)
+			return session.get(id);
+		final Object value = in.readObject();
+		session.add(value);
+		return value;
+	}
+}
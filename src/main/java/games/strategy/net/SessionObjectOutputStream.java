@@ -0,0 +1,88 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+
+/**
+ * An object output stream that, once given a session, writes each class descriptor only the first time it is written in that session,
+ * and after that only its number. <br>
+ * Messages sent over the network are each written with a new stream, so without a session every message
+ * would carry the full descriptor of every class in it, often many times the size of the data itself.
+ * 
+ * Without a session this writes the same as an ObjectOutputStream.
+ */
+public class SessionObjectOutputStream extends ObjectOutputStream
+{
+	private StreamSession m_session;
+	
+	public SessionObjectOutputStream(final OutputStream out) throws IOException
+	{
+		super(out);
+	}
+	
+	/**
+	 * Must be set before any object is written, and the stream read by a SessionObjectInputStream with the reader's session.
+	 */
+	public void setSession(final StreamSession session)
+	{
+		m_session = session;
+	}
+	
+	@Override
+	protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException
+	{
+		if (m_session == null)
+		{
+			super.writeClassDescriptor(desc);
+			return;
+		}
+		final Class<?> type = desc.forClass();
+		final int id = m_session.getId(type);
+		writeInt(id);
+		if (id == -1)
+		{
+			m_session.add(type);
+			super.writeClassDescriptor(desc);
+		}
+	}
+	
+	/**
+	 * Writes value, or only its number if it was written before in the session of out.
+	 * The value must be immutable, and is read with SessionObjectInputStream.readShared(ObjectInput).
+	 * 
+	 * @return false if out has no session, in which case nothing was written, and the caller writes value as it usually would
+	 */
+	public static boolean writeShared(final ObjectOutput out, final Object value) throws IOException
+	{
+		if (!(out instanceof SessionObjectOutputStream))
+			return false;
+		final StreamSession session = ((SessionObjectOutputStream) out).m_session;
+		if (session == null)
+			return false;
+		final int id = session.getId(value);
+		out.writeInt(id);
+		if (id == -1)
+		{
+			out.writeObject(value);
+			// added after the classes value is written with, as that is the order they are read in
+			session.add(value);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net;
+
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What has already been sent over one connection in one direction, so that it can be referred to by a number when it is sent again. <br>
+ * The writer and the reader of a connection each keep a session. Numbers are given out in the order things are first sent,
+ * so the two sessions stay in step as long as messages are read in the order they were written.
+ * 
+ * Holds class descriptors, and values that are sent over and over, such as remote names.
+ * 
+ * A session can be limited in size, so a peer can not make us hold more and more of what it sends.
+ * 
+ * A session is not thread safe, a connection must only write (or read) one message at a time.
+ * 
+ * @see SessionObjectOutputStream
+ * @see SessionObjectInputStream
+ */
+public class StreamSession
+{
+	private final Map<Object, Integer> m_ids = new HashMap<Object, Integer>();
+	private final List<Object> m_values = new ArrayList<Object>();
+	// how many values had been added when the last message was done with
+	private int m_committed = 0;
+	private int m_maxSize;
+	
+	/**
+	 * Creates a session without a limit, for what we write.
+	 */
+	public StreamSession()
+	{
+		this(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * @param maxSize
+	 *            how many values the session may hold, adding more fails
+	 */
+	public StreamSession(final int maxSize)
+	{
+		m_maxSize = maxSize;
+	}
+	
+	public void setMaxSize(final int maxSize)
+	{
+		m_maxSize = maxSize;
+	}
+	
+	/**
+	 * @return the number value was given, or -1 if it has not been sent before
+	 */
+	int getId(final Object value)
+	{
+		final Integer id = m_ids.get(value);
+		return id == null ? -1 : id;
+	}
+	
+	void add(final Object value) throws StreamCorruptedException
+	{
+		if (m_values.size() >= m_maxSize)
+			throw new StreamCorruptedException("Session is full:" + m_maxSize);
+		m_ids.put(value, m_values.size());
+		m_values.add(value);
+	}
+	
+	Object get(final int id) throws StreamCorruptedException
+	{
+		if (id < 0 || id >= m_values.size())
+			throw new StreamCorruptedException("Not in session:" + id);
+		return m_values.get(id);
+	}
+	
+	/**
+	 * Call once a message has been written (or read).
+	 */
+	public void commit()
+	{
+		m_committed = m_values.size();
+	}
+	
+	/**
+	 * Forgets what was added since the last commit, for when a message could not be written, and will not be sent.
+	 */
+	public void rollback()
+	{
+		while (m_values.size() > m_committed)
+		{
+			m_ids.remove(m_values.remove(m_values.size() - 1));
+		}
+	}
+}
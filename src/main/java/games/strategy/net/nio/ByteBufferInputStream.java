@@ -0,0 +1,66 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net.nio;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the bytes between the position and limit of a buffer, so a packet can be decoded without copying it to a byte[].
+ */
+class ByteBufferInputStream extends InputStream
+{
+	private final ByteBuffer m_buffer;
+	
+	public ByteBufferInputStream(final ByteBuffer buffer)
+	{
+		m_buffer = buffer;
+	}
+	
+	@Override
+	public int read()
+	{
+		if (!m_buffer.hasRemaining())
+			return -1;
+		return m_buffer.get() & 0xFF;
+	}
+	
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+	{
+		if (len == 0)
+			return 0;
+		if (!m_buffer.hasRemaining())
+			return -1;
+		final int count = Math.min(len, m_buffer.remaining());
+		m_buffer.get(b, off, count);
+		return count;
+	}
+	
+	@Override
+	public long skip(final long n)
+	{
+		if (n <= 0)
+			return 0;
+		final int count = (int) Math.min(n, m_buffer.remaining());
+		m_buffer.position(m_buffer.position() + count);
+		return count;
+	}
+	
+	@Override
+	public int available()
+	{
+		return m_buffer.remaining();
+	}
+}
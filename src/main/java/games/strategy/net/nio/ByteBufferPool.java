@@ -0,0 +1,114 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Direct buffers that packets are read into and written from, kept for reuse once a packet is done with.
+ * <p>
+ * 
+ * Sockets read into and write from direct buffers, so a heap buffer is copied to a temporary direct buffer
+ * on every read and write. Using direct buffers ourselves saves that copy, and pooling them saves allocating them,
+ * which is slow for direct buffers.
+ * <p>
+ * 
+ * Buffers are pooled in sizes of powers of two. Larger buffers are not pooled, and are allocated on the heap.
+ * A buffer that is never released is not lost, it is garbage collected as usual.
+ * <p>
+ * 
+ * This class is thread safe.
+ */
+final class ByteBufferPool
+{
+	private static final int MIN_SIZE_SHIFT = 10;
+	private static final int MAX_SIZE_SHIFT = 19;
+	// the largest buffer we pool, 512 KB
+	private static final int MAX_POOLED_SIZE = 1 << MAX_SIZE_SHIFT;
+	// how many bytes we keep in each size, so at most 10 MB in all
+	private static final int MAX_BYTES_PER_SIZE = 1 << 20;
+	private static final Queue<ByteBuffer>[] s_free = newQueues();
+	private static final AtomicInteger[] s_freeCounts = newCounts();
+	
+	private ByteBufferPool()
+	{
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Queue<ByteBuffer>[] newQueues()
+	{
+		final Queue<ByteBuffer>[] queues = new Queue[MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1];
+		for (int i = 0; i < queues.length; i++)
+		{
+			queues[i] = new ConcurrentLinkedQueue<ByteBuffer>();
+		}
+		return queues;
+	}
+	
+	private static AtomicInteger[] newCounts()
+	{
+		final AtomicInteger[] counts = new AtomicInteger[MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1];
+		for (int i = 0; i < counts.length; i++)
+		{
+			counts[i] = new AtomicInteger();
+		}
+		return counts;
+	}
+	
+	/**
+	 * @return a cleared buffer whose limit is size, and whose capacity may be larger
+	 */
+	static ByteBuffer acquire(final int size)
+	{
+		if (size < 0)
+			throw new IllegalArgumentException("Invalid size:" + size);
+		if (size > MAX_POOLED_SIZE)
+			return ByteBuffer.allocate(size);
+		final int shift = Math.max(MIN_SIZE_SHIFT, 32 - Integer.numberOfLeadingZeros(size - 1));
+		final int index = shift - MIN_SIZE_SHIFT;
+		ByteBuffer buffer = s_free[index].poll();
+		if (buffer == null)
+			buffer = ByteBuffer.allocateDirect(1 << shift);
+		else
+			s_freeCounts[index].decrementAndGet();
+		buffer.clear();
+		buffer.limit(size);
+		return buffer;
+	}
+	
+	/**
+	 * Give a buffer back to the pool. The buffer must not be used after this.
+	 * Buffers that did not come from acquire(int) are ignored.
+	 */
+	static void release(final ByteBuffer buffer)
+	{
+		if (buffer == null || !buffer.isDirect() || buffer.isReadOnly())
+			return;
+		final int capacity = buffer.capacity();
+		if (Integer.bitCount(capacity) != 1)
+			return;
+		final int shift = Integer.numberOfTrailingZeros(capacity);
+		if (shift < MIN_SIZE_SHIFT || shift > MAX_SIZE_SHIFT)
+			return;
+		final int index = shift - MIN_SIZE_SHIFT;
+		// we may keep a few more than the limit when releasing at the same time, which does no harm
+		if (s_freeCounts[index].get() >= MAX_BYTES_PER_SIZE >> shift)
+			return;
+		s_freeCounts[index].incrementAndGet();
+		s_free[index].offer(buffer);
+	}
+}
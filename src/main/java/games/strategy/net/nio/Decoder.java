@@ -22,11 +22,13 @@ import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
+import games.strategy.net.SessionObjectInputStream;
+import games.strategy.net.StreamSession;
 import games.strategy.net.nio.QuarantineConversation.ACTION;
 
-import java.io.ByteArrayInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.Socket;
@@ -54,6 +56,12 @@ public class Decoder
 	 * read from them are not passed outside of the quarantine conversation.
 	 */
 	private final ConcurrentHashMap<SocketChannel, QuarantineConversation> m_quarantine = new ConcurrentHashMap<SocketChannel, QuarantineConversation>();
+	// how much of what a channel sends we keep, a channel that sends more is closed.
+	// until a channel logs in it should send little
+	private static final int MAX_SESSION_SIZE = 1 << 16;
+	private static final int MAX_QUARANTINED_SESSION_SIZE = 1 << 10;
+	// what each channel has sent us, only used by the decoding thread
+	private final ConcurrentHashMap<SocketChannel, StreamSession> m_sessions = new ConcurrentHashMap<SocketChannel, StreamSession>();
 	private final Thread m_thread;
 	
 	public Decoder(final NIOSocket nioSocket, final NIOReader reader, final IErrorReporter reporter, final IObjectStreamFactory objectStreamFactory, final String threadSuffix)
@@ -98,10 +106,12 @@ public class Decoder
 				{
 					s_logger.finest("Decoding packet:" + data);
 				}
-				final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
+				final InputStream stream = data.getInputStream();
 				try
 				{
-					final MessageHeader header = readMessageHeader(data.getChannel(), m_objectStreamFactory.create(stream));
+					final ObjectInputStream objectInput = m_objectStreamFactory.create(stream);
+					startSession(data.getChannel(), objectInput);
+					final MessageHeader header = readMessageHeader(data.getChannel(), objectInput);
 					if (s_logger.isLoggable(Level.FINEST))
 					{
 						s_logger.log(Level.FINEST, "header decoded:" + header);
@@ -134,6 +144,10 @@ public class Decoder
 					// is odd
 					s_logger.log(Level.SEVERE, "error reading object", ioe);
 					m_errorReporter.error(data.getChannel(), ioe);
+				} finally
+				{
+					// the message has been read from the buffer, so it can be reused
+					data.release();
 				}
 			} catch (final Exception e)
 			{
@@ -144,6 +158,24 @@ public class Decoder
 		}
 	}
 	
+	/**
+	 * Reads whether the message uses the session of its channel, as written by the Encoder.
+	 */
+	private void startSession(final SocketChannel channel, final ObjectInputStream objectInput) throws IOException
+	{
+		if (objectInput.read() != 1)
+			return;
+		if (!(objectInput instanceof SessionObjectInputStream))
+			throw new IOException("Message was written with a session, but our streams can not read it");
+		StreamSession session = m_sessions.get(channel);
+		if (session == null)
+		{
+			session = new StreamSession(m_quarantine.containsKey(channel) ? MAX_QUARANTINED_SESSION_SIZE : MAX_SESSION_SIZE);
+			m_sessions.put(channel, session);
+		}
+		((SessionObjectInputStream) objectInput).setSession(session);
+	}
+	
 	private void sendQuarantine(final SocketChannel channel, final QuarantineConversation conversation, final MessageHeader header)
 	{
 		final ACTION a = conversation.message(header.getMessage());
@@ -165,6 +197,9 @@ public class Decoder
 			}
 			m_nioSocket.unquarantine(channel, conversation);
 			m_quarantine.remove(channel);
+			final StreamSession session = m_sessions.get(channel);
+			if (session != null)
+				session.setMaxSize(MAX_SESSION_SIZE);
 		}
 	}
 	
@@ -263,6 +298,7 @@ public class Decoder
 	
 	public void closed(final SocketChannel channel)
 	{
+		m_sessions.remove(channel);
 		// remove if it exists
 		final QuarantineConversation conversation = m_quarantine.remove(channel);
 		if (conversation != null)
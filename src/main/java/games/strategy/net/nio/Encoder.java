@@ -16,11 +16,15 @@ package games.strategy.net.nio;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
+import games.strategy.net.SessionObjectOutputStream;
+import games.strategy.net.StreamSession;
 
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,6 +39,8 @@ public class Encoder
 	private final NIOWriter m_writer;
 	private final IObjectStreamFactory m_objectStreamFactory;
 	private final NIOSocket m_nioSocket;
+	// what we have sent to each channel, so the same classes and values need not be sent again
+	private final ConcurrentHashMap<SocketChannel, StreamSession> m_sessions = new ConcurrentHashMap<SocketChannel, StreamSession>();
 	
 	public Encoder(final NIOSocket nioSocket, final NIOWriter writer, final IObjectStreamFactory objectStreamFactory)
 	{
@@ -53,22 +59,102 @@ public class Encoder
 			throw new IllegalArgumentException("No from node");
 		if (to == null)
 			throw new IllegalArgumentException("No to channel!");
+		final StreamSession session = getSession(to);
+		// the decoder must read messages in the order they were added to the session, so they are queued in that order
+		synchronized (session)
+		{
+			final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
+			SocketWriteData data;
+			try
+			{
+				final ObjectOutputStream out = m_objectStreamFactory.create(sink);
+				startSession(out, session);
+				write(header, out, to);
+				data = new SocketWriteData(sink.getBuffer(), sink.size());
+				session.commit();
+			} catch (final Exception e)
+			{
+				session.rollback();
+				// we arent doing any io, just writing in memory
+				// so something is very wrong
+				s_logger.log(Level.SEVERE, "Error writing object:" + header, e);
+				return;
+			}
+			if (s_logger.isLoggable(Level.FINER))
+			{
+				s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
+			}
+			m_writer.enque(data, to);
+		}
+	}
+	
+	private StreamSession getSession(final SocketChannel channel)
+	{
+		// nothing more will be read from a closed channel, so do not keep a session for it
+		if (!channel.isOpen())
+			return new StreamSession();
+		final StreamSession session = m_sessions.get(channel);
+		if (session != null)
+			return session;
+		final StreamSession newSession = new StreamSession();
+		final StreamSession existing = m_sessions.putIfAbsent(channel, newSession);
+		return existing == null ? newSession : existing;
+	}
+	
+	/**
+	 * Writes whether the message uses a session, which it does when the stream supports it and we are given one.
+	 */
+	private static void startSession(final ObjectOutputStream out, final StreamSession session) throws IOException
+	{
+		if (session != null && out instanceof SessionObjectOutputStream)
+		{
+			out.write(1);
+			((SessionObjectOutputStream) out).setSession(session);
+		}
+		else
+		{
+			out.write(0);
+		}
+	}
+	
+	public void closed(final SocketChannel channel)
+	{
+		m_sessions.remove(channel);
+	}
+	
+	/**
+	 * Sends a broadcast to many channels. <br>
+	 * A broadcast is encoded the same way whatever channel it goes to, so it is encoded only once, and every channel writes the same bytes.
+	 */
+	public void writeBroadcast(final Collection<SocketChannel> to, final MessageHeader header)
+	{
+		if (header.getFor() != null)
+			throw new IllegalArgumentException("Not a broadcast:" + header);
+		if (header.getFrom() == null)
+			throw new IllegalArgumentException("No from node");
+		if (to.isEmpty())
+			return;
+		if (s_logger.isLoggable(Level.FINEST))
+		{
+			s_logger.log(Level.FINEST, "Encoding broadcast:" + header + " to:" + to);
+		}
 		final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
 		SocketWriteData data;
 		try
 		{
-			write(header, m_objectStreamFactory.create(sink), to);
+			final ObjectOutputStream out = m_objectStreamFactory.create(sink);
+			// the same bytes go to every channel, so they can not refer to what any one channel was sent before
+			startSession(out, null);
+			write(header, out, null);
 			data = new SocketWriteData(sink.getBuffer(), sink.size());
 		} catch (final Exception e)
 		{
-			// we arent doing any io, just writing in memory
-			// so something is very wrong
 			s_logger.log(Level.SEVERE, "Error writing object:" + header, e);
 			return;
 		}
 		if (s_logger.isLoggable(Level.FINER))
 		{
-			s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
+			s_logger.log(Level.FINER, "encoded broadcast:" + header.getMessage() + " size:" + data.size() + " channels:" + to.size());
 		}
 		m_writer.enque(data, to);
 	}
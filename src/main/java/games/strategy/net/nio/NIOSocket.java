@@ -20,6 +20,7 @@ import games.strategy.net.MessageHeader;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -85,6 +86,18 @@ public class NIOSocket implements IErrorReporter
 		m_encoder.write(to, header);
 	}
 	
+	/**
+	 * Sends a broadcast to each of the channels, encoding it only once.
+	 */
+	public void send(final Collection<SocketChannel> to, final MessageHeader header)
+	{
+		if (to == null)
+			throw new IllegalArgumentException("to cant be null!");
+		if (header == null)
+			throw new IllegalArgumentException("header cant be null");
+		m_encoder.writeBroadcast(to, header);
+	}
+	
 	/**
 	 * Add this channel.
 	 * 
@@ -136,6 +149,7 @@ public class NIOSocket implements IErrorReporter
 			s_logger.log(Level.FINE, "error closing channel", e1);
 		}
 		m_decoder.closed(channel);
+		m_encoder.closed(channel);
 		m_writer.closed(channel);
 		m_reader.closed(channel);
 	}
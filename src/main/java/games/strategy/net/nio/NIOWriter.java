@@ -21,6 +21,7 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -170,6 +171,7 @@ public class NIOWriter
 										s_logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;" + packet.getWriteCalls() + " total:" + m_totalBytes);
 									}
 									removeLast(channel);
+									packet.release();
 								}
 							} catch (final Exception e)
 							{
@@ -197,7 +199,8 @@ public class NIOWriter
 	}
 	
 	/**
-	 * Remove the data for this channel
+	 * Remove the data for this channel.
+	 * The data is not released, we may be writing it right now, and the garbage collector will take care of it.
 	 */
 	public void closed(final SocketChannel channel)
 	{
@@ -248,18 +251,47 @@ public class NIOWriter
 		{
 			if (!m_running)
 				return;
-			if (m_writing.containsKey(channel))
+			if (enqueInternal(data, channel))
+				m_selector.wakeup();
+		}
+	}
+	
+	/**
+	 * Writes the same data to each channel, sharing its content rather than copying it.
+	 */
+	public void enque(final SocketWriteData data, final Collection<SocketChannel> channels)
+	{
+		synchronized (m_mutex)
+		{
+			if (!m_running)
+				return;
+			boolean wakeup = false;
+			final Iterator<SocketChannel> iter = channels.iterator();
+			while (iter.hasNext())
 			{
-				m_writing.get(channel).add(data);
+				final SocketChannel channel = iter.next();
+				// the data itself goes last, so nothing can be writing it while it is shared
+				wakeup |= enqueInternal(iter.hasNext() ? data.share() : data, channel);
 			}
-			else
-			{
-				final List<SocketWriteData> values = new ArrayList<SocketWriteData>();
-				values.add(data);
-				m_writing.put(channel, values);
-				m_socketsToWake.add(channel);
+			if (wakeup)
 				m_selector.wakeup();
-			}
 		}
 	}
+	
+	/**
+	 * @return true if the selector must be woken up to start writing to the channel
+	 */
+	private boolean enqueInternal(final SocketWriteData data, final SocketChannel channel)
+	{
+		if (m_writing.containsKey(channel))
+		{
+			m_writing.get(channel).add(data);
+			return false;
+		}
+		final List<SocketWriteData> values = new ArrayList<SocketWriteData>();
+		values.add(data);
+		m_writing.put(channel, values);
+		m_socketsToWake.add(channel);
+		return true;
+	}
 }
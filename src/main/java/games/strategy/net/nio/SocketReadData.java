@@ -14,6 +14,7 @@
 package games.strategy.net.nio;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,7 +44,7 @@ class SocketReadData
 	// we read into here the first four
 	// bytes to find out size
 	private ByteBuffer m_sizeBuffer;
-	// we read into here after knowing out size
+	// we read into here after knowing out size, a buffer from the pool
 	private ByteBuffer m_contentBuffer;
 	private final SocketChannel m_channel;
 	private final int m_number = s_counter.incrementAndGet();
@@ -92,7 +93,7 @@ class SocketReadData
 				{
 					throw new IOException("Invalid triplea packet size:" + m_targetSize);
 				}
-				m_contentBuffer = ByteBuffer.allocate(m_targetSize);
+				m_contentBuffer = ByteBufferPool.acquire(m_targetSize);
 				m_sizeBuffer = null;
 			}
 			else
@@ -118,18 +119,23 @@ class SocketReadData
 	}
 	
 	/**
-	 * Get the data as a byte[].
-	 * 
-	 * This method can only be called once.
+	 * Get the data as a stream, read straight from the buffer it was read into.
 	 * 
+	 * This method can only be called once, and the stream can only be used until release() is called.
 	 */
-	public byte[] getData()
+	public InputStream getInputStream()
 	{
-		final byte[] rVal = new byte[m_contentBuffer.capacity()];
 		m_contentBuffer.flip();
-		m_contentBuffer.get(rVal);
+		return new ByteBufferInputStream(m_contentBuffer);
+	}
+	
+	/**
+	 * Give the buffer the data was read into back to the pool, once the data has been decoded.
+	 */
+	public void release()
+	{
+		ByteBufferPool.release(m_contentBuffer);
 		m_contentBuffer = null;
-		return rVal;
 	}
 	
 	public int size()
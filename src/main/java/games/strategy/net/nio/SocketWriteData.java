@@ -35,28 +35,52 @@ public class SocketWriteData
 {
 	private static final Logger s_logger = Logger.getLogger(SocketWriteData.class.getName());
 	private static final AtomicInteger s_counter = new AtomicInteger();
-	private final ByteBuffer m_size;
-	private final ByteBuffer m_content;
+	// the size then the content, in a buffer from the pool that is shared with any copies of us
+	private final ByteBuffer m_pooled;
+	// how many of us and our copies have not been released yet
+	private final AtomicInteger m_references;
+	// what we write, with our own position
+	private final ByteBuffer m_data;
 	private final int m_number = s_counter.incrementAndGet();
 	// how many times we called write before we finished writing ourselves
 	private int m_writeCalls = 0;
+	private boolean m_released = false;
 	
-	public SocketWriteData(final byte[] data, int count)
+	public SocketWriteData(final byte[] data, final int count)
 	{
-		m_content = ByteBuffer.allocate(count);
-		m_content.put(data, 0, count);
-		m_size = ByteBuffer.allocate(4);
 		if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE)
 			throw new IllegalStateException("Invalid message size:" + count);
-		count = count ^ SocketReadData.MAGIC;
-		m_size.putInt(count);
-		m_size.flip();
-		m_content.flip();
+		m_pooled = ByteBufferPool.acquire(count + 4);
+		m_pooled.putInt(count ^ SocketReadData.MAGIC);
+		m_pooled.put(data, 0, count);
+		m_pooled.flip();
+		m_data = m_pooled;
+		m_references = new AtomicInteger(1);
+	}
+	
+	/**
+	 * Shares the content of data, but not how much of it has been written.
+	 */
+	private SocketWriteData(final SocketWriteData data)
+	{
+		m_pooled = data.m_pooled;
+		m_references = data.m_references;
+		m_references.incrementAndGet();
+		m_data = data.m_pooled.asReadOnlyBuffer();
+		m_data.rewind();
+	}
+	
+	/**
+	 * @return data with the same content, to write the same message to another channel without copying it
+	 */
+	public SocketWriteData share()
+	{
+		return new SocketWriteData(this);
 	}
 	
 	public int size()
 	{
-		return m_size.capacity() + m_content.capacity();
+		return m_data.limit();
 	}
 	
 	public int getWriteCalls()
@@ -71,32 +95,32 @@ public class SocketWriteData
 	public boolean write(final SocketChannel channel) throws IOException
 	{
 		m_writeCalls++;
-		if (m_size.hasRemaining())
-		{
-			final int count = channel.write(m_size);
-			if (count == -1)
-				throw new IOException("triplea: end of stream detected");
-			if (s_logger.isLoggable(Level.FINEST))
-			{
-				s_logger.finest("wrote size_buffer bytes:" + count);
-			}
-			// we could not write everything
-			if (m_size.hasRemaining())
-				return false;
-		}
-		final int count = channel.write(m_content);
+		// the size and content are in one buffer, so a small message takes one call
+		final int count = channel.write(m_data);
 		if (count == -1)
 			throw new IOException("triplea: end of stream detected");
 		if (s_logger.isLoggable(Level.FINEST))
 		{
-			s_logger.finest("wrote content bytes:" + count);
+			s_logger.finest("wrote bytes:" + count);
 		}
-		return !m_content.hasRemaining();
+		return !m_data.hasRemaining();
+	}
+	
+	/**
+	 * Called once we have been written. When we and all our copies are released, the buffer goes back to the pool.
+	 */
+	public void release()
+	{
+		if (m_released)
+			return;
+		m_released = true;
+		if (m_references.decrementAndGet() == 0)
+			ByteBufferPool.release(m_pooled);
 	}
 	
 	@Override
 	public String toString()
 	{
-		return "<id:" + m_number + " size:" + m_content.capacity() + ">";
+		return "<id:" + m_number + " size:" + (m_data.limit() - 4) + ">";
 	}
 }
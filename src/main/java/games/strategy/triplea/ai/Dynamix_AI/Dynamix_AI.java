@@ -54,6 +54,7 @@ import games.strategy.triplea.delegate.remote.IPurchaseDelegate;
 import games.strategy.triplea.delegate.remote.ITechDelegate;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
 import games.strategy.triplea.oddsCalculator.ta.BattleResults;
+import games.strategy.triplea.oddsCalculator.ta.CachingOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.player.ITripleaPlayer;
@@ -81,7 +82,7 @@ public class Dynamix_AI extends AbstractAI implements IGamePlayer, ITripleaPlaye
 {
 	private final static Logger s_logger = Logger.getLogger(Dynamix_AI.class.getName());
 	
-	private static final IOddsCalculator s_battleCalculator = new ConcurrentOddsCalculator("Dynamix_AI"); // if non-static, then only need 1 for the entire AI instance and must be shutdown when AI is gc'ed.
+	private static final IOddsCalculator s_battleCalculator = new CachingOddsCalculator(new ConcurrentOddsCalculator("Dynamix_AI")); // if non-static, then only need 1 for the entire AI instance and must be shutdown when AI is gc'ed.
 	
 	/**
 	 * Some notes on using the Dynamix logger:
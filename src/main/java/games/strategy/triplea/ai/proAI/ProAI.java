@@ -49,6 +49,7 @@ import games.strategy.triplea.delegate.remote.IAbstractPlaceDelegate;
 import games.strategy.triplea.delegate.remote.IMoveDelegate;
 import games.strategy.triplea.delegate.remote.IPurchaseDelegate;
 import games.strategy.triplea.delegate.remote.ITechDelegate;
+import games.strategy.triplea.oddsCalculator.ta.CachingOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.ui.TripleAFrame;
@@ -74,7 +75,7 @@ public class ProAI extends AbstractAI
 {
 	private final static Logger s_logger = Logger.getLogger(ProAI.class.getName());
 	
-	private final static IOddsCalculator s_battleCalculator = new ConcurrentOddsCalculator("ProAI"); // if non-static, then only need 1 for the entire AI instance and must be shutdown when AI is gc'ed.
+	private final static IOddsCalculator s_battleCalculator = new CachingOddsCalculator(new ConcurrentOddsCalculator("ProAI")); // if non-static, then only need 1 for the entire AI instance and must be shutdown when AI is gc'ed.
 	
 	// Utilities
 	private final ProUtils utils;
@@ -1,6 +1,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.data.PlayerID;
@@ -24,6 +25,7 @@ import games.strategy.util.IntegerMap;
 public abstract class AbstractPlayerRulesAttachment extends AbstractRulesAttachment
 {
 	private static final long serialVersionUID = 7224407193725789143L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.RULES_ATTACHMENT_NAME);
 	
 	// Please do not add new things to this class. Any new Player-Rules type of stuff should go in "PlayerAttachment".
 	// These variables are related to a "rulesAttatchment" that changes certain rules for the attached player. They are not related to conditions at all.
@@ -59,7 +61,7 @@ public abstract class AbstractPlayerRulesAttachment extends AbstractRulesAttachm
 	 */
 	public static RulesAttachment get(final PlayerID player)
 	{
-		final RulesAttachment rVal = (RulesAttachment) player.getAttachment(Constants.RULES_ATTACHMENT_NAME);
+		final RulesAttachment rVal = (RulesAttachment) player.getAttachment(ATTACHMENT_SLOT);
 		if (rVal == null)
 			throw new IllegalStateException("Rules & Conditions: No rule attachment for:" + player.getName());
 		return rVal;
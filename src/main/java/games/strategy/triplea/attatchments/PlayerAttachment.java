@@ -19,6 +19,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -47,13 +48,14 @@ import java.util.HashSet;
 public class PlayerAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = 1880755875866426270L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.PLAYER_ATTACHMENT_NAME);
 	
 	/**
 	 * Convenience method. can be null
 	 */
 	public static PlayerAttachment get(final PlayerID p)
 	{
-		final PlayerAttachment rVal = (PlayerAttachment) p.getAttachment(Constants.PLAYER_ATTACHMENT_NAME);
+		final PlayerAttachment rVal = (PlayerAttachment) p.getAttachment(ATTACHMENT_SLOT);
 		// allow null
 		return rVal;
 	}
@@ -27,6 +27,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -37,6 +38,7 @@ import games.strategy.triplea.Constants;
 public class RelationshipTypeAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = -4367286684249791984L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME);
 	public static final String ARCHETYPE_NEUTRAL = Constants.RELATIONSHIP_ARCHETYPE_NEUTRAL;
 	public static final String ARCHETYPE_WAR = Constants.RELATIONSHIP_ARCHETYPE_WAR;
 	public static final String ARCHETYPE_ALLIED = Constants.RELATIONSHIP_ARCHETYPE_ALLIED;
@@ -76,7 +78,7 @@ public class RelationshipTypeAttachment extends DefaultAttachment
 	 */
 	public static RelationshipTypeAttachment get(final RelationshipType pr)
 	{
-		final RelationshipTypeAttachment rVal = (RelationshipTypeAttachment) pr.getAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME);
+		final RelationshipTypeAttachment rVal = (RelationshipTypeAttachment) pr.getAttachment(ATTACHMENT_SLOT);
 		if (rVal == null)
 			throw new IllegalStateException("No relationshipType attachment for:" + pr.getName());
 		return rVal;
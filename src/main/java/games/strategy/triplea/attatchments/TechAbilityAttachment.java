@@ -1,6 +1,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -36,6 +37,7 @@ import java.util.Set;
 public class TechAbilityAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = 1866305599625384294L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.TECH_ABILITY_ATTACHMENT_NAME);
 	
 	/**
 	 * Convenience method.
@@ -49,11 +51,11 @@ public class TechAbilityAttachment extends DefaultAttachment
 			final TechAdvance hardCodedAdvance = ((GenericTechAdvance) type).getAdvance();
 			if (hardCodedAdvance != null)
 			{
-				final TechAbilityAttachment hardCodedTechAttachment = (TechAbilityAttachment) hardCodedAdvance.getAttachment(Constants.TECH_ABILITY_ATTACHMENT_NAME);
+				final TechAbilityAttachment hardCodedTechAttachment = (TechAbilityAttachment) hardCodedAdvance.getAttachment(ATTACHMENT_SLOT);
 				return hardCodedTechAttachment;
 			}
 		}
-		final TechAbilityAttachment rVal = (TechAbilityAttachment) type.getAttachment(Constants.TECH_ABILITY_ATTACHMENT_NAME);
+		final TechAbilityAttachment rVal = (TechAbilityAttachment) type.getAttachment(ATTACHMENT_SLOT);
 		return rVal;
 	}
 	
@@ -14,6 +14,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -32,11 +33,12 @@ import java.util.HashMap;
 public class TechAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = -8780929085456199961L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.TECH_ATTACHMENT_NAME);
 	
 	// attaches to a PlayerID
 	public static TechAttachment get(final PlayerID id)
 	{
-		final TechAttachment attachment = (TechAttachment) id.getAttachment(Constants.TECH_ATTACHMENT_NAME);
+		final TechAttachment attachment = (TechAttachment) id.getAttachment(ATTACHMENT_SLOT);
 		// dont crash, as a map xml may not set the tech attachment for all players, so just create a new tech attachment for them
 		if (attachment == null)
 		{
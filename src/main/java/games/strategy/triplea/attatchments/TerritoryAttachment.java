@@ -19,6 +19,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -45,6 +46,7 @@ import java.util.Set;
 public class TerritoryAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = 9102862080104655281L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.TERRITORY_ATTACHMENT_NAME);
 	
 	public static boolean doWeHaveEnoughCapitalsToProduce(final PlayerID player, final GameData data)
 	{
@@ -166,7 +168,7 @@ public class TerritoryAttachment extends DefaultAttachment
 	
 	public static TerritoryAttachment get(final Territory t, final boolean allowNull)
 	{
-		final TerritoryAttachment rVal = (TerritoryAttachment) t.getAttachment(Constants.TERRITORY_ATTACHMENT_NAME);
+		final TerritoryAttachment rVal = (TerritoryAttachment) t.getAttachment(ATTACHMENT_SLOT);
 		if (!allowNull && rVal == null && !t.isWater())
 			throw new IllegalStateException("No territory attachment for:" + t.getName());
 		return rVal;
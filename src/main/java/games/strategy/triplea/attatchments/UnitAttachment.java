@@ -19,6 +19,7 @@
 package games.strategy.triplea.attatchments;
 
 import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.AttachmentSlot;
 import games.strategy.engine.data.DefaultAttachment;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
@@ -65,13 +66,14 @@ import java.util.Set;
 public class UnitAttachment extends DefaultAttachment
 {
 	private static final long serialVersionUID = -2946748686268541820L;
+	private static final AttachmentSlot ATTACHMENT_SLOT = AttachmentSlot.get(Constants.UNIT_ATTACHMENT_NAME);
 	
 	/**
 	 * Convenience method.
 	 */
 	public static UnitAttachment get(final UnitType type)
 	{
-		final UnitAttachment rVal = (UnitAttachment) type.getAttachment(Constants.UNIT_ATTACHMENT_NAME);
+		final UnitAttachment rVal = (UnitAttachment) type.getAttachment(ATTACHMENT_SLOT);
 		if (rVal == null)
 			throw new IllegalStateException("No unit type attachment for:" + type.getName());
 		return rVal;
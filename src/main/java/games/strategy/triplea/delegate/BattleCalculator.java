@@ -48,6 +48,7 @@ import games.strategy.triplea.player.ITripleaPlayer;
 import games.strategy.triplea.util.UnitCategory;
 import games.strategy.triplea.util.UnitSeperator;
 import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.DenseIntegerMap;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.LinkedIntegerMap;
 import games.strategy.util.Match;
@@ -1519,7 +1520,7 @@ public class BattleCalculator
 		{
 			data.releaseReadLock();
 		}
-		final IntegerMap<UnitType> costs = new IntegerMap<UnitType>();
+		final IntegerMap<UnitType> costs = new DenseIntegerMap<UnitType>(data.getUnitTypeList().size());
 		final ProductionFrontier frontier = player.getProductionFrontier();
 		// any one will do then
 		if (frontier == null)
@@ -1577,7 +1578,7 @@ public class BattleCalculator
 		{
 			data.releaseReadLock();
 		}
-		final IntegerMap<UnitType> costs = new IntegerMap<UnitType>();
+		final IntegerMap<UnitType> costs = new DenseIntegerMap<UnitType>(data.getUnitTypeList().size());
 		final HashMap<UnitType, List<Integer>> differentCosts = new HashMap<UnitType, List<Integer>>();
 		for (final ProductionRule rule : data.getProductionRuleList().getProductionRules())
 		{
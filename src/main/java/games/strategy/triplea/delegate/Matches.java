@@ -31,6 +31,7 @@ import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.UnitTypeMatch;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.TripleAUnit;
@@ -113,10 +114,10 @@ public class Matches
 			return UnitTypeHasMoreThanOneHitPointTotal.match(unit.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeHasMoreThanOneHitPointTotal = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeHasMoreThanOneHitPointTotal = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType ut)
+		protected boolean compute(final UnitType ut)
 		{
 			final UnitAttachment ua = UnitAttachment.get(ut);
 			return ua.getHitPoints() > 1;
@@ -149,50 +150,50 @@ public class Matches
 			return ua.getHitPoints() - unit.getHits() > 1;
 		}
 	};*/
-	public static final Match<Unit> UnitIsSea = new Match<Unit>()
+	public static final Match<Unit> UnitIsSea = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsSea();
 		}
-	};
-	public static final Match<Unit> UnitIsSub = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsSub = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsSub();
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsNotSub = new InverseMatch<Unit>(UnitIsSub);
-	public static final Match<Unit> UnitIsCombatTransport = new Match<Unit>()
+	public static final Match<Unit> UnitIsCombatTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return (ua.getIsCombatTransport() && ua.getIsSea());
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsNotCombatTransport = new InverseMatch<Unit>(UnitIsCombatTransport);
-	public static final Match<Unit> UnitIsTransportButNotCombatTransport = new Match<Unit>()
+	public static final Match<Unit> UnitIsTransportButNotCombatTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return (ua.getTransportCapacity() != -1 && ua.getIsSea() && !ua.getIsCombatTransport());
 		}
-	};
-	public static final Match<Unit> UnitIsNotTransportButCouldBeCombatTransport = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsNotTransportButCouldBeCombatTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua.getTransportCapacity() == -1)
 				return true;
 			else if (ua.getIsCombatTransport() && ua.getIsSea())
@@ -200,34 +201,34 @@ public class Matches
 			else
 				return false;
 		}
-	};
-	public static final Match<Unit> UnitIsDestroyer = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsDestroyer = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsDestroyer();
 		}
-	};
-	public static final Match<UnitType> UnitTypeIsDestroyer = new Match<UnitType>()
+	}.forUnits();
+	public static final Match<UnitType> UnitTypeIsDestroyer = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsDestroyer();
 		}
 	};
-	public static final Match<Unit> UnitIsTransport = new Match<Unit>()
+	public static final Match<Unit> UnitIsTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return (ua.getTransportCapacity() != -1 && ua.getIsSea());
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsNotTransport = UnitIsTransport.invert();
 	public static final Match<Unit> UnitIsTransportAndNotDestroyer = new Match<Unit>()
 	{
@@ -238,10 +239,10 @@ public class Matches
 			return (!Matches.UnitIsDestroyer.match(unit) && ua.getTransportCapacity() != -1 && ua.getIsSea());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsStrategicBomber = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsStrategicBomber = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			if (ua == null)
@@ -258,10 +259,10 @@ public class Matches
 		}
 	};
 	public static final Match<Unit> UnitIsNotStrategicBomber = new InverseMatch<Unit>(UnitIsStrategicBomber);
-	public static final Match<UnitType> UnitTypeCanLandOnCarrier = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeCanLandOnCarrier = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			if (ua == null)
@@ -349,70 +350,69 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitIsNotSea = new Match<Unit>()
+	public static final Match<Unit> UnitIsNotSea = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return !ua.getIsSea();
 		}
-	};
-	public static final Match<UnitType> UnitTypeIsSea = new Match<UnitType>()
+	}.forUnits();
+	public static final Match<UnitType> UnitTypeIsSea = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsSea();
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsNotSea = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsNotSea = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return !ua.getIsSea();
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsSeaOrAir = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsSeaOrAir = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsSea() || ua.getIsAir();
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsCarrier = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsCarrier = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return (ua.getCarrierCapacity() != -1);
 		}
 	};
-	public static final Match<Unit> UnitIsAir = new Match<Unit>()
+	public static final Match<Unit> UnitIsAir = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsAir();
 		}
-	};
-	public static final Match<Unit> UnitIsNotAir = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsNotAir = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return !ua.getIsAir();
 		}
-	};
+	}.forUnits();
 	
 	public static Match<UnitType> unitTypeCanBombard(final PlayerID id)
 	{
@@ -524,15 +524,15 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitIsAirBase = new Match<Unit>()
+	public static final Match<Unit> UnitIsAirBase = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsAirBase();
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitCanBeDamaged = new Match<Unit>()
 	{
 		@Override
@@ -541,10 +541,10 @@ public class Matches
 			return UnitTypeCanBeDamaged.match(unit.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeCanBeDamaged = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeCanBeDamaged = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType ut)
+		protected boolean compute(final UnitType ut)
 		{
 			final UnitAttachment ua = UnitAttachment.get(ut);
 			return ua.getCanBeDamaged();
@@ -623,17 +623,17 @@ public class Matches
 	};
 	public static Match<Unit> UnitIsNotDisabled = new InverseMatch<Unit>(UnitIsDisabled);
 	
-	public static final Match<Unit> UnitCanDieFromReachingMaxDamage = new Match<Unit>()
+	public static final Match<Unit> UnitCanDieFromReachingMaxDamage = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (!ua.getCanBeDamaged())
 				return false;
 			return ua.getCanDieFromReachingMaxDamage();
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsInfrastructure = new Match<Unit>()
 	{
 		@Override
@@ -643,10 +643,10 @@ public class Matches
 		}
 	};
 	public static final Match<Unit> UnitIsNotInfrastructure = new InverseMatch<Unit>(UnitIsInfrastructure);
-	public static final Match<UnitType> UnitTypeIsInfrastructure = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsInfrastructure = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType ut)
+		protected boolean compute(final UnitType ut)
 		{
 			final UnitAttachment ua = UnitAttachment.get(ut);
 			return ua.getIsInfrastructure();
@@ -716,15 +716,15 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitCanScramble = new Match<Unit>()
+	public static final Match<Unit> UnitCanScramble = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getCanScramble();
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitWasScrambled = new Match<Unit>()
 	{
 		@Override
@@ -779,16 +779,15 @@ public class Matches
 			return ua.getCanBlitz(obj.getOwner());
 		}
 	};
-	public static final Match<Unit> UnitIsLandTransport = new Match<Unit>()
+	public static final Match<Unit> UnitIsLandTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsLandTransport();
 		}
-	};
+	}.forUnits();
 	
 	public static final Match<Unit> UnitIsNotInfrastructureAndNotCapturedOnEntering(final PlayerID player, final Territory terr, final GameData data)
 	{
@@ -804,66 +803,62 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitIsSuicide = new Match<Unit>()
+	public static final Match<Unit> UnitIsSuicide = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsSuicide();
 		}
-	};
-	public static final Match<Unit> UnitIsKamikaze = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsKamikaze = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsKamikaze();
 		}
-	};
-	public static final Match<UnitType> UnitTypeIsAir = new Match<UnitType>()
+	}.forUnits();
+	public static final Match<UnitType> UnitTypeIsAir = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsAir();
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsNotAir = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsNotAir = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return !ua.getIsAir();
 		}
 	};
-	public static final Match<Unit> UnitCanLandOnCarrier = new Match<Unit>()
+	public static final Match<Unit> UnitCanLandOnCarrier = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getCarrierCost() != -1;
 		}
-	};
-	public static final Match<Unit> UnitIsCarrier = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsCarrier = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getCarrierCapacity() != -1;
 		}
-	};
+	}.forUnits();
 	
 	public static final Match<Territory> TerritoryHasOwnedCarrier(final PlayerID player)
 	{
@@ -891,16 +886,15 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitCanBeTransported = new Match<Unit>()
+	public static final Match<Unit> UnitCanBeTransported = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getTransportCost() != -1;
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitCanNotBeTransported = new InverseMatch<Unit>(UnitCanBeTransported);
 	public static final Match<Unit> UnitWasAmphibious = new Match<Unit>()
 	{
@@ -940,30 +934,29 @@ public class Matches
 		}
 	};
 	public static final Match<Unit> UnitWasNotLoadedThisTurn = new InverseMatch<Unit>(UnitWasLoadedThisTurn);
-	public static final Match<Unit> UnitCanTransport = new Match<Unit>()
+	public static final Match<Unit> UnitCanTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getTransportCapacity() != -1;
 		}
-	};
-	public static final Match<UnitType> UnitTypeCanTransport = new Match<UnitType>()
+	}.forUnits();
+	public static final Match<UnitType> UnitTypeCanTransport = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getTransportCapacity() != -1;
 		}
 	};
-	public static final Match<UnitType> UnitTypeCanBeTransported = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeCanBeTransported = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
@@ -978,10 +971,10 @@ public class Matches
 			return UnitTypeCanProduceUnits.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeCanProduceUnits = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeCanProduceUnits = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getCanProduceUnits();
@@ -996,20 +989,20 @@ public class Matches
 			return UnitTypeIsInfrastructure.match(type) && !UnitTypeIsAAforAnything.match(type);
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsInfantry = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsInfantry = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsInfantry();
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsArtillery = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsArtillery = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
@@ -1025,10 +1018,10 @@ public class Matches
 			return UnitTypeHasMaxBuildRestrictions.match(type);
 		}
 	};
-	public static final Match<UnitType> UnitTypeHasMaxBuildRestrictions = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeHasMaxBuildRestrictions = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
@@ -1043,45 +1036,42 @@ public class Matches
 			return UnitTypeIsRocket.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsRocket = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsRocket = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsRocket();
 		}
 	};
-	public static final Match<Unit> UnitHasPlacementLimit = new Match<Unit>()
+	public static final Match<Unit> UnitHasPlacementLimit = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getPlacementLimit() != null;
 		}
-	};
-	public static final Match<Unit> UnitHasMovementLimit = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitHasMovementLimit = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getMovementLimit() != null;
 		}
-	};
-	public static final Match<Unit> UnitHasAttackingLimit = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitHasAttackingLimit = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getAttackingLimit() != null;
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitCanNotMoveDuringCombatMove = new Match<Unit>()
 	{
 		@Override
@@ -1090,10 +1080,10 @@ public class Matches
 			return UnitTypeCanNotMoveDuringCombatMove.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeCanNotMoveDuringCombatMove = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeCanNotMoveDuringCombatMove = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getCanNotMoveDuringCombatMove();
@@ -1135,14 +1125,14 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitAAShotDamageableInsteadOfKillingInstantly = new Match<Unit>()
+	public static final Match<Unit> UnitAAShotDamageableInsteadOfKillingInstantly = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			return UnitAttachment.get(obj.getType()).getDamageableAA();
+			return UnitAttachment.get(type).getDamageableAA();
 		}
-	};
+	}.forUnits();
 	
 	public static final Match<Unit> UnitIsAAthatWillNotFireIfPresentEnemyUnits(final Collection<Unit> enemyUnitsPresent)
 	{
@@ -1207,10 +1197,10 @@ public class Matches
 			return UnitTypeIsAAforCombatOnly.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsAAforCombatOnly = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsAAforCombatOnly = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsAAforCombatOnly();
@@ -1224,10 +1214,10 @@ public class Matches
 			return UnitTypeIsAAforBombingThisUnitOnly.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsAAforBombingThisUnitOnly = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsAAforBombingThisUnitOnly = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsAAforBombingThisUnitOnly();
@@ -1241,10 +1231,10 @@ public class Matches
 			return UnitTypeIsAAforFlyOverOnly.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsAAforFlyOverOnly = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsAAforFlyOverOnly = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsAAforFlyOverOnly();
@@ -1258,10 +1248,10 @@ public class Matches
 			return UnitTypeIsAAforAnything.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsAAforAnything = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsAAforAnything = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getIsAAforBombingThisUnitOnly() || ua.getIsAAforCombatOnly() || ua.getIsAAforFlyOverOnly();
@@ -1276,10 +1266,10 @@ public class Matches
 			return UnitTypeMaxAAattacksIsInfinite.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeMaxAAattacksIsInfinite = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeMaxAAattacksIsInfinite = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getMaxAAattacks() == -1;
@@ -1293,10 +1283,10 @@ public class Matches
 			return UnitTypeMayOverStackAA.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeMayOverStackAA = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeMayOverStackAA = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitAttachment ua = UnitAttachment.get(obj);
 			return ua.getMayOverStackAA();
@@ -1321,47 +1311,43 @@ public class Matches
 		}
 	};
 	
-	public static final Match<Unit> UnitIsInfantry = new Match<Unit>()
+	public static final Match<Unit> UnitIsInfantry = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsInfantry();
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsNotInfantry = new InverseMatch<Unit>(UnitIsInfantry);
-	public static final Match<Unit> UnitHasMarinePositiveBonus = new Match<Unit>()
+	public static final Match<Unit> UnitHasMarinePositiveBonus = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsMarine() > 0;
 		}
-	};
-	public static final Match<Unit> UnitHasMarineNegativeBonus = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitHasMarineNegativeBonus = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsMarine() < 0;
 		}
-	};
-	public static final Match<Unit> UnitIsNotMarine = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsNotMarine = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getIsMarine() == 0;
 		}
-	};
+	}.forUnits();
 	public static final Match<Unit> UnitIsAirTransportable = new Match<Unit>()
 	{
 		@Override
@@ -1394,26 +1380,24 @@ public class Matches
 		}
 	};
 	public static final Match<Unit> UnitIsNotAirTransport = new InverseMatch<Unit>(UnitIsAirTransport);
-	public static final Match<Unit> UnitIsArtillery = new Match<Unit>()
+	public static final Match<Unit> UnitIsArtillery = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getArtillery();
 		}
-	};
-	public static final Match<Unit> UnitIsArtillerySupportable = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitIsArtillerySupportable = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitType type = obj.getUnitType();
 			final UnitAttachment ua = UnitAttachment.get(type);
 			return ua.getArtillerySupportable();
 		}
-	};
+	}.forUnits();
 	// TODO: CHECK whether this makes any sense
 	public static final Match<Territory> TerritoryIsLandOrWater = new Match<Territory>()
 	{
@@ -3018,10 +3002,10 @@ public class Matches
 		};
 	}
 	
-	public static final Match<UnitType> UnitTypeIsSub = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsSub = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType type = obj;
 			final UnitAttachment ua = UnitAttachment.get(type);
@@ -3235,29 +3219,28 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitCreatesUnits = new Match<Unit>()
+	public static final Match<Unit> UnitCreatesUnits = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua == null)
 				return false;
 			return (ua.getCreatesUnitsList() != null && ua.getCreatesUnitsList().size() > 0);
 		}
-	};
-	public static final Match<Unit> UnitCreatesResources = new Match<Unit>()
+	}.forUnits();
+	public static final Match<Unit> UnitCreatesResources = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit unit)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua == null)
 				return false;
 			return (ua.getCreatesResourcesList() != null && ua.getCreatesResourcesList().size() > 0);
 		}
-	};
+	}.forUnits();
 	/** Any unit that creates at least a single positive resource. */
 	public static final Match<Unit> UnitCreatesResourcesPositive = new Match<Unit>()
 	{
@@ -3298,10 +3281,10 @@ public class Matches
 			return false;
 		}
 	};
-	public static final Match<UnitType> UnitTypeConsumesUnitsOnCreation = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeConsumesUnitsOnCreation = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType obj)
+		protected boolean compute(final UnitType obj)
 		{
 			final UnitType unit = obj;
 			final UnitAttachment ua = UnitAttachment.get(unit);
@@ -3310,18 +3293,17 @@ public class Matches
 			return (ua.getConsumesUnits() != null && ua.getConsumesUnits().size() > 0);
 		}
 	};
-	public static final Match<Unit> UnitConsumesUnitsOnCreation = new Match<Unit>()
+	public static final Match<Unit> UnitConsumesUnitsOnCreation = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua == null)
 				return false;
 			return (ua.getConsumesUnits() != null && ua.getConsumesUnits().size() > 0);
 		}
-	};
+	}.forUnits();
 	
 	public static Match<Unit> UnitWhichConsumesUnitsHasRequiredUnits(final Collection<Unit> unitsInTerritoryAtStartOfTurn, final Territory territory)
 	{
@@ -3352,18 +3334,17 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitRequiresUnitsOnCreation = new Match<Unit>()
+	public static final Match<Unit> UnitRequiresUnitsOnCreation = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit obj)
+		protected boolean compute(final UnitType type)
 		{
-			final Unit unit = obj;
-			final UnitAttachment ua = UnitAttachment.get(unit.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua == null)
 				return false;
 			return (ua.getRequiresUnits() != null && ua.getRequiresUnits().size() > 0);
 		}
-	};
+	}.forUnits();
 	
 	public static Match<Unit> UnitWhichRequiresUnitsHasRequiredUnitsInList(final Collection<Unit> unitsInTerritoryAtStartOfTurn)
 	{
@@ -3424,10 +3405,10 @@ public class Matches
 			return UnitTypeIsConstruction.match(obj.getType());
 		}
 	};
-	public static final Match<UnitType> UnitTypeIsConstruction = new Match<UnitType>()
+	public static final Match<UnitType> UnitTypeIsConstruction = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final UnitType type)
+		protected boolean compute(final UnitType type)
 		{
 			final UnitAttachment ua = UnitAttachment.get(type);
 			if (ua == null)
@@ -3842,12 +3823,12 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> UnitCanOnlyPlaceInOriginalTerritories = new Match<Unit>()
+	public static final Match<Unit> UnitCanOnlyPlaceInOriginalTerritories = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit u)
+		protected boolean compute(final UnitType type)
 		{
-			final UnitAttachment ua = UnitAttachment.get(u.getType());
+			final UnitAttachment ua = UnitAttachment.get(type);
 			final Set<String> specialOptions = ua.getSpecial();
 			for (final String option : specialOptions)
 			{
@@ -3856,7 +3837,7 @@ public class Matches
 			}
 			return false;
 		}
-	};
+	}.forUnits();
 	
 	/**
 	 * Accounts for OccupiedTerrOf. Returns false if there is no territory attachment (like if it is water).
@@ -4065,32 +4046,32 @@ public class Matches
 		};
 	}
 	
-	public static final Match<Unit> unitCanIntercept = new Match<Unit>()
+	public static final Match<Unit> unitCanIntercept = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit u)
+		protected boolean compute(final UnitType type)
 		{
-			return UnitAttachment.get(u.getType()).getCanIntercept();
+			return UnitAttachment.get(type).getCanIntercept();
 		}
-	};
+	}.forUnits();
 	
-	public static final Match<Unit> unitCanEscort = new Match<Unit>()
+	public static final Match<Unit> unitCanEscort = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit u)
+		protected boolean compute(final UnitType type)
 		{
-			return UnitAttachment.get(u.getType()).getCanEscort();
+			return UnitAttachment.get(type).getCanEscort();
 		}
-	};
+	}.forUnits();
 	
-	public static final Match<Unit> unitCanAirBattle = new Match<Unit>()
+	public static final Match<Unit> unitCanAirBattle = new UnitTypeMatch()
 	{
 		@Override
-		public boolean match(final Unit u)
+		protected boolean compute(final UnitType type)
 		{
-			return UnitAttachment.get(u.getType()).getCanAirBattle();
+			return UnitAttachment.get(type).getCanAirBattle();
 		}
-	};
+	}.forUnits();
 	
 	public static final Match<Territory> territoryIsOwnedByPlayerWhosRelationshipTypeCanTakeOverOwnedTerritoryAndPassableAndNotWater(final PlayerID attacker)
 	{
@@ -0,0 +1,164 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.image;
+
+import java.awt.Image;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Images kept in memory up to a number of bytes, dropping the least recently used image to make room for new ones. <br>
+ * An image is counted as 4 bytes a pixel, which is what an ARGB image takes once loaded.
+ * An image larger than the whole cache is not kept.
+ * <p>
+ * 
+ * This class is thread safe.
+ */
+final class ImageCache<K>
+{
+	private final long m_maxBytes;
+	// in access order, so the first entry is the least recently used
+	private final Map<K, Entry> m_images = new LinkedHashMap<K, Entry>(16, 0.75f, true);
+	private long m_bytes;
+	private long m_hits;
+	private long m_misses;
+	private long m_evictions;
+	
+	ImageCache(final long maxBytes)
+	{
+		if (maxBytes < 0)
+			throw new IllegalArgumentException("Invalid size:" + maxBytes);
+		m_maxBytes = maxBytes;
+	}
+	
+	/**
+	 * @return the image, or null if it is not in the cache
+	 */
+	synchronized Image get(final K key)
+	{
+		final Entry entry = m_images.get(key);
+		if (entry == null)
+		{
+			m_misses++;
+			return null;
+		}
+		m_hits++;
+		return entry.m_image;
+	}
+	
+	/**
+	 * Unlike get(K), this does not count as a use of the image, or as a hit or miss.
+	 */
+	synchronized boolean contains(final K key)
+	{
+		return m_images.containsKey(key);
+	}
+	
+	synchronized void put(final K key, final Image image)
+	{
+		final long bytes = getSizeInBytes(image);
+		remove(key);
+		if (bytes > m_maxBytes)
+			return;
+		final Iterator<Entry> iter = m_images.values().iterator();
+		while (m_bytes + bytes > m_maxBytes && iter.hasNext())
+		{
+			m_bytes -= iter.next().m_bytes;
+			iter.remove();
+			m_evictions++;
+		}
+		m_images.put(key, new Entry(image, bytes));
+		m_bytes += bytes;
+	}
+	
+	/**
+	 * @return whether bytes more can be cached without dropping an image
+	 */
+	synchronized boolean hasRoomFor(final long bytes)
+	{
+		return m_bytes + bytes <= m_maxBytes;
+	}
+	
+	synchronized void remove(final K key)
+	{
+		final Entry entry = m_images.remove(key);
+		if (entry != null)
+			m_bytes -= entry.m_bytes;
+	}
+	
+	synchronized void clear()
+	{
+		m_images.clear();
+		m_bytes = 0;
+	}
+	
+	synchronized int size()
+	{
+		return m_images.size();
+	}
+	
+	synchronized long getBytes()
+	{
+		return m_bytes;
+	}
+	
+	long getMaxBytes()
+	{
+		return m_maxBytes;
+	}
+	
+	synchronized long getHits()
+	{
+		return m_hits;
+	}
+	
+	synchronized long getMisses()
+	{
+		return m_misses;
+	}
+	
+	synchronized long getEvictions()
+	{
+		return m_evictions;
+	}
+	
+	static long getSizeInBytes(final Image image)
+	{
+		final int width = image.getWidth(null);
+		final int height = image.getHeight(null);
+		if (width < 0 || height < 0)
+			return 0;
+		return 4L * width * height;
+	}
+	
+	@Override
+	public synchronized String toString()
+	{
+		return "ImageCache images:" + m_images.size() + " bytes:" + m_bytes + " max bytes:" + m_maxBytes + " hits:" + m_hits + " misses:" + m_misses + " evictions:" + m_evictions;
+	}
+	
+	private static class Entry
+	{
+		private final Image m_image;
+		// what the image counted for when added
+		private final long m_bytes;
+		
+		private Entry(final Image image, final long bytes)
+		{
+			m_image = image;
+			m_bytes = bytes;
+		}
+	}
+}
@@ -34,13 +34,14 @@ import java.awt.image.DataBuffer;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.BackingStoreException;
@@ -63,9 +64,19 @@ public final class TileImageFactory
 	private final Composite composite = AlphaComposite.Src;
 	private static GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
 	private static final Logger s_logger = Logger.getLogger(TileImageFactory.class.getName());
+	// how many bytes of tiles we keep, a quarter of the heap unless set
+	private static final long MAX_CACHE_BYTES = Long.getLong("triplea.tile.cache.bytes", Runtime.getRuntime().maxMemory() / 4);
+	// loads tiles next to the ones drawn, so they are ready when the map is scrolled
+	private static final ExecutorService s_prefetcher = createPrefetcher();
 	private double m_scale = 1;
-	// maps image name to ImageRef
-	private HashMap<String, ImageRef> m_imageCache = new HashMap<String, ImageRef>();
+	// maps image name to image
+	private final ImageCache<String> m_imageCache = new ImageCache<String>(MAX_CACHE_BYTES);
+	// changes whenever the cache is cleared, so images loaded before then are not cached
+	private int m_cacheGeneration = 0;
+	// names of the tiles waiting to be prefetched, guarded by m_mutex
+	private final Set<String> m_prefetching = new HashSet<String>();
+	// what the last tile loaded takes in memory, for deciding whether there is room to prefetch one
+	private long m_tileBytes = 0;
 	static
 	{
 		final Preferences prefs = Preferences.userNodeForPackage(TileImageFactory.class);
@@ -75,6 +86,22 @@ public final class TileImageFactory
 		s_showMapBlendAlpha = prefs.getFloat(SHOW_MAP_BLEND_ALPHA, 1.0f);
 	}
 	
+	private static ExecutorService createPrefetcher()
+	{
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+		{
+			public Thread newThread(final Runnable r)
+			{
+				final Thread t = new Thread(r, "Tile Image Prefetcher");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
 	public static boolean getShowReliefImages()
 	{
 		return s_showReliefImages;
@@ -102,7 +129,7 @@ public final class TileImageFactory
 		synchronized (m_mutex)
 		{
 			m_scale = newScale;
-			getM_imageCache().clear();
+			clearCache();
 		}
 	}
 	
@@ -169,15 +196,8 @@ public final class TileImageFactory
 		m_resourceLoader = loader;
 		synchronized (m_mutex)
 		{
-			// we manually want to clear each ref to allow the soft reference to
-			// be removed
-			final Iterator<ImageRef> values = getM_imageCache().values().iterator();
-			while (values.hasNext())
-			{
-				final ImageRef imageRef = values.next();
-				imageRef.clear();
-			}
-			getM_imageCache().clear();
+			s_logger.fine("Tile images:" + m_imageCache);
+			clearCache();
 		}
 	}
 	
@@ -186,15 +206,11 @@ public final class TileImageFactory
 	{
 	}
 	
-	/**
-	 * @param fileName
-	 * @return
-	 */
-	private Image isImageLoaded(final String fileName)
+	private void clearCache()
 	{
-		if (getM_imageCache().get(fileName) == null)
-			return null;
-		return getM_imageCache().get(fileName).getImage();
+		m_imageCache.clear();
+		m_prefetching.clear();
+		m_cacheGeneration++;
 	}
 	
 	public Image getBaseTile(final int x, final int y)
@@ -202,7 +218,11 @@ public final class TileImageFactory
 		final String fileName = getBaseTileImageName(x, y);
 		if (m_resourceLoader.getResource(fileName) == null)
 			return null;
-		return getImage(fileName, false);
+		final boolean loaded = isLoaded(fileName);
+		final Image rVal = getImage(fileName, false);
+		if (!loaded)
+			prefetchAround(x, y);
+		return rVal;
 	}
 	
 	public Image getUnscaledUncachedBaseTile(final int x, final int y)
@@ -211,7 +231,7 @@ public final class TileImageFactory
 		final URL url = m_resourceLoader.getResource(fileName);
 		if (url == null)
 			return null;
-		return loadImage(url, fileName, false, false, false);
+		return loadImage(url, fileName, false, false);
 	}
 	
 	/**
@@ -232,27 +252,105 @@ public final class TileImageFactory
 	 */
 	private Image getImage(final String fileName, final boolean transparent)
 	{
+		final int generation;
 		synchronized (m_mutex)
 		{
-			final Image rVal = isImageLoaded(fileName);
+			final Image rVal = m_imageCache.get(fileName);
 			if (rVal != null)
 				return rVal;
-			// This is null if there is no image
-			final URL url = m_resourceLoader.getResource(fileName);
-			/*if (url == null)
-				return null;*/
-			// return null if url is null and (not blending or relief or transparent)
-			if ((!s_showMapBlends || !s_showReliefImages || !transparent) && url == null)
-				return null;
-			loadImage(url, fileName, transparent, true, true);
+			generation = m_cacheGeneration;
+		}
+		// This is null if there is no image
+		final URL url = m_resourceLoader.getResource(fileName);
+		/*if (url == null)
+			return null;*/
+		// return null if url is null and (not blending or relief or transparent)
+		if ((!s_showMapBlends || !s_showReliefImages || !transparent) && url == null)
+			return null;
+		// loaded without holding the lock, so tiles can be loaded at the same time
+		final Image rVal = loadImage(url, fileName, transparent, true);
+		synchronized (m_mutex)
+		{
+			if (generation == m_cacheGeneration)
+				m_imageCache.put(fileName, rVal);
+			m_tileBytes = ImageCache.getSizeInBytes(rVal);
+		}
+		return rVal;
+	}
+	
+	private boolean isLoaded(final String fileName)
+	{
+		synchronized (m_mutex)
+		{
+			return m_imageCache.contains(fileName);
 		}
-		return getImage(fileName, transparent);
+	}
+	
+	/**
+	 * Load the base and relief tiles around x, y in the background, if they are not loaded
+	 * and there is room for them without dropping tiles we have.
+	 * Called when the tile at x, y was not loaded, which is when the map has been scrolled to somewhere new.
+	 */
+	private void prefetchAround(final int x, final int y)
+	{
+		for (int i = x - 1; i <= x + 1; i++)
+		{
+			for (int j = y - 1; j <= y + 1; j++)
+			{
+				if (i < 0 || j < 0 || (i == x && j == y))
+					continue;
+				prefetch(getBaseTileImageName(i, j), false);
+				if (s_showReliefImages)
+					prefetch(getReliefTileImageName(i, j), true);
+			}
+		}
+	}
+	
+	private void prefetch(final String fileName, final boolean transparent)
+	{
+		synchronized (m_mutex)
+		{
+			if (m_imageCache.contains(fileName) || !m_imageCache.hasRoomFor(m_tileBytes) || !m_prefetching.add(fileName))
+				return;
+		}
+		s_prefetcher.execute(new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					synchronized (m_mutex)
+					{
+						// cleared since we were queued
+						if (!m_prefetching.contains(fileName) || m_imageCache.contains(fileName))
+							return;
+					}
+					// only tiles that exist, rather than blending blank tiles off the edge of the map
+					if (m_resourceLoader.getResource(fileName) != null)
+						getImage(fileName, transparent);
+				} catch (final RuntimeException e)
+				{
+					// we will try again when the tile is drawn
+					s_logger.log(Level.FINE, "Could not prefetch:" + fileName, e);
+				} finally
+				{
+					synchronized (m_mutex)
+					{
+						m_prefetching.remove(fileName);
+					}
+				}
+			}
+		});
 	}
 	
 	public Image getReliefTile(final int a, final int b)
 	{
 		final String fileName = getReliefTileImageName(a, b);
-		return getImage(fileName, true);
+		final boolean loaded = isLoaded(fileName);
+		final Image rVal = getImage(fileName, true);
+		if (!loaded)
+			prefetchAround(a, b);
+		return rVal;
 	}
 	
 	public Image getUnscaledUncachedReliefTile(final int x, final int y)
@@ -261,7 +359,7 @@ public final class TileImageFactory
 		final URL url = m_resourceLoader.getResource(fileName);
 		if (url == null)
 			return null;
-		return loadImage(url, fileName, true, false, false);
+		return loadImage(url, fileName, true, false);
 	}
 	
 	/**
@@ -295,19 +393,19 @@ public final class TileImageFactory
 	 * @param imageLocation
 	 * @return
 	 */
-	private Image loadImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean cache, final boolean scale)
+	private Image loadImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean scale)
 	{
 		if (s_showMapBlends && s_showReliefImages && transparent)
 		{
-			return loadBlendedImage(imageLocation, fileName, transparent, cache, scale);
+			return loadBlendedImage(imageLocation, fileName, transparent, scale);
 		}
 		else
 		{
-			return loadUnblendedImage(imageLocation, fileName, transparent, cache, scale);
+			return loadUnblendedImage(imageLocation, fileName, transparent, scale);
 		}
 	}
 	
-	private Image loadBlendedImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean cache, final boolean scale)
+	private Image loadBlendedImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean scale)
 	{
 		BufferedImage reliefFile = null;
 		BufferedImage baseFile = null;
@@ -376,21 +474,15 @@ public final class TileImageFactory
 			// g2.setComposite(BlendComposite.Overlay.derive(alpha));
 			g2.setComposite(blendComposite);
 			g2.drawImage(baseFile, overX, overY, null);
-			final ImageRef ref = new ImageRef(reliefFile);
-			if (cache)
-				getM_imageCache().put(fileName, ref);
 			return reliefFile;
 		}
 		else
 		{
-			final ImageRef ref = new ImageRef(baseFile);
-			if (cache)
-				getM_imageCache().put(fileName, ref);
 			return baseFile;
 		}
 	}
 	
-	private Image loadUnblendedImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean cache, final boolean scale)
+	private Image loadUnblendedImage(final URL imageLocation, final String fileName, final boolean transparent, final boolean scale)
 	{
 		Image image;
 		try
@@ -421,9 +513,6 @@ public final class TileImageFactory
 		{
 			throw new IllegalStateException(e.getMessage());
 		}
-		final ImageRef ref = new ImageRef(image);
-		if (cache)
-			getM_imageCache().put(fileName, ref);
 		return image;
 	}
 	
@@ -452,15 +541,6 @@ public final class TileImageFactory
 		return configuration.createCompatibleImage(width, height);
 	}
 	
-	public void setM_imageCache(final HashMap<String, ImageRef> m_imageCache)
-	{
-		this.m_imageCache = m_imageCache;
-	}
-	
-	public HashMap<String, ImageRef> getM_imageCache()
-	{
-		return m_imageCache;
-	}
 	// a failed experiment
 	// to load a png directly as an argb image
 	// throws an exception on both linux and mac
@@ -501,63 +581,6 @@ public final class TileImageFactory
 
 
 // end class TerritoryImageFactory
-/**
- * We keep a soft reference to the image to allow it to be garbage collected.
- * 
- * Also, the image may not have finished watching when we are created, but the
- * getImage method ensures that the image will be loaded before returning.
- * 
- * @author Sean Bridges
- */
-class ImageRef
-{
-	public static final ReferenceQueue<Image> s_referenceQueue = new ReferenceQueue<Image>();
-	public static final Logger s_logger = Logger.getLogger(ImageRef.class.getName());
-	private static final AtomicInteger s_imageCount = new AtomicInteger();
-	static
-	{
-		final Runnable r = new Runnable()
-		{
-			public void run()
-			{
-				while (true)
-				{
-					try
-					{
-						s_referenceQueue.remove();
-						s_logger.finer("Removed soft reference image. Image count:" + s_imageCount.decrementAndGet());
-					} catch (final InterruptedException e)
-					{
-						e.printStackTrace();
-					}
-				}
-			}
-		};
-		final Thread t = new Thread(r, "Tile Image Factory Soft Reference Reclaimer");
-		t.setDaemon(true);
-		t.start();
-	}
-	private final Reference<Image> m_image;
-	
-	// private final Object m_hardRef;
-	public ImageRef(final Image image)
-	{
-		m_image = new SoftReference<Image>(image, s_referenceQueue);
-		// m_hardRef = image;
-		s_logger.finer("Added soft reference image. Image count:" + s_imageCount.incrementAndGet());
-	}
-	
-	public Image getImage()
-	{
-		return m_image.get();
-	}
-	
-	public void clear()
-	{
-		m_image.enqueue();
-		m_image.clear();
-	}
-}
 
 
 /**
@@ -35,8 +35,6 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.swing.ImageIcon;
 
@@ -63,10 +61,12 @@ public class UnitImageFactory
 	private static int UNIT_COUNTER_OFFSET_HEIGHT = UNIT_ICON_HEIGHT;
 	
 	private static final String FILE_NAME_BASE = "units/";
-	// maps Point -> image
-	private final Map<String, Image> m_images = new HashMap<String, Image>();
-	// maps Point -> Icon
-	private final Map<String, ImageIcon> m_icons = new HashMap<String, ImageIcon>();
+	// how many bytes of unit images we keep, in each of the caches
+	private static final long MAX_CACHE_BYTES = Long.getLong("triplea.unit.cache.bytes", 32 * 1024 * 1024);
+	// maps image name -> scaled image
+	private final ImageCache<String> m_images = new ImageCache<String>(MAX_CACHE_BYTES);
+	// maps image name -> unscaled image, for icons
+	private final ImageCache<String> m_icons = new ImageCache<String>(MAX_CACHE_BYTES);
 	// Scaling factor for unit images
 	private double m_scaleFactor;
 	private ResourceLoader m_resourceLoader;
@@ -161,7 +161,7 @@ public class UnitImageFactory
 	}
 	
 	// Clear the image and icon cache
-	private void clearImageCache()
+	private synchronized void clearImageCache()
 	{
 		m_images.clear();
 		m_icons.clear();
@@ -170,13 +170,14 @@ public class UnitImageFactory
 	/**
 	 * Return the appropriate unit image.
 	 */
-	public Image getImage(final UnitType type, final PlayerID player, final GameData data, final boolean damaged, final boolean disabled)
+	public synchronized Image getImage(final UnitType type, final PlayerID player, final GameData data, final boolean damaged, final boolean disabled)
 	{
 		final String baseName = getBaseImageName(type, player, data, damaged, disabled);
 		final String fullName = baseName + player.getName();
-		if (m_images.containsKey(fullName))
+		final Image cached = m_images.get(fullName);
+		if (cached != null)
 		{
-			return m_images.get(fullName);
+			return cached;
 		}
 		final Image baseImage = getBaseImage(baseName, player);
 		// We want to scale units according to the given scale factor.
@@ -246,18 +247,17 @@ public class UnitImageFactory
 	/**
 	 * Return a icon image for a unit.
 	 */
-	public ImageIcon getIcon(final UnitType type, final PlayerID player, final GameData data, final boolean damaged, final boolean disabled)
+	public synchronized ImageIcon getIcon(final UnitType type, final PlayerID player, final GameData data, final boolean damaged, final boolean disabled)
 	{
 		final String baseName = getBaseImageName(type, player, data, damaged, disabled);
 		final String fullName = baseName + player.getName();
-		if (m_icons.containsKey(fullName))
+		Image img = m_icons.get(fullName);
+		if (img == null)
 		{
-			return m_icons.get(fullName);
+			img = getBaseImage(baseName, player);
+			m_icons.put(fullName, img);
 		}
-		final Image img = getBaseImage(baseName, player);
-		final ImageIcon icon = new ImageIcon(img);
-		m_icons.put(fullName, icon);
-		return icon;
+		return new ImageIcon(img);
 	}
 	
 	public static String getBaseImageName(final UnitType type, final PlayerID id, final GameData data, final boolean damaged, final boolean disabled)
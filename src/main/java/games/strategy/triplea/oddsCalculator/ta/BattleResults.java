@@ -62,6 +62,18 @@ public class BattleResults extends GameDataComponent implements Serializable
 		m_whoWon = scriptedWhoWon;
 	}
 	
+	/**
+	 * For results that were calculated before.
+	 */
+	BattleResults(final int battleRoundsFought, final List<Unit> remainingAttackingUnits, final List<Unit> remainingDefendingUnits, final WhoWon whoWon, final GameData data)
+	{
+		super(data);
+		m_battleRoundsFought = battleRoundsFought;
+		m_remainingAttackingUnits = remainingAttackingUnits;
+		m_remainingDefendingUnits = remainingDefendingUnits;
+		m_whoWon = whoWon;
+	}
+	
 	public void setWhoWon(final WhoWon whoWon)
 	{
 		m_whoWon = whoWon;
@@ -77,6 +89,11 @@ public class BattleResults extends GameDataComponent implements Serializable
 		return m_defendingUnitsLeft;
 	}*/
 	
+	WhoWon getWhoWon()
+	{
+		return m_whoWon;
+	}
+	
 	public List<Unit> getRemainingAttackingUnits()
 	{
 		return m_remainingAttackingUnits;
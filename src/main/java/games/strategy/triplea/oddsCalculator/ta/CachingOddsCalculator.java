@@ -0,0 +1,449 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.oddsCalculator.ta;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.net.GUID;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Remembers the results of the battles it calculates, so calculating the same battle again only runs
+ * the simulations that were not run before. <br>
+ * The AIs calculate the same battles over and over while deciding what to do, often with other unit objects
+ * that are the same as far as the battle is concerned. So battles are looked up by what is fighting:
+ * the type, owner and state of each unit, the territory and its effects, the players, and how the battle is fought.
+ * The units left after each cached battle are given back as the units passed in, matched by their place
+ * in the sorted list of units, so callers can compare them with their own units as before.
+ * All the results we have are given back, which may be more runs than were asked for.
+ * <p>
+ * 
+ * Everything else the battle depends on, such as tech and relationships, comes from the game data,
+ * so the cache is emptied when new game data is set.
+ * <p>
+ * 
+ * This class is thread safe.
+ */
+public class CachingOddsCalculator implements IOddsCalculator
+{
+	private static final Logger s_logger = Logger.getLogger(CachingOddsCalculator.class.getName());
+	// how many battles we remember
+	private static final int MAX_CACHED_BATTLES = Integer.getInteger("triplea.battle.cache.size", 2000);
+	private final IOddsCalculator m_calculator;
+	private final Object m_mutex = new Object();
+	// battle -> results, least recently used first
+	private final Map<List<Object>, List<CachedResult>> m_cache = new LinkedHashMap<List<Object>, List<CachedResult>>(16, 0.75f, true)
+	{
+		private static final long serialVersionUID = 3283373938734932391L;
+		
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<List<Object>, List<CachedResult>> eldest)
+		{
+			return size() > MAX_CACHED_BATTLES;
+		}
+	};
+	private GameData m_data;
+	private long m_hits;
+	private long m_misses;
+	// how battles are fought, part of the key
+	private boolean m_keepOneAttackingLandUnit = false;
+	private boolean m_amphibious = false;
+	private int m_retreatAfterRound = -1;
+	private int m_retreatAfterXUnitsLeft = -1;
+	private boolean m_retreatWhenOnlyAirLeft = false;
+	private boolean m_retreatWhenMetaPowerIsLower = false;
+	private String m_attackerOrderOfLosses = null;
+	private String m_defenderOrderOfLosses = null;
+	// the battle to calculate
+	private PlayerID m_attacker;
+	private PlayerID m_defender;
+	private Territory m_location;
+	private Collection<Unit> m_attacking;
+	private Collection<Unit> m_defending;
+	private Collection<Unit> m_bombarding;
+	private Collection<TerritoryEffect> m_territoryEffects;
+	private int m_runCount = 0;
+	private boolean m_isCalcSet = false;
+	
+	public CachingOddsCalculator(final IOddsCalculator calculator)
+	{
+		m_calculator = calculator;
+	}
+	
+	public void setGameData(final GameData data)
+	{
+		synchronized (m_mutex)
+		{
+			if (m_hits + m_misses > 0)
+				s_logger.fine("Battle results cache hits:" + m_hits + " misses:" + m_misses + " battles:" + m_cache.size());
+			m_cache.clear();
+			m_hits = 0;
+			m_misses = 0;
+			m_data = data;
+			m_isCalcSet = false;
+			m_calculator.setGameData(data);
+		}
+	}
+	
+	public void setCalculateData(final PlayerID attacker, final PlayerID defender, final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+				final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount)
+	{
+		synchronized (m_mutex)
+		{
+			m_attacker = attacker;
+			m_defender = defender;
+			m_location = location;
+			m_attacking = attacking;
+			m_defending = defending;
+			m_bombarding = bombarding;
+			m_territoryEffects = territoryEffects;
+			m_runCount = runCount;
+			m_isCalcSet = true;
+		}
+	}
+	
+	public AggregateResults calculate()
+	{
+		synchronized (m_mutex)
+		{
+			if (!m_isCalcSet)
+				throw new IllegalStateException("Called calculate before setting calculate data!");
+			final long start = System.currentTimeMillis();
+			final List<Unit> attacking = sort(m_attacking);
+			final List<Unit> defending = sort(m_defending);
+			final List<Object> key = getKey(attacking, defending);
+			List<CachedResult> cached = m_cache.get(key);
+			if (cached == null)
+			{
+				m_misses++;
+				cached = new ArrayList<CachedResult>();
+			}
+			else
+				m_hits++;
+			// only run what we have not run before
+			if (cached.size() < m_runCount)
+			{
+				final AggregateResults results = m_calculator.setCalculateDataAndCalculate(m_attacker, m_defender, m_location, m_attacking, m_defending, m_bombarding, m_territoryEffects,
+							m_runCount - cached.size());
+				final List<CachedResult> added = toCachedResults(results, attacking, defending);
+				// units we could not match, so these results can not be cached
+				if (added == null)
+				{
+					m_cache.remove(key);
+					return results;
+				}
+				cached.addAll(added);
+				if (!cached.isEmpty())
+					m_cache.put(key, cached);
+			}
+			final AggregateResults rVal = new AggregateResults(cached.size());
+			for (final CachedResult result : cached)
+			{
+				rVal.addResult(result.toBattleResults(attacking, defending, m_data));
+			}
+			rVal.setTime(System.currentTimeMillis() - start);
+			return rVal;
+		}
+	}
+	
+	public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender, final Territory location, final Collection<Unit> attacking,
+				final Collection<Unit> defending, final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount)
+	{
+		synchronized (m_mutex)
+		{
+			setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+			return calculate();
+		}
+	}
+	
+	private List<Object> getKey(final List<Unit> attacking, final List<Unit> defending)
+	{
+		final List<Object> key = new ArrayList<Object>();
+		key.add(m_attacker == null ? null : m_attacker.getName());
+		key.add(m_defender == null ? null : m_defender.getName());
+		key.add(m_location == null ? null : m_location.getName());
+		key.add(getSignatures(attacking));
+		key.add(getSignatures(defending));
+		key.add(getSignatures(sort(m_bombarding)));
+		final List<String> effects = new ArrayList<String>();
+		if (m_territoryEffects != null)
+		{
+			for (final TerritoryEffect effect : m_territoryEffects)
+			{
+				effects.add(effect.getName());
+			}
+		}
+		Collections.sort(effects);
+		key.add(effects);
+		key.add(m_keepOneAttackingLandUnit);
+		key.add(m_amphibious);
+		key.add(m_retreatAfterRound);
+		key.add(m_retreatAfterXUnitsLeft);
+		key.add(m_retreatWhenOnlyAirLeft);
+		key.add(m_retreatWhenMetaPowerIsLower);
+		key.add(m_attackerOrderOfLosses);
+		key.add(m_defenderOrderOfLosses);
+		return key;
+	}
+	
+	/**
+	 * @return units sorted by signature, units with the same signature keep their order
+	 */
+	private static List<Unit> sort(final Collection<Unit> units)
+	{
+		final List<Unit> sorted = units == null ? new ArrayList<Unit>() : new ArrayList<Unit>(units);
+		final Map<Unit, String> signatures = new IdentityHashMap<Unit, String>();
+		for (final Unit unit : sorted)
+		{
+			signatures.put(unit, getSignature(unit));
+		}
+		Collections.sort(sorted, new Comparator<Unit>()
+		{
+			public int compare(final Unit u1, final Unit u2)
+			{
+				return signatures.get(u1).compareTo(signatures.get(u2));
+			}
+		});
+		return sorted;
+	}
+	
+	private static List<String> getSignatures(final List<Unit> units)
+	{
+		final List<String> signatures = new ArrayList<String>(units.size());
+		for (final Unit unit : units)
+		{
+			signatures.add(getSignature(unit));
+		}
+		return signatures;
+	}
+	
+	/**
+	 * @return what the battle needs to know about unit, units with the same signature fight the same
+	 */
+	static String getSignature(final Unit unit)
+	{
+		final TripleAUnit taUnit = TripleAUnit.get(unit);
+		return unit.getType().getName() + ":" + unit.getOwner().getName() + ":" + unit.getHits() + ":" + taUnit.getUnitDamage() + ":" + taUnit.getSubmerged() + ":"
+					+ (taUnit.getTransportedBy() != null) + ":" + taUnit.getWasAmphibious() + ":" + taUnit.getDisabled();
+	}
+	
+	/**
+	 * @return results with the units left as their places in the units fighting, or null if a unit left was not one of those fighting
+	 */
+	private static List<CachedResult> toCachedResults(final AggregateResults results, final List<Unit> attacking, final List<Unit> defending)
+	{
+		final Map<GUID, Integer> attackingIndexes = getIndexes(attacking);
+		final Map<GUID, Integer> defendingIndexes = getIndexes(defending);
+		final List<CachedResult> rVal = new ArrayList<CachedResult>(results.getResults().size());
+		for (final BattleResults result : results.getResults())
+		{
+			final int[] remainingAttacking = toIndexes(result.getRemainingAttackingUnits(), attackingIndexes);
+			final int[] remainingDefending = toIndexes(result.getRemainingDefendingUnits(), defendingIndexes);
+			if (remainingAttacking == null || remainingDefending == null)
+				return null;
+			rVal.add(new CachedResult(result.getBattleRoundsFought(), result.getWhoWon(), remainingAttacking, remainingDefending));
+		}
+		return rVal;
+	}
+	
+	private static Map<GUID, Integer> getIndexes(final List<Unit> units)
+	{
+		final Map<GUID, Integer> indexes = new HashMap<GUID, Integer>();
+		for (int i = 0; i < units.size(); i++)
+		{
+			indexes.put(units.get(i).getID(), i);
+		}
+		return indexes;
+	}
+	
+	private static int[] toIndexes(final List<Unit> units, final Map<GUID, Integer> indexes)
+	{
+		final int[] rVal = new int[units.size()];
+		for (int i = 0; i < rVal.length; i++)
+		{
+			final Integer index = indexes.get(units.get(i).getID());
+			if (index == null)
+				return null;
+			rVal[i] = index;
+		}
+		return rVal;
+	}
+	
+	public int getRunCount()
+	{
+		synchronized (m_mutex)
+		{
+			return m_runCount;
+		}
+	}
+	
+	public boolean getIsReady()
+	{
+		synchronized (m_mutex)
+		{
+			return m_isCalcSet && m_data != null;
+		}
+	}
+	
+	public void setKeepOneAttackingLandUnit(final boolean bool)
+	{
+		synchronized (m_mutex)
+		{
+			m_keepOneAttackingLandUnit = bool;
+			m_calculator.setKeepOneAttackingLandUnit(bool);
+		}
+	}
+	
+	public void setAmphibious(final boolean bool)
+	{
+		synchronized (m_mutex)
+		{
+			m_amphibious = bool;
+			m_calculator.setAmphibious(bool);
+		}
+	}
+	
+	public void setRetreatAfterRound(final int value)
+	{
+		synchronized (m_mutex)
+		{
+			m_retreatAfterRound = value;
+			m_calculator.setRetreatAfterRound(value);
+		}
+	}
+	
+	public void setRetreatAfterXUnitsLeft(final int value)
+	{
+		synchronized (m_mutex)
+		{
+			m_retreatAfterXUnitsLeft = value;
+			m_calculator.setRetreatAfterXUnitsLeft(value);
+		}
+	}
+	
+	public void setRetreatWhenOnlyAirLeft(final boolean value)
+	{
+		synchronized (m_mutex)
+		{
+			m_retreatWhenOnlyAirLeft = value;
+			m_calculator.setRetreatWhenOnlyAirLeft(value);
+		}
+	}
+	
+	public void setRetreatWhenMetaPowerIsLower(final boolean value)
+	{
+		synchronized (m_mutex)
+		{
+			m_retreatWhenMetaPowerIsLower = value;
+			m_calculator.setRetreatWhenMetaPowerIsLower(value);
+		}
+	}
+	
+	public void setAttackerOrderOfLosses(final String attackerOrderOfLosses)
+	{
+		synchronized (m_mutex)
+		{
+			m_attackerOrderOfLosses = attackerOrderOfLosses;
+			m_calculator.setAttackerOrderOfLosses(attackerOrderOfLosses);
+		}
+	}
+	
+	public void setDefenderOrderOfLosses(final String defenderOrderOfLosses)
+	{
+		synchronized (m_mutex)
+		{
+			m_defenderOrderOfLosses = defenderOrderOfLosses;
+			m_calculator.setDefenderOrderOfLosses(defenderOrderOfLosses);
+		}
+	}
+	
+	public void cancel()
+	{
+		// not synchronized, so a running calculation can be cancelled
+		m_calculator.cancel();
+	}
+	
+	public void shutdown()
+	{
+		synchronized (m_mutex)
+		{
+			m_cache.clear();
+		}
+		m_calculator.shutdown();
+	}
+	
+	public int getThreadCount()
+	{
+		return m_calculator.getThreadCount();
+	}
+	
+	public void addOddsCalculatorListener(final OddsCalculatorListener listener)
+	{
+		m_calculator.addOddsCalculatorListener(listener);
+	}
+	
+	public void removeOddsCalculatorListener(final OddsCalculatorListener listener)
+	{
+		m_calculator.removeOddsCalculatorListener(listener);
+	}
+	
+	/**
+	 * The result of one battle, with the units left given by their place in the sorted units that fought.
+	 */
+	private static class CachedResult
+	{
+		private final int m_battleRoundsFought;
+		private final WhoWon m_whoWon;
+		private final int[] m_remainingAttacking;
+		private final int[] m_remainingDefending;
+		
+		private CachedResult(final int battleRoundsFought, final WhoWon whoWon, final int[] remainingAttacking, final int[] remainingDefending)
+		{
+			m_battleRoundsFought = battleRoundsFought;
+			m_whoWon = whoWon;
+			m_remainingAttacking = remainingAttacking;
+			m_remainingDefending = remainingDefending;
+		}
+		
+		private BattleResults toBattleResults(final List<Unit> attacking, final List<Unit> defending, final GameData data)
+		{
+			return new BattleResults(m_battleRoundsFought, toUnits(m_remainingAttacking, attacking), toUnits(m_remainingDefending, defending), m_whoWon, data);
+		}
+		
+		private static List<Unit> toUnits(final int[] indexes, final List<Unit> units)
+		{
+			final List<Unit> rVal = new ArrayList<Unit>(indexes.length);
+			for (final int index : indexes)
+			{
+				rVal.add(units.get(index));
+			}
+			return rVal;
+		}
+	}
+}
@@ -120,29 +120,30 @@ public class ConcurrentOddsCalculator implements IOddsCalculator
 		{
 			final long startTime = System.currentTimeMillis(); // see how long 1 copy takes (some games can get REALLY big)
 			final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-			final GameData newData;
+			final byte[] snapshot;
 			try
-			{ // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy it 16 times, when once is enough)
-				data.acquireReadLock(); // don't let the data change while we make the first copy
-				newData = GameDataUtils.cloneGameData(data, false);
+			{ // serialize the data only once, then release lock on it so game can continue (ie: we don't want to lock on it while we copy it 16 times, when once is enough)
+				data.acquireReadLock(); // don't let the data change while we take the snapshot
+				snapshot = GameDataUtils.createSnapshot(data, false);
 			} finally
 			{
 				data.releaseReadLock();
 			}
-			m_currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-			try
+			if (snapshot != null)
 			{
-				newData.acquireReadLock(); // make sure all workers are using the same data
+				// every worker gets its own copy read from the same snapshot, so all workers are using the same data and none of them ever has to lock or re-serialize the data again
+				final GameData newData = GameDataUtils.createGameDataFromSnapshot(snapshot);
+				m_currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
 				int i = 0;
 				if (m_currentThreads <= 2 || MAX_THREADS <= 2) // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
 				{ // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most only 1 more copy to make)
 					while (m_cancelCurrentOperation >= 0 && i < m_currentThreads)
 					{
-						m_workers.add(new OddsCalculator(newData, (m_currentThreads == ++i))); // the last one will use our already copied data from above, without copying it again
+						m_workers.add(new OddsCalculator((m_currentThreads == ++i) ? newData : GameDataUtils.createGameDataFromSnapshot(snapshot), true)); // the last one will use our already copied data from above, without copying it again
 					}
 				}
 				else
-				{ // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
+				{ // multi-thread our copying, cus why the heck not (reading the snapshot needs no locks, so this scales with the number of threads)
 					final CountDownLatch workerLatch = new CountDownLatch(m_currentThreads - 1);
 					while (i < (m_currentThreads - 1))
 					{
@@ -153,7 +154,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator
 							{
 								if (m_cancelCurrentOperation >= 0)
 								{
-									m_workers.add(new OddsCalculator(newData, false));
+									m_workers.add(new OddsCalculator(GameDataUtils.createGameDataFromSnapshot(snapshot), true));
 								}
 								workerLatch.countDown();
 							}
@@ -167,9 +168,6 @@ public class ConcurrentOddsCalculator implements IOddsCalculator
 					{
 					}
 				}
-			} finally
-			{
-				newData.releaseReadLock();
 			}
 		}
 		if (m_cancelCurrentOperation < 0 || data == null)
@@ -4,7 +4,6 @@ import games.strategy.common.delegate.GameDelegateBridge;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.ChangePerformer;
-import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
@@ -262,24 +261,39 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
 		// BattleCalculator.EnableCasualtySortingCaching();
 		final List<Unit> attackerOrderOfLosses = OddsCalculator.getUnitListByOOL(m_attackerOrderOfLosses, m_attackingUnits, m_data);
 		final List<Unit> defenderOrderOfLosses = OddsCalculator.getUnitListByOOL(m_defenderOrderOfLosses, m_defendingUnits, m_data);
-		for (int i = 0; i < count && !m_cancelled; i++)
+		// the bridge, players, and everything else that does not depend on a single run are created once and reused for every run
+		final DummyDelegateBridge bridge1 = new DummyDelegateBridge(m_attacker, m_data, attackerOrderOfLosses, defenderOrderOfLosses,
+					m_keepOneAttackingLandUnit, m_retreatAfterRound, m_retreatAfterXUnitsLeft, m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower);
+		final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
+		final Collection<Unit> amphibiousUnits = (m_amphibious ? m_attackingUnits : new ArrayList<Unit>());
+		// remember the hits every unit starts with, so that we can restore them after each run without recording and inverting changes
+		final Unit[] battleUnits = getUnitsInBattle();
+		final int[] startingHits = new int[battleUnits.length];
+		for (int j = 0; j < battleUnits.length; j++)
 		{
-			final CompositeChange allChanges = new CompositeChange();
-			final DummyDelegateBridge bridge1 = new DummyDelegateBridge(m_attacker, m_data, allChanges, attackerOrderOfLosses, defenderOrderOfLosses,
-						m_keepOneAttackingLandUnit, m_retreatAfterRound, m_retreatAfterXUnitsLeft, m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower);
-			final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
-			final MustFightBattle battle = new MustFightBattle(m_location, m_attacker, m_data, battleTracker);
-			battle.setHeadless(true);
-			battle.isAmphibious();
-			battle.setUnits(m_defendingUnits, m_attackingUnits, m_bombardingUnits, (m_amphibious ? m_attackingUnits : new ArrayList<Unit>()), m_defender, m_territoryEffects);
-			// battle.setAttackingFromAndMap(attackingFromMap);
-			bridge1.setBattle(battle);
-			battle.fight(bridge);
-			rVal.addResult(new BattleResults(battle, m_data));
-			// restore the game to its original state
-			new ChangePerformer(m_data).perform(allChanges.invert());
-			battleTracker.clear();
-			battleTracker.clearBattleRecords();
+			startingHits[j] = battleUnits[j].getHits();
+		}
+		try
+		{
+			for (int i = 0; i < count && !m_cancelled; i++)
+			{
+				final MustFightBattle battle = new MustFightBattle(m_location, m_attacker, m_data, battleTracker);
+				battle.setHeadless(true);
+				battle.isAmphibious();
+				battle.setUnits(m_defendingUnits, m_attackingUnits, m_bombardingUnits, amphibiousUnits, m_defender, m_territoryEffects);
+				// battle.setAttackingFromAndMap(attackingFromMap);
+				bridge1.setBattle(battle);
+				battle.fight(bridge);
+				rVal.addResult(new BattleResults(battle, m_data));
+				// restore the game to its original state
+				restoreHits(battleUnits, startingHits);
+				battleTracker.clear();
+				battleTracker.clearBattleRecords();
+			}
+		} finally
+		{
+			bridge1.setBattle(null);
+			restoreHits(battleUnits, startingHits);
 		}
 		// BattleCalculator.DisableCasualtySortingCaching();
 		rVal.setTime(System.currentTimeMillis() - start);
@@ -288,6 +302,23 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
 		return rVal;
 	}
 	
+	private Unit[] getUnitsInBattle()
+	{
+		final Set<Unit> units = new HashSet<Unit>(m_attackingUnits);
+		units.addAll(m_defendingUnits);
+		units.addAll(m_bombardingUnits);
+		return units.toArray(new Unit[units.size()]);
+	}
+	
+	private static void restoreHits(final Unit[] units, final int[] hits)
+	{
+		for (int i = 0; i < units.length; i++)
+		{
+			if (units[i].getHits() != hits[i])
+				units[i].setHits(hits[i]);
+		}
+	}
+	
 	public static boolean isValidOOL(final String ool, final GameData data)
 	{
 		if (ool == null || ool.trim().length() == 0)
@@ -412,12 +443,10 @@ class DummyDelegateBridge implements IDelegateBridge
 	private final DummyPlayer m_defendingPlayer;
 	private final PlayerID m_attacker;
 	private final DelegateHistoryWriter m_writer = new DelegateHistoryWriter(new DummyGameModifiedChannel());
-	private final CompositeChange m_allChanges;
 	private final GameData m_data;
-	private final ChangePerformer m_changePerformer;
 	private MustFightBattle m_battle = null;
 	
-	public DummyDelegateBridge(final PlayerID attacker, final GameData data, final CompositeChange allChanges, final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
+	public DummyDelegateBridge(final PlayerID attacker, final GameData data, final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
 				final boolean attackerKeepOneLandUnit, final int retreatAfterRound, final int retreatAfterXUnitsLeft, final boolean retreatWhenOnlyAirLeft, final boolean retreatWhenMetaPowerIsLower)
 	{
 		m_attackingPlayer = new DummyPlayer(this, true, "battle calc dummy", "None (AI)", attackerOrderOfLosses, attackerKeepOneLandUnit, retreatAfterRound, retreatAfterXUnitsLeft,
@@ -425,8 +454,6 @@ class DummyDelegateBridge implements IDelegateBridge
 		m_defendingPlayer = new DummyPlayer(this, false, "battle calc dummy", "None (AI)", defenderOrderOfLosses, false, retreatAfterRound, -1, false, false);
 		m_data = data;
 		m_attacker = attacker;
-		m_allChanges = allChanges;
-		m_changePerformer = new ChangePerformer(m_data);
 	}
 	
 	public GameData getData()
@@ -496,12 +523,19 @@ class DummyDelegateBridge implements IDelegateBridge
 	{
 	}
 	
+	/**
+	 * Only hits matter to the battle, and they are restored by the OddsCalculator after each run,
+	 * so we set them directly instead of performing the change (which would look through every territory on the map for the units).
+	 */
 	public void addChange(final Change aChange)
 	{
 		if (!(aChange instanceof UnitHitsChange))
 			return;
-		m_allChanges.add(aChange);
-		m_changePerformer.perform(aChange);
+		final UnitHitsChange hitsChange = (UnitHitsChange) aChange;
+		for (final Unit unit : hitsChange.getUnits())
+		{
+			unit.setHits(hitsChange.getHits(unit));
+		}
 	}
 	
 	public void stopGameSequence()
@@ -32,7 +32,6 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -111,6 +110,8 @@ public class MapData
 	private Map<String, List<Point>> m_place;
 	// maps String -> Collection of Polygons
 	private Map<String, List<Polygon>> m_polys;
+	// finds the territory at a point without looking at every polygon
+	private TerritoryGrid m_territoryGrid;
 	// maps String -> Point
 	private Map<String, Point> m_centers;
 	// maps String -> Point
@@ -182,6 +183,7 @@ public class MapData
 			m_place = PointFileReaderWriter.readOneToMany(loader.getResourceAsStream(prefix + PLACEMENT_FILE));
 			m_territoryEffects = PointFileReaderWriter.readOneToMany(loader.getResourceAsStream(prefix + TERRITORY_EFFECT_FILE));
 			m_polys = PointFileReaderWriter.readOneToManyPolygons(loader.getResourceAsStream(prefix + POLYGON_FILE));
+			m_territoryGrid = new TerritoryGrid(m_polys);
 			m_centers = PointFileReaderWriter.readOneToOneCenters(loader.getResourceAsStream(prefix + CENTERS_FILE));
 			m_vcPlace = PointFileReaderWriter.readOneToOne(loader.getResourceAsStream(prefix + VC_MARKERS));
 			m_convoyPlace = PointFileReaderWriter.readOneToOne(loader.getResourceAsStream(prefix + CONVOY_MARKERS));
@@ -697,30 +699,7 @@ public class MapData
 	 */
 	public String getTerritoryAt(final double x, final double y)
 	{
-		String seaName = null;
-		// try to find a land territory.
-		// sea zones often surround a land territory
-		final Iterator<String> keyIter = m_polys.keySet().iterator();
-		while (keyIter.hasNext())
-		{
-			final String name = keyIter.next();
-			final Collection<Polygon> polygons = m_polys.get(name);
-			final Iterator<Polygon> polyIter = polygons.iterator();
-			while (polyIter.hasNext())
-			{
-				final Polygon poly = polyIter.next();
-				if (poly.contains(x, y))
-				{
-					if (name.endsWith("Sea Zone") || name.startsWith("Sea Zone"))
-					{
-						seaName = name;
-					}
-					else
-						return name;
-				}
-			}
-		}
-		return seaName;
+		return m_territoryGrid.getTerritoryAt(x, y);
 	}
 	
 	public Dimension getMapDimensions()
@@ -909,7 +888,7 @@ public class MapData
 		return m_territoryEffects.get(territory.getName());
 	}
 	
-	public Image getTerritoryEffectImage(final String m_effectName)
+	public synchronized Image getTerritoryEffectImage(final String m_effectName)
 	{
 		if (m_effectImages.get(m_effectName) != null)
 			return m_effectImages.get(m_effectName);
@@ -107,6 +107,8 @@ public class MapPanel extends ImageScrollerLargeView
 	private final List<Object> m_images = new ArrayList<Object>();
 	private RouteDescription m_routeDescription;
 	private final TileManager m_tileManager;
+	// draws tiles on as many threads as we have processors, less one for the event thread
+	private static final int BACKGROUND_DRAWER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 	private final BackgroundDrawer m_backgroundDrawer;
 	private BufferedImage m_mouseShadowImage = null;
 	private String m_movementLeftForCurrentUnits = "";
@@ -124,9 +126,12 @@ public class MapPanel extends ImageScrollerLargeView
 		m_scale = m_uiContext.getScale();
 		m_backgroundDrawer = new BackgroundDrawer(this);
 		m_tileManager = new TileManager(m_uiContext);
-		final Thread t = new Thread(m_backgroundDrawer, "Map panel background drawer");
-		t.setDaemon(true);
-		t.start();
+		for (int i = 0; i < BACKGROUND_DRAWER_THREADS; i++)
+		{
+			final Thread t = new Thread(m_backgroundDrawer, "Map panel background drawer:" + i);
+			t.setDaemon(true);
+			t.start();
+		}
 		setDoubleBuffered(false);
 		m_smallView = smallView;
 		m_smallMapImageManager = new SmallMapImageManager(smallView, m_uiContext.getMapImage().getSmallMapImage(), m_tileManager);
@@ -526,11 +531,14 @@ public class MapPanel extends ImageScrollerLargeView
 	{
 		public void unitsChanged(final Territory territory)
 		{
-			updateCountries(Collections.singleton(territory));
+			// only the units changed, so only redraw them
+			m_tileManager.updateTerritoryUnits(territory, m_data, m_uiContext.getMapData());
+			m_smallMapImageManager.update(m_data, m_uiContext.getMapData());
 			SwingUtilities.invokeLater(new Runnable()
 			{
 				public void run()
 				{
+					m_smallView.repaint();
 					repaint();
 				}
 			});
@@ -570,7 +578,21 @@ public class MapPanel extends ImageScrollerLargeView
 			getPlayersWithTechChanges(aChange, playersWithTechChange);
 			if (playersWithTechChange.isEmpty())
 				return;
-			m_tileManager.resetTiles(m_data, m_uiContext.getMapData());
+			// tech changes how units are drawn, so redraw where those players have units
+			final Collection<Territory> territories = new ArrayList<Territory>();
+			m_data.acquireReadLock();
+			try
+			{
+				for (final Territory territory : m_data.getMap().getTerritories())
+				{
+					if (territory.getUnits().someMatch(Matches.unitIsOwnedByOfAnyOfThesePlayers(playersWithTechChange)))
+						territories.add(territory);
+				}
+			} finally
+			{
+				m_data.releaseReadLock();
+			}
+			m_tileManager.updateTerritories(territories, m_data, m_uiContext.getMapData());
 			SwingUtilities.invokeLater(new Runnable()
 			{
 				public void run()
@@ -1087,6 +1109,11 @@ class RouteDescription
 }
 
 
+/**
+ * Draws the tiles the map panel has queued, nearest the screen first.
+ * Several threads may run the same drawer, each taking the next tile from the queue.
+ * The map panel replaces the queue each time it paints, so tiles we have scrolled away from are not drawn.
+ */
 class BackgroundDrawer implements Runnable
 {
 	// use a weak reference, if we see the panel is gc'd, then we can stop this thread
@@ -1128,6 +1155,9 @@ class BackgroundDrawer implements Runnable
 			{
 				continue;
 			}
+			// another thread may have drawn it while it waited
+			if (!tile.isDirty())
+				continue;
 			final GameData data = mapPanel.getData();
 			data.acquireReadLock();
 			try
@@ -0,0 +1,214 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the territory at a point on the map, without testing the polygons of every territory. <br>
+ * The map is divided into square cells, and each cell knows the territories whose polygons overlap it,
+ * so only the polygons of a few territories are tested for each point.
+ * Most cells lie inside one territory, and for those we know the answer without testing anything.
+ * <p>
+ * 
+ * Territories are tested in the same order as the map of polygons we are given, and as before
+ * a land territory is preferred to a sea zone, since sea zones often surround land territories.
+ */
+class TerritoryGrid
+{
+	private static final int CELL_SIZE = 32;
+	private static final String[] NO_TERRITORIES = new String[0];
+	private final Map<String, List<Polygon>> m_polys;
+	// the cell at the top left
+	private final int m_minCellX;
+	private final int m_minCellY;
+	private final int m_width;
+	private final int m_height;
+	// cell index -> the territories that may be in the cell, at first those with a bounding box that overlaps the cell
+	private final String[][] m_cells;
+	// cell index -> the territory at every point in the cell, null if we have to test the polygons
+	private final String[] m_resolved;
+	// cell index -> have we looked at the polygons in the cell yet
+	// done when the cell is first used, as it is much slower than building the grid
+	private final boolean[] m_isResolved;
+	
+	TerritoryGrid(final Map<String, List<Polygon>> polys)
+	{
+		m_polys = polys;
+		Rectangle bounds = null;
+		for (final List<Polygon> polygons : polys.values())
+		{
+			for (final Polygon polygon : polygons)
+			{
+				if (bounds == null)
+					bounds = new Rectangle(polygon.getBounds());
+				else
+					bounds.add(polygon.getBounds());
+			}
+		}
+		if (bounds == null)
+		{
+			m_minCellX = 0;
+			m_minCellY = 0;
+			m_width = 0;
+			m_height = 0;
+			m_cells = new String[0][];
+			m_resolved = new String[0];
+			m_isResolved = new boolean[0];
+			return;
+		}
+		m_minCellX = cell(bounds.x);
+		m_minCellY = cell(bounds.y);
+		m_width = cell(bounds.x + bounds.width) - m_minCellX + 1;
+		m_height = cell(bounds.y + bounds.height) - m_minCellY + 1;
+		final List<List<String>> cells = new ArrayList<List<String>>(m_width * m_height);
+		for (int i = 0; i < m_width * m_height; i++)
+		{
+			cells.add(null);
+		}
+		for (final Map.Entry<String, List<Polygon>> entry : polys.entrySet())
+		{
+			final String name = entry.getKey();
+			for (final Polygon polygon : entry.getValue())
+			{
+				final Rectangle polygonBounds = polygon.getBounds();
+				for (int y = cell(polygonBounds.y); y <= cell(polygonBounds.y + polygonBounds.height); y++)
+				{
+					for (int x = cell(polygonBounds.x); x <= cell(polygonBounds.x + polygonBounds.width); x++)
+					{
+						final int index = (y - m_minCellY) * m_width + (x - m_minCellX);
+						List<String> names = cells.get(index);
+						if (names == null)
+						{
+							names = new ArrayList<String>(4);
+							cells.set(index, names);
+						}
+						// a territory's polygons are added one after the other, so it can only be last
+						if (names.isEmpty() || !names.get(names.size() - 1).equals(name))
+							names.add(name);
+					}
+				}
+			}
+		}
+		m_cells = new String[cells.size()][];
+		m_resolved = new String[cells.size()];
+		m_isResolved = new boolean[cells.size()];
+		for (int i = 0; i < m_cells.length; i++)
+		{
+			final List<String> names = cells.get(i);
+			m_cells[i] = names == null ? NO_TERRITORIES : names.toArray(new String[names.size()]);
+		}
+	}
+	
+	private static int cell(final int coordinate)
+	{
+		return Math.floorDiv(coordinate, CELL_SIZE);
+	}
+	
+	// a little larger than the cell, so points on its edges are always inside
+	private static Rectangle cellBounds(final int cellX, final int cellY)
+	{
+		return new Rectangle(cellX * CELL_SIZE - 1, cellY * CELL_SIZE - 1, CELL_SIZE + 2, CELL_SIZE + 2);
+	}
+	
+	/**
+	 * Keep only the territories with polygons in the cell, and find the territory at every point in the cell if there is one.
+	 * If two threads do this at once they work out the same thing.
+	 */
+	private void resolve(final int index, final Rectangle bounds)
+	{
+		final List<String> names = new ArrayList<String>(m_cells[index].length);
+		for (final String name : m_cells[index])
+		{
+			for (final Polygon polygon : m_polys.get(name))
+			{
+				if (polygon.intersects(bounds))
+				{
+					names.add(name);
+					break;
+				}
+			}
+		}
+		m_cells[index] = names.isEmpty() ? NO_TERRITORIES : names.toArray(new String[names.size()]);
+		m_resolved[index] = getTerritoryInAll(names, bounds);
+		m_isResolved[index] = true;
+	}
+	
+	/**
+	 * @return the territory at every point in bounds, or null if that depends on the point
+	 */
+	private String getTerritoryInAll(final List<String> names, final Rectangle bounds)
+	{
+		// the first land territory in the cell wins, if it covers the whole cell
+		for (final String name : names)
+		{
+			if (!isSeaZone(name))
+				return containsAll(name, bounds) ? name : null;
+		}
+		// otherwise the last sea zone wins, if it covers the whole cell
+		if (!names.isEmpty() && containsAll(names.get(names.size() - 1), bounds))
+			return names.get(names.size() - 1);
+		return null;
+	}
+	
+	private boolean containsAll(final String name, final Rectangle bounds)
+	{
+		for (final Polygon polygon : m_polys.get(name))
+		{
+			if (polygon.contains(bounds))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * @return the territory at x,y, a land territory if there is one, otherwise a sea zone, or null
+	 */
+	String getTerritoryAt(final double x, final double y)
+	{
+		final int cellX = (int) Math.floor(x / CELL_SIZE) - m_minCellX;
+		final int cellY = (int) Math.floor(y / CELL_SIZE) - m_minCellY;
+		if (cellX < 0 || cellY < 0 || cellX >= m_width || cellY >= m_height)
+			return null;
+		final int index = cellY * m_width + cellX;
+		if (!m_isResolved[index])
+			resolve(index, cellBounds(cellX + m_minCellX, cellY + m_minCellY));
+		if (m_resolved[index] != null)
+			return m_resolved[index];
+		String seaName = null;
+		for (final String name : m_cells[index])
+		{
+			for (final Polygon polygon : m_polys.get(name))
+			{
+				if (polygon.contains(x, y))
+				{
+					if (isSeaZone(name))
+						seaName = name;
+					else
+						return name;
+				}
+			}
+		}
+		return seaName;
+	}
+	
+	static boolean isSeaZone(final String name)
+	{
+		return name.endsWith("Sea Zone") || name.startsWith("Sea Zone");
+	}
+}
@@ -18,6 +18,7 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
+import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.attatchments.TerritoryAttachment;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.ui.IUIContext;
@@ -45,6 +46,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,6 +73,8 @@ public class TileManager
 	// maps territoryname - collection of tiles where the territory is drawn
 	private final Map<String, Set<Tile>> m_territoryTiles = new HashMap<String, Set<Tile>>();
 	private final Collection<UnitsDrawer> m_allUnitDrawables = new ArrayList<UnitsDrawer>();
+	// maps territoryname - owners of the units the battle marker was drawn for
+	private final Map<String, Set<PlayerID>> m_territoryUnitOwners = new HashMap<String, Set<PlayerID>>();
 	private final IUIContext m_uiContext;
 	
 	public TileManager(final IUIContext uiContext)
@@ -294,6 +298,61 @@ public class TileManager
 		}
 	}
 	
+	/**
+	 * Redraw the units in territory, after units have moved in or out of it. <br>
+	 * Only the units changed, so units drawn as before are left alone and only the tiles under
+	 * units that were added, removed or changed are drawn again, rather than every tile the territory touches.
+	 * If the players with units here changed, the battle marker may have too, and the whole territory is drawn again.
+	 */
+	public void updateTerritoryUnits(final Territory territory, final GameData data, final MapData mapData)
+	{
+		data.acquireReadLock();
+		try
+		{
+			Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+			try
+			{
+				final Set<IDrawable> drawing = m_territoryDrawables.get(territory.getName());
+				final Set<Tile> drawnOn = m_territoryTiles.get(territory.getName());
+				if (drawing == null || drawnOn == null || !m_uiContext.getShowUnits() || !getUnitOwners(territory).equals(m_territoryUnitOwners.get(territory.getName())))
+				{
+					s_logger.log(Level.FINER, "Updating " + territory.getName());
+					clearTerritory(territory);
+					drawTerritory(territory, data, mapData);
+					return;
+				}
+				s_logger.log(Level.FINER, "Updating units in " + territory.getName());
+				final Set<UnitsDrawer> added = new LinkedHashSet<UnitsDrawer>(createUnitsDrawers(territory, mapData));
+				final Iterator<IDrawable> iter = drawing.iterator();
+				while (iter.hasNext())
+				{
+					final IDrawable drawable = iter.next();
+					if (!(drawable instanceof UnitsDrawer))
+						continue;
+					// drawn as before
+					if (added.remove(drawable))
+						continue;
+					iter.remove();
+					m_allUnitDrawables.remove(drawable);
+					for (final Tile tile : getUnitTiles((UnitsDrawer) drawable))
+					{
+						tile.removeDrawable(drawable);
+					}
+				}
+				for (final UnitsDrawer drawable : added)
+				{
+					addUnitsDrawer(drawable, drawnOn, drawing);
+				}
+			} finally
+			{
+				Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+			}
+		} finally
+		{
+			data.releaseReadLock();
+		}
+	}
+	
 	private void clearTerritory(final Territory territory)
 	{
 		if (m_territoryTiles.get(territory.getName()) == null)
@@ -387,6 +446,21 @@ public class TileManager
 		}
 		m_territoryDrawables.put(territory.getName(), drawing);
 		m_territoryTiles.put(territory.getName(), drawnOn);
+		m_territoryUnitOwners.put(territory.getName(), getUnitOwners(territory));
+	}
+	
+	/**
+	 * @return the players the battle marker is drawn for, those with units in territory that are not submerged
+	 */
+	private static Set<PlayerID> getUnitOwners(final Territory territory)
+	{
+		final Set<PlayerID> players = new HashSet<PlayerID>();
+		for (final Unit u : territory.getUnits())
+		{
+			if (!TripleAUnit.get(u).getSubmerged())
+				players.add(u.getOwner());
+		}
+		return players;
 	}
 	
 	private void drawTerritoryEffects(final Territory territory, final GameData data, final MapData mapData, final Set<Tile> drawnOn, final Set<IDrawable> drawing)
@@ -402,12 +476,21 @@ public class TileManager
 	}
 	
 	private void drawUnits(final Territory territory, final GameData data, final MapData mapData, final Set<Tile> drawnOn, final Set<IDrawable> drawing)
+	{
+		for (final UnitsDrawer drawable : createUnitsDrawers(territory, mapData))
+		{
+			addUnitsDrawer(drawable, drawnOn, drawing);
+		}
+	}
+	
+	private List<UnitsDrawer> createUnitsDrawers(final Territory territory, final MapData mapData)
 	{
 		final Iterator<Point> placementPoints = mapData.getPlacementPoints(territory).iterator();
 		if (placementPoints == null || !placementPoints.hasNext())
 		{
 			throw new IllegalStateException("No where to place units:" + territory.getName());
 		}
+		final List<UnitsDrawer> rVal = new ArrayList<UnitsDrawer>();
 		Point lastPlace = null;
 		final Iterator<UnitCategory> unitCategoryIter = UnitSeperator.categorize(territory.getUnits().getUnits()).iterator();
 		while (unitCategoryIter.hasNext())
@@ -425,21 +508,32 @@ public class TileManager
 				lastPlace.x += m_uiContext.getUnitImageFactory().getUnitImageWidth();
 				overflow = true;
 			}
-			final UnitsDrawer drawable = new UnitsDrawer(category.getUnits().size(), category.getType().getName(), category.getOwner().getName(), lastPlace, category.getDamaged(),
-						category.getBombingDamage(), category.getDisabled(), overflow, territory.getName(), m_uiContext);
-			drawing.add(drawable);
-			m_allUnitDrawables.add(drawable);
-			final Iterator<Tile> tiles = getTiles(
-						new Rectangle(lastPlace.x, lastPlace.y, m_uiContext.getUnitImageFactory().getUnitImageWidth(), m_uiContext.getUnitImageFactory().getUnitImageHeight())).iterator();
-			while (tiles.hasNext())
-			{
-				final Tile tile = tiles.next();
-				tile.addDrawable(drawable);
-				drawnOn.add(tile);
-			}
+			rVal.add(new UnitsDrawer(category.getUnits().size(), category.getType().getName(), category.getOwner().getName(), lastPlace, category.getDamaged(),
+						category.getBombingDamage(), category.getDisabled(), overflow, territory.getName(), m_uiContext));
+		}
+		return rVal;
+	}
+	
+	private void addUnitsDrawer(final UnitsDrawer drawable, final Set<Tile> drawnOn, final Set<IDrawable> drawing)
+	{
+		drawing.add(drawable);
+		m_allUnitDrawables.add(drawable);
+		for (final Tile tile : getUnitTiles(drawable))
+		{
+			tile.addDrawable(drawable);
+			drawnOn.add(tile);
 		}
 	}
 	
+	/**
+	 * @return the tiles drawable draws on
+	 */
+	private List<Tile> getUnitTiles(final UnitsDrawer drawable)
+	{
+		final Point place = drawable.getPlacementPoint();
+		return getTiles(new Rectangle(place.x, place.y, m_uiContext.getUnitImageFactory().getUnitImageWidth(), m_uiContext.getUnitImageFactory().getUnitImageHeight()));
+	}
+	
 	public Image createTerritoryImage(final Territory t, final GameData data, final MapData mapData)
 	{
 		return createTerritoryImage(t, t, data, mapData, true);
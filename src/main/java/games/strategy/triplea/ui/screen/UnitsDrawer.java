@@ -226,6 +226,29 @@ public class UnitsDrawer implements IDrawable
 		return UNITS_LEVEL;
 	}
 	
+	/**
+	 * Drawers are equal when they draw the same thing in the same place, so the tile manager can tell which
+	 * units in a territory are drawn as before when the units there change.
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof UnitsDrawer))
+			return false;
+		final UnitsDrawer other = (UnitsDrawer) o;
+		return other.m_count == m_count && other.m_unitType.equals(m_unitType) && other.m_playerName.equals(m_playerName) && other.m_placementPoint.equals(m_placementPoint)
+					&& other.m_damaged == m_damaged && other.m_bombingUnitDamage == m_bombingUnitDamage && other.m_disabled == m_disabled && other.m_overflow == m_overflow
+					&& other.m_territoryName.equals(m_territoryName);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return m_territoryName.hashCode() ^ m_unitType.hashCode() ^ m_placementPoint.hashCode();
+	}
+	
 	@Override
 	public String toString()
 	{
@@ -0,0 +1,451 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.util;
+
+import java.io.ObjectStreamException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An IntegerMap that keeps its values in an int array indexed by the dense id of the key,
+ * so that getting and adding values does not hash the key or box the value. <br>
+ * Keys without an id, keys whose slot is already taken by a key that is not equal to them, and keys put with a null value
+ * are kept in the map of the IntegerMap this extends, just as any other IntegerMap keeps them.
+ * 
+ * Keys are iterated in order of their ids.
+ * 
+ * This map is written to streams as a plain IntegerMap, so it may be used anywhere an IntegerMap is, including in saved games.
+ */
+public class DenseIntegerMap<T extends IDenseKey> extends IntegerMap<T>
+{
+	private static final long serialVersionUID = -4178524458432542117L;
+	private Object[] m_keys;
+	private int[] m_ints;
+	private int m_denseSize = 0;
+	
+	public DenseIntegerMap()
+	{
+		this(16);
+	}
+	
+	/**
+	 * @param capacity
+	 *            the number of ids to make room for, usually the size of the list the keys come from
+	 */
+	public DenseIntegerMap(final int capacity)
+	{
+		super(0);
+		m_keys = new Object[Math.max(capacity, 1)];
+		m_ints = new int[m_keys.length];
+	}
+	
+	/**
+	 * This will make a new DenseIntegerMap.
+	 * The Objects will be linked, but the integers mapped to them will not be linked.
+	 */
+	public DenseIntegerMap(final IntegerMap<T> integerMap)
+	{
+		this(16);
+		add(integerMap);
+	}
+	
+	/**
+	 * @return the index of the key in the arrays, or -1 if it is not stored there
+	 */
+	private int slotOf(final Object key)
+	{
+		if (!(key instanceof IDenseKey))
+			return -1;
+		final int id = ((IDenseKey) key).getDenseId();
+		if (id < 0 || id >= m_keys.length)
+			return -1;
+		final Object current = m_keys[id];
+		if (current == null || !(current == key || current.equals(key)))
+			return -1;
+		return id;
+	}
+	
+	private void ensureCapacity(final int id)
+	{
+		if (id < m_keys.length)
+			return;
+		final int length = Math.max(id + 1, m_keys.length * 2);
+		m_keys = Arrays.copyOf(m_keys, length);
+		m_ints = Arrays.copyOf(m_ints, length);
+	}
+	
+	@Override
+	public int size()
+	{
+		return m_denseSize + super.size();
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+	
+	@Override
+	public void put(final T key, final Integer value)
+	{
+		if (value != null)
+		{
+			put(key, value.intValue());
+			return;
+		}
+		// an int can not hold null, keep the key where an IntegerMap would
+		final int slot = slotOf(key);
+		if (slot != -1)
+		{
+			m_keys[slot] = null;
+			m_denseSize--;
+		}
+		super.put(key, value);
+	}
+	
+	@Override
+	public void put(final T key, final int value)
+	{
+		final int slot = slotOf(key);
+		if (slot != -1)
+		{
+			m_ints[slot] = value;
+			return;
+		}
+		if (super.containsKey(key))
+		{
+			super.put(key, value);
+			return;
+		}
+		final int id = key == null ? -1 : key.getDenseId();
+		if (id >= 0)
+		{
+			ensureCapacity(id);
+			if (m_keys[id] == null)
+			{
+				m_keys[id] = key;
+				m_ints[id] = value;
+				m_denseSize++;
+				return;
+			}
+		}
+		super.put(key, value);
+	}
+	
+	@Override
+	public int getInt(final T key)
+	{
+		final int slot = slotOf(key);
+		if (slot != -1)
+			return m_ints[slot];
+		return super.getInt(key);
+	}
+	
+	@Override
+	public void add(final T key, final int value)
+	{
+		final int slot = slotOf(key);
+		if (slot != -1)
+			m_ints[slot] += value;
+		else
+			put(key, getInt(key) + value);
+	}
+	
+	@Override
+	public int totalValues()
+	{
+		int sum = 0;
+		for (int i = 0; i < m_keys.length; i++)
+		{
+			if (m_keys[i] != null)
+				sum += m_ints[i];
+		}
+		for (final Integer value : super.values())
+		{
+			sum += value.intValue();
+		}
+		return sum;
+	}
+	
+	@Override
+	public void clear()
+	{
+		Arrays.fill(m_keys, null);
+		m_denseSize = 0;
+		super.clear();
+	}
+	
+	@Override
+	public void removeKey(final T key)
+	{
+		final int slot = slotOf(key);
+		if (slot != -1)
+		{
+			m_keys[slot] = null;
+			m_denseSize--;
+		}
+		else
+			super.removeKey(key);
+	}
+	
+	@Override
+	public boolean containsKey(final T key)
+	{
+		return slotOf(key) != -1 || super.containsKey(key);
+	}
+	
+	@Override
+	public Set<T> keySet()
+	{
+		return new AbstractSet<T>()
+		{
+			@Override
+			public Iterator<T> iterator()
+			{
+				return new SlotIterator<T>()
+				{
+					@Override
+					T get(final T key, final Integer value)
+					{
+						return key;
+					}
+				};
+			}
+			
+			@Override
+			@SuppressWarnings("unchecked")
+			public boolean contains(final Object o)
+			{
+				return containsKey((T) o);
+			}
+			
+			@Override
+			public int size()
+			{
+				return DenseIntegerMap.this.size();
+			}
+		};
+	}
+	
+	@Override
+	public Collection<Integer> values()
+	{
+		return new AbstractCollection<Integer>()
+		{
+			@Override
+			public Iterator<Integer> iterator()
+			{
+				return new SlotIterator<Integer>()
+				{
+					@Override
+					Integer get(final T key, final Integer value)
+					{
+						return value;
+					}
+				};
+			}
+			
+			@Override
+			public int size()
+			{
+				return DenseIntegerMap.this.size();
+			}
+		};
+	}
+	
+	@Override
+	public Set<Entry<T, Integer>> entrySet()
+	{
+		return new AbstractSet<Entry<T, Integer>>()
+		{
+			@Override
+			public Iterator<Entry<T, Integer>> iterator()
+			{
+				return new SlotIterator<Entry<T, Integer>>()
+				{
+					@Override
+					Entry<T, Integer> get(final T key, final Integer value)
+					{
+						return new DenseEntry(key, value);
+					}
+				};
+			}
+			
+			@Override
+			public boolean contains(final Object o)
+			{
+				if (!(o instanceof Entry))
+					return false;
+				final Entry<?, ?> entry = (Entry<?, ?>) o;
+				final int slot = slotOf(entry.getKey());
+				if (slot != -1)
+					return Integer.valueOf(m_ints[slot]).equals(entry.getValue());
+				return DenseIntegerMap.super.entrySet().contains(o);
+			}
+			
+			@Override
+			public int size()
+			{
+				return DenseIntegerMap.this.size();
+			}
+		};
+	}
+	
+	@Override
+	public IntegerMap<T> copy()
+	{
+		return new DenseIntegerMap<T>(this);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		// the same as the hash code of the HashMap in an IntegerMap with the same entries
+		int hash = 0;
+		for (final Entry<T, Integer> entry : entrySet())
+		{
+			hash += entry.hashCode();
+		}
+		return hash;
+	}
+	
+	private Object writeReplace() throws ObjectStreamException
+	{
+		return new IntegerMap<T>(this);
+	}
+	
+	/**
+	 * Walks the keys in the arrays in order of their ids, then the keys in the map of the IntegerMap.
+	 */
+	private abstract class SlotIterator<E> implements Iterator<E>
+	{
+		private int m_next = -1;
+		private int m_last = -1;
+		private Iterator<Entry<T, Integer>> m_othersIterator;
+		
+		SlotIterator()
+		{
+			advance();
+		}
+		
+		abstract E get(T key, Integer value);
+		
+		private void advance()
+		{
+			m_next++;
+			while (m_next < m_keys.length && m_keys[m_next] == null)
+			{
+				m_next++;
+			}
+		}
+		
+		private Iterator<Entry<T, Integer>> getOthersIterator()
+		{
+			if (m_othersIterator == null)
+				m_othersIterator = DenseIntegerMap.super.entrySet().iterator();
+			return m_othersIterator;
+		}
+		
+		public boolean hasNext()
+		{
+			if (m_next < m_keys.length)
+				return true;
+			return getOthersIterator().hasNext();
+		}
+		
+		@SuppressWarnings("unchecked")
+		public E next()
+		{
+			if (m_next < m_keys.length)
+			{
+				m_last = m_next;
+				advance();
+				return get((T) m_keys[m_last], Integer.valueOf(m_ints[m_last]));
+			}
+			if (!hasNext())
+				throw new NoSuchElementException();
+			m_last = -1;
+			final Entry<T, Integer> entry = getOthersIterator().next();
+			return get(entry.getKey(), entry.getValue());
+		}
+		
+		public void remove()
+		{
+			if (m_last != -1)
+			{
+				if (m_keys[m_last] == null)
+					throw new IllegalStateException();
+				m_keys[m_last] = null;
+				m_denseSize--;
+			}
+			else if (m_othersIterator != null)
+				m_othersIterator.remove();
+			else
+				throw new IllegalStateException();
+		}
+	}
+	
+	private class DenseEntry implements Entry<T, Integer>
+	{
+		private final T m_key;
+		private Integer m_value;
+		
+		DenseEntry(final T key, final Integer value)
+		{
+			m_key = key;
+			m_value = value;
+		}
+		
+		public T getKey()
+		{
+			return m_key;
+		}
+		
+		public Integer getValue()
+		{
+			return m_value;
+		}
+		
+		public Integer setValue(final Integer value)
+		{
+			final Integer old = m_value;
+			m_value = value;
+			put(m_key, value);
+			return old;
+		}
+		
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (!(o instanceof Entry))
+				return false;
+			final Entry<?, ?> other = (Entry<?, ?>) o;
+			return (m_key == null ? other.getKey() == null : m_key.equals(other.getKey()))
+						&& (m_value == null ? other.getValue() == null : m_value.equals(other.getValue()));
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return (m_key == null ? 0 : m_key.hashCode()) ^ (m_value == null ? 0 : m_value.hashCode());
+		}
+	}
+}
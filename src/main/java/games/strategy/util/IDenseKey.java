@@ -0,0 +1,28 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.util;
+
+/**
+ * An object that has a small, non negative integer id, which can be used as an index into an array. <br>
+ * Objects that are equal must have the same id.
+ * 
+ * @see DenseIntegerMap
+ */
+public interface IDenseKey
+{
+	/**
+	 * @return the id of this object, or -1 if it has no id
+	 */
+	public int getDenseId();
+}
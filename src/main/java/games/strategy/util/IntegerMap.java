@@ -177,7 +177,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	{
 		for (final T t : keySet())
 		{
-			double val = m_values.get(t);
+			double val = getInt(t);
 			switch (RoundType)
 			{
 				case 1:
@@ -219,10 +219,10 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public boolean allValuesAreSame()
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return false;
-		final int first = m_values.values().iterator().next();
-		for (final int value : m_values.values())
+		final int first = values().iterator().next();
+		for (final int value : values())
 		{
 			if (first != value)
 				return false;
@@ -237,9 +237,9 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public boolean allValuesEqual(final int integer)
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return false;
-		for (final int value : m_values.values())
+		for (final int value : values())
 		{
 			if (integer != value)
 				return false;
@@ -254,10 +254,10 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public int highestValue()
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return 0;
 		int max = Integer.MIN_VALUE;
-		for (final int value : m_values.values())
+		for (final int value : values())
 		{
 			if (value > max)
 				max = value;
@@ -272,10 +272,10 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public int lowestValue()
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return 0;
 		int min = Integer.MAX_VALUE;
-		for (final int value : m_values.values())
+		for (final int value : values())
 		{
 			if (value < min)
 				min = value;
@@ -288,11 +288,11 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public T highestKey()
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return null;
 		int max = Integer.MIN_VALUE;
 		T rVal = null;
-		for (final Entry<T, Integer> entry : m_values.entrySet())
+		for (final Entry<T, Integer> entry : entrySet())
 		{
 			if (entry.getValue() > max)
 			{
@@ -308,11 +308,11 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public T lowestKey()
 	{
-		if (m_values.isEmpty())
+		if (isEmpty())
 			return null;
 		int min = Integer.MAX_VALUE;
 		T rVal = null;
-		for (final Entry<T, Integer> entry : m_values.entrySet())
+		for (final Entry<T, Integer> entry : entrySet())
 		{
 			if (entry.getValue() < min)
 			{
@@ -329,7 +329,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	public int totalValues()
 	{
 		int sum = 0;
-		for (final Integer value : m_values.values())
+		for (final Integer value : values())
 		{
 			sum += value.intValue();
 		}
@@ -375,7 +375,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	 */
 	public boolean isPositive()
 	{
-		for (final T key : m_values.keySet())
+		for (final T key : keySet())
 		{
 			if (getInt(key) < 0)
 				return false;
@@ -409,7 +409,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	
 	public boolean someKeysMatch(final Match<T> matcher)
 	{
-		for (final T obj : m_values.keySet())
+		for (final T obj : keySet())
 		{
 			if (matcher.match(obj))
 				return true;
@@ -419,7 +419,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	
 	public boolean allKeysMatch(final Match<T> matcher)
 	{
-		for (final T obj : m_values.keySet())
+		for (final T obj : keySet())
 		{
 			if (!matcher.match(obj))
 				return false;
@@ -430,7 +430,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	public Collection<T> getKeyMatches(final Match<T> matcher)
 	{
 		final Collection<T> values = new ArrayList<T>();
-		for (final T obj : m_values.keySet())
+		for (final T obj : keySet())
 		{
 			if (matcher.match(obj))
 				values.add(obj);
@@ -441,7 +441,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	public int sumMatches(final Match<T> matcher)
 	{
 		int sum = 0;
-		for (final T obj : m_values.keySet())
+		for (final T obj : keySet())
 		{
 			if (matcher.match(obj))
 				sum += getInt(obj);
@@ -494,7 +494,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 	{
 		final StringBuilder buf = new StringBuilder();
 		buf.append("IntegerMap:\n");
-		final Iterator<T> iter = m_values.keySet().iterator();
+		final Iterator<T> iter = keySet().iterator();
 		if (!iter.hasNext())
 			buf.append("empty\n");
 		while (iter.hasNext())
@@ -527,7 +527,7 @@ public class IntegerMap<T> implements Cloneable, Serializable
 		final IntegerMap<T> map = (IntegerMap<T>) o;
 		if (!map.keySet().equals(this.keySet()))
 			return false;
-		if (!map.m_values.equals(this.m_values))
+		if (!map.entrySet().equals(this.entrySet()))
 			return false;
 		for (final T key : map.keySet())
 		{
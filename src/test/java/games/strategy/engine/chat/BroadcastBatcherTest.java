@@ -0,0 +1,81 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.chat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class BroadcastBatcherTest extends TestCase
+{
+	private final List<List<Integer>> m_sent = new ArrayList<List<Integer>>();
+	
+	private BroadcastBatcher<Integer> createBatcher(final long latencyMs)
+	{
+		return new BroadcastBatcher<Integer>(latencyMs)
+		{
+			@Override
+			protected void send(final List<Integer> events)
+			{
+				synchronized (m_sent)
+				{
+					m_sent.add(events);
+					m_sent.notifyAll();
+				}
+			}
+		};
+	}
+	
+	public void testEventsAreSentTogetherInOrder() throws Exception
+	{
+		final BroadcastBatcher<Integer> batcher = createBatcher(10000);
+		for (int i = 0; i < 5; i++)
+		{
+			batcher.add(i);
+		}
+		assertTrue(m_sent.isEmpty());
+		batcher.flush();
+		assertEquals(1, m_sent.size());
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), m_sent.get(0));
+		batcher.flush();
+		assertEquals(1, m_sent.size());
+	}
+	
+	public void testEventsAreSentAfterTheLatency() throws Exception
+	{
+		final BroadcastBatcher<Integer> batcher = createBatcher(20);
+		batcher.add(1);
+		batcher.add(2);
+		synchronized (m_sent)
+		{
+			final long end = System.currentTimeMillis() + 5000;
+			while (m_sent.isEmpty() && System.currentTimeMillis() < end)
+			{
+				m_sent.wait(end - System.currentTimeMillis());
+			}
+			assertEquals(1, m_sent.size());
+			assertEquals(Arrays.asList(1, 2), m_sent.get(0));
+		}
+	}
+	
+	public void testNoLatencySendsEachEvent()
+	{
+		final BroadcastBatcher<Integer> batcher = createBatcher(0);
+		batcher.add(1);
+		batcher.add(2);
+		assertEquals(2, m_sent.size());
+	}
+}
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import junit.framework.TestCase;
@@ -118,6 +119,57 @@ public class ChangeTest extends TestCase
 		assertEquals(can.getUnits().getUnitCount(), 5);
 	}
 	
+	public void testUnitCountsFollowChanges()
+	{
+		final Territory can = m_data.getMap().getTerritory("canada");
+		final UnitType inf = m_data.getUnitTypeList().getUnitType("inf");
+		final PlayerID bush = m_data.getPlayerList().getPlayerID("bush");
+		final PlayerID castro = m_data.getPlayerList().getPlayerID("castro");
+		final int infCount = can.getUnits().getUnitCount(inf);
+		assertEquals(0, can.getUnits().getUnitCount(inf, bush));
+		final ChangePerformer changePerformer = new ChangePerformer(m_data);
+		final List<Unit> units = inf.create(3, bush);
+		final Change addUnits = ChangeFactory.addUnits(can, units);
+		changePerformer.perform(addUnits);
+		assertEquals(infCount + 3, can.getUnits().getUnitCount(inf));
+		assertEquals(3, can.getUnits().getUnitCount(inf, bush));
+		assertEquals(3, can.getUnits().getUnitsByType(bush).getInt(inf));
+		assertTrue(can.getUnits().getPlayersWithUnits().contains(bush));
+		// the units change owner without leaving the territory
+		changePerformer.perform(ChangeFactory.changeOwner(units, castro, can));
+		assertEquals(0, can.getUnits().getUnitCount(bush));
+		assertEquals(3, can.getUnits().getUnitCount(inf, castro));
+		changePerformer.perform(addUnits.invert());
+		assertEquals(infCount, can.getUnits().getUnitCount(inf));
+		assertEquals(0, can.getUnits().getUnitCount(castro));
+		assertFalse(can.getUnits().getPlayersWithUnits().contains(castro));
+	}
+	
+	public void testOwnerChangesDoNotReachOtherGames() throws Exception
+	{
+		final GameData other = (new GameParser()).parse(this.getClass().getResource("Test.xml").openStream(), new AtomicReference<String>(), false);
+		final Territory otherCan = other.getMap().getTerritory("canada");
+		final UnitType otherInf = other.getUnitTypeList().getUnitType("inf");
+		final PlayerID otherBush = other.getPlayerList().getPlayerID("bush");
+		final int otherInfCount = otherCan.getUnits().getUnitCount(otherInf);
+		final int otherOwnerChanges = other.getUnitOwnerChanges();
+		final Territory can = m_data.getMap().getTerritory("canada");
+		final UnitType inf = m_data.getUnitTypeList().getUnitType("inf");
+		final PlayerID bush = m_data.getPlayerList().getPlayerID("bush");
+		final PlayerID castro = m_data.getPlayerList().getPlayerID("castro");
+		final ChangePerformer changePerformer = new ChangePerformer(m_data);
+		final List<Unit> units = inf.create(3, bush);
+		changePerformer.perform(ChangeFactory.addUnits(can, units));
+		final int ownerChanges = m_data.getUnitOwnerChanges();
+		changePerformer.perform(ChangeFactory.changeOwner(units, castro, can));
+		assertTrue(m_data.getUnitOwnerChanges() > ownerChanges);
+		assertEquals(3, can.getUnits().getUnitCount(inf, castro));
+		// the other game's collections keep their index
+		assertEquals(otherOwnerChanges, other.getUnitOwnerChanges());
+		assertEquals(otherInfCount, otherCan.getUnits().getUnitCount(otherInf));
+		assertEquals(0, otherCan.getUnits().getUnitCount(otherBush));
+	}
+	
 	public void testUnitsAddPlayer()
 	{
 		// make sure we know where we are starting
@@ -184,6 +236,41 @@ public class ChangeTest extends TestCase
 		assertEquals(greenland.getUnits().getUnitCount(), 0);
 	}
 	
+	public void testCompactedChangesHaveTheSameResult()
+	{
+		final Territory canada = m_data.getMap().getTerritory("canada");
+		final Territory greenland = m_data.getMap().getTerritory("greenland");
+		final Territory us = m_data.getMap().getTerritory("us");
+		final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
+		final PlayerID bush = m_data.getPlayerList().getPlayerID("bush");
+		final Resource gold = m_data.getResourceList().getResource("gold");
+		final int usUnits = us.getUnits().getUnitCount();
+		final List<Unit> units = new ArrayList<Unit>(canada.getUnits().getUnits(m_data.getUnitTypeList().getUnitType("inf"), 3));
+		final List<Change> changes = new ArrayList<Change>();
+		final ChangePerformer changePerformer = new ChangePerformer(m_data);
+		// a unit moves through greenland and back, two go on to the us, greenland is taken and retaken
+		changes.add(ChangeFactory.moveUnits(canada, greenland, units));
+		changes.add(ChangeFactory.changeOwner(greenland, bush));
+		changes.add(ChangeFactory.changeResourcesChange(can, gold, -30));
+		changes.add(ChangeFactory.moveUnits(greenland, canada, units.subList(0, 1)));
+		changes.add(ChangeFactory.moveUnits(greenland, us, units.subList(1, 3)));
+		changes.add(ChangeFactory.changeOwner(greenland, can));
+		changes.add(ChangeFactory.changeResourcesChange(can, gold, 10));
+		final Change compacted = ChangeCompactor.compact(changes);
+		changePerformer.perform(compacted);
+		assertEquals(3, canada.getUnits().getUnitCount());
+		assertEquals(0, greenland.getUnits().getUnitCount());
+		assertEquals(usUnits + 2, us.getUnits().getUnitCount());
+		assertEquals(can, greenland.getOwner());
+		assertEquals(80, can.getResources().getQuantity(gold));
+		// a unit removed and added back, an owner changed back and the two moves are all merged away
+		assertEquals(3, ((CompositeChange) compacted).getChanges().size());
+		changePerformer.perform(compacted.invert());
+		assertEquals(5, canada.getUnits().getUnitCount());
+		assertEquals(usUnits, us.getUnits().getUnitCount());
+		assertEquals(100, can.getResources().getQuantity(gold));
+	}
+	
 	public void testProductionFrontierChange()
 	{
 		final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
@@ -9,6 +9,9 @@ import java.io.ObjectOutputStream;
 
 import java.util.Collection;
 
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.attatchments.UnitAttachment;
+import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.xml.LoadGameUtil;
 import junit.framework.TestCase;
 
@@ -94,4 +97,38 @@ public class ChangeTripleATest extends TestCase
 		changePerformer.perform(change.invert());
 		assertEquals(can.getUnits().getUnitCount(), 2);
 	}
+	
+	public void testUnitTypeMatchesFollowAttachmentChanges()
+	{
+		final UnitType infantry = m_data.getUnitTypeList().getUnitType("infantry");
+		final Unit unit = infantry.create(1, null).get(0);
+		assertFalse(Matches.UnitIsSea.match(unit));
+		assertFalse(Matches.UnitTypeIsSea.match(infantry));
+		final Change change = ChangeFactory.attachmentPropertyChange(UnitAttachment.get(infantry), "true", "isSea");
+		final ChangePerformer changePerformer = new ChangePerformer(m_data);
+		changePerformer.perform(change);
+		assertTrue(Matches.UnitIsSea.match(unit));
+		assertTrue(Matches.UnitTypeIsSea.match(infantry));
+		changePerformer.perform(change.invert());
+		assertFalse(Matches.UnitIsSea.match(unit));
+		assertFalse(Matches.UnitTypeIsSea.match(infantry));
+	}
+	
+	public void testAttachmentLookupFollowsAddedAttachments()
+	{
+		final UnitType infantry = m_data.getUnitTypeList().getUnitType("infantry");
+		assertSame(infantry.getAttachment(Constants.UNIT_ATTACHMENT_NAME), UnitAttachment.get(infantry));
+		final UnitAttachment replacement = new UnitAttachment(Constants.UNIT_ATTACHMENT_NAME, infantry, m_data);
+		infantry.addAttachment(Constants.UNIT_ATTACHMENT_NAME, replacement);
+		assertSame(replacement, UnitAttachment.get(infantry));
+		infantry.removeAttachment(Constants.UNIT_ATTACHMENT_NAME);
+		try
+		{
+			UnitAttachment.get(infantry);
+			fail("the attachment was removed");
+		} catch (final IllegalStateException e)
+		{
+			// expected
+		}
+	}
 }
@@ -272,4 +272,14 @@ public class MapTest extends TestCase
 		assertTrue(neighbors.contains(bb));
 		assertTrue(neighbors.contains(ca));
 	}
+	
+	public void testDistanceAfterAddingConnection()
+	{
+		assertEquals(6, map.getLandDistance(ad, da));
+		assertEquals(6, map.getLandRoute(ad, da).numberOfSteps());
+		map.addConnection(ad, da);
+		assertEquals(1, map.getLandDistance(ad, da));
+		assertEquals(2, map.getLandDistance(ac, da));
+		assertEquals(2, map.getLandRoute(ac, da).numberOfSteps());
+	}
 }
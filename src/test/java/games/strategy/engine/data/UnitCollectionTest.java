@@ -0,0 +1,94 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.data;
+
+import games.strategy.util.Match;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class UnitCollectionTest extends TestCase
+{
+	private GameData m_data;
+	
+	@Override
+	public void setUp() throws Exception
+	{
+		final InputStream input = this.getClass().getResource("Test.xml").openStream();
+		m_data = (new GameParser()).parse(input, new AtomicReference<String>(), false);
+	}
+	
+	public void testUnitsAddedWhileTheIndexIsBuiltAreCounted() throws Exception
+	{
+		final UnitCollection units = m_data.getMap().getTerritory("canada").getUnits();
+		final UnitType inf = m_data.getUnitTypeList().getUnitType("inf");
+		final PlayerID bush = m_data.getPlayerList().getPlayerID("bush");
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<Throwable> readerError = new AtomicReference<Throwable>();
+		final Thread reader = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					while (!done.get())
+					{
+						// make the next lookup rebuild the index, so it races the units being added
+						m_data.unitOwnerChanged();
+						units.getUnitCount(inf, bush);
+					}
+				} catch (final Throwable t)
+				{
+					readerError.set(t);
+				}
+			}
+		});
+		reader.start();
+		try
+		{
+			for (int i = 0; i < 5000; i++)
+			{
+				units.addUnit(inf.create(bush));
+				if (i % 10 == 0)
+					units.removeAllUnits(units.getUnits(inf, 1));
+			}
+		} finally
+		{
+			done.set(true);
+			reader.join();
+		}
+		assertNull(readerError.get());
+		final int scanned = units.countMatches(new Match<Unit>()
+		{
+			@Override
+			public boolean match(final Unit unit)
+			{
+				return unit.getType().equals(inf) && unit.getOwner().equals(bush);
+			}
+		});
+		assertTrue(scanned > 0);
+		assertEquals(scanned, units.getUnitCount(inf, bush));
+		assertEquals(units.countMatches(new Match<Unit>()
+		{
+			@Override
+			public boolean match(final Unit unit)
+			{
+				return unit.getType().equals(inf);
+			}
+		}), units.getUnitCount(inf));
+	}
+}
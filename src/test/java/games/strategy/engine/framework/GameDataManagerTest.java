@@ -13,12 +13,21 @@
  */
 package games.strategy.engine.framework;
 
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.ChangePerformer;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.SerializationTest;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.history.Event;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.xml.LoadGameUtil;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -69,4 +78,145 @@ public class GameDataManagerTest extends TestCase
 		final GameData loaded = m.loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
 		assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
 	}
+	
+	public void testSnapshotCopiesAreIndependent()
+	{
+		final GameData data = LoadGameUtil.loadGame("World War II Revised Test", "revised_test.xml");
+		final byte[] snapshot = GameDataUtils.createSnapshot(data, false);
+		final GameData copy1 = GameDataUtils.createGameDataFromSnapshot(snapshot);
+		final GameData copy2 = GameDataUtils.createGameDataFromSnapshot(snapshot);
+		assertNotSame(copy1, copy2);
+		assertEquals(data.getProperties().get(GameData.GAME_UUID), copy1.getProperties().get(GameData.GAME_UUID));
+		assertEquals(data.getProperties().get(GameData.GAME_UUID), copy2.getProperties().get(GameData.GAME_UUID));
+		final PlayerID germans = data.getPlayerList().getPlayerID("Germans");
+		final int unitCount = data.getMap().getTerritory("Germany").getUnits().getUnitCount();
+		final int ipcs = germans.getResources().getQuantity("PUs");
+		assertTrue(unitCount > 0 && ipcs > 0);
+		// change territories, units and players in the first copy only
+		final Territory germany = copy1.getMap().getTerritory("Germany");
+		final PlayerID russians = copy1.getPlayerList().getPlayerID("Russians");
+		final ChangePerformer changePerformer = new ChangePerformer(copy1);
+		changePerformer.perform(ChangeFactory.changeOwner(germany, russians));
+		changePerformer.perform(ChangeFactory.changeOwner(germany.getUnits().getUnits(), russians, germany));
+		changePerformer.perform(ChangeFactory.addUnits(germany, copy1.getUnitTypeList().getUnitType("infantry").create(5, russians)));
+		final PlayerID copiedGermans = copy1.getPlayerList().getPlayerID("Germans");
+		changePerformer.perform(ChangeFactory.changeResourcesChange(copiedGermans, copy1.getResourceList().getResource("PUs"), -ipcs));
+		assertEquals(russians, germany.getOwner());
+		assertEquals(unitCount + 5, germany.getUnits().getUnitCount(russians));
+		assertEquals(0, copiedGermans.getResources().getQuantity("PUs"));
+		for (final GameData other : new GameData[] { data, copy2 })
+		{
+			final Territory otherGermany = other.getMap().getTerritory("Germany");
+			final PlayerID otherGermans = other.getPlayerList().getPlayerID("Germans");
+			assertEquals(otherGermans, otherGermany.getOwner());
+			assertEquals(unitCount, otherGermany.getUnits().getUnitCount());
+			assertEquals(unitCount, otherGermany.getUnits().getUnitCount(otherGermans));
+			assertEquals(0, otherGermany.getUnits().getUnitCount(other.getPlayerList().getPlayerID("Russians")));
+			assertEquals(ipcs, otherGermans.getResources().getQuantity("PUs"));
+		}
+	}
+	
+	private void addInfantry(final GameData data, final String eventName, final int count)
+	{
+		final HistoryWriter writer = data.getHistory().getHistoryWriter();
+		writer.startEvent(eventName);
+		final Territory can = data.getMap().getTerritory("Western Canada");
+		final Change change = ChangeFactory.addUnits(can, data.getUnitTypeList().getUnitType("infantry").create(count, null));
+		new ChangePerformer(data).perform(change);
+		writer.addChange(change);
+	}
+	
+	public void testIncrementalSaveAppendsChanges() throws IOException
+	{
+		final GameData data = LoadGameUtil.loadGame("Big World : 1942", "/maps" + File.separator + "big_world" + File.separator + "games" + File.separator + "big_world_1942.xml");
+		data.getHistory().getHistoryWriter().startNextStep("step", "delegate", null, "Step");
+		addInfantry(data, "first", 3);
+		final File file = File.createTempFile("incremental", ".tsvg");
+		try
+		{
+			final IncrementalSaveGame save = new IncrementalSaveGame(file, 1);
+			save.save(data);
+			final long fullLength = file.length();
+			addInfantry(data, "second", 5);
+			data.getSequence().next();
+			save.save(data);
+			// only the new event was appended
+			assertTrue(file.length() > fullLength);
+			assertTrue(file.length() - fullLength < fullLength / 10);
+			final GameData loaded = new GameDataManager().loadGame(file);
+			assertEquals(10, loaded.getMap().getTerritory("Western Canada").getUnits().getUnitCount());
+			assertEquals(data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+			assertEquals("second", ((Event) loaded.getHistory().getLastNode()).getDescription());
+			assertEquals(data.getUnits().getUnits().size(), loaded.getUnits().getUnits().size());
+			// too many deltas, so the whole game is written again
+			addInfantry(data, "third", 1);
+			save.save(data);
+			final GameData reloaded = new GameDataManager().loadGame(file);
+			assertEquals(11, reloaded.getMap().getTerritory("Western Canada").getUnits().getUnitCount());
+			assertEquals("third", ((Event) reloaded.getHistory().getLastNode()).getDescription());
+		} finally
+		{
+			file.delete();
+		}
+	}
+	
+	public void testCapturesWaitingToBeWrittenAreMerged() throws Exception
+	{
+		final GameData data = LoadGameUtil.loadGame("Big World : 1942", "/maps" + File.separator + "big_world" + File.separator + "games" + File.separator + "big_world_1942.xml");
+		data.getHistory().getHistoryWriter().startNextStep("step", "delegate", null, "Step");
+		addInfantry(data, "first", 3);
+		final File file = File.createTempFile("incremental", ".tsvg");
+		try
+		{
+			final IncrementalSaveGame save = new IncrementalSaveGame(file);
+			save.save(data);
+			final long fullLength = file.length();
+			// the writer falls behind, so both captures are appended as one
+			addInfantry(data, "second", 5);
+			save.capture(data);
+			addInfantry(data, "third", 1);
+			data.getSequence().next();
+			save.capture(data);
+			final IncrementalSaveGameWriter writer = new IncrementalSaveGameWriter("test");
+			writer.write(save);
+			assertTrue(writer.shutDown(10000));
+			assertTrue(file.length() - fullLength < fullLength / 10);
+			final GameData loaded = new GameDataManager().loadGame(file);
+			assertEquals(11, loaded.getMap().getTerritory("Western Canada").getUnits().getUnitCount());
+			assertEquals(data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+			assertEquals("third", ((Event) loaded.getHistory().getLastNode()).getDescription());
+			// nothing left to write
+			final long length = file.length();
+			save.writePending();
+			assertEquals(length, file.length());
+			assertFalse(new File(file.getPath() + ".tmp").exists());
+		} finally
+		{
+			file.delete();
+		}
+	}
+	
+	public void testGameSnapshotCatchesUpObservers() throws IOException
+	{
+		final GameData data = LoadGameUtil.loadGame("Big World : 1942", "/maps" + File.separator + "big_world" + File.separator + "games" + File.separator + "big_world_1942.xml");
+		data.getHistory().getHistoryWriter().startNextStep("step", "delegate", null, "Step");
+		addInfantry(data, "first", 3);
+		final GameSnapshot snapshot = new GameSnapshot(data);
+		assertNull(snapshot.get());
+		final GameSnapshot.Version first = snapshot.write();
+		// the observer loads the snapshot while the game goes on
+		final GameData observed = new GameDataManager().loadGame(new ByteArrayInputStream(first.getBytes()), null);
+		addInfantry(data, "second", 5);
+		data.getSequence().next();
+		IncrementalSaveGame.readDelta(observed, snapshot.getChangesSince(first));
+		assertEquals(10, observed.getMap().getTerritory("Western Canada").getUnits().getUnitCount());
+		assertEquals(data.getSequence().getStepIndex(), observed.getSequence().getStepIndex());
+		assertEquals("second", ((Event) observed.getHistory().getLastNode()).getDescription());
+		// the changes were appended, so the next observer has nothing to catch up on
+		final GameSnapshot.Version second = snapshot.get();
+		assertNotSame(first, second);
+		final GameData later = new GameDataManager().loadGame(new ByteArrayInputStream(second.getBytes()), null);
+		assertEquals(10, later.getMap().getTerritory("Western Canada").getUnits().getUnitCount());
+		assertEquals(data.getUnits().getUnits().size(), later.getUnits().getUnits().size());
+	}
 }
@@ -0,0 +1,101 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.framework.startup.mc;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.net.INode;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class ObserverWaitingToJoinTest extends TestCase
+{
+	private int m_waits;
+	private int m_doneWaits;
+	private int m_starts;
+	private String m_cannotJoinReason;
+	private ObserverWaitingToJoin m_observer;
+	
+	@Override
+	public void setUp() throws Exception
+	{
+		m_observer = new ObserverWaitingToJoin()
+		{
+			@Override
+			protected void showWait()
+			{
+				m_waits++;
+			}
+			
+			@Override
+			protected void doneWait()
+			{
+				m_doneWaits++;
+			}
+			
+			@Override
+			protected void startGame(final byte[] gameData, final Map<String, INode> players)
+			{
+				m_starts++;
+			}
+			
+			@Override
+			protected void startGame(final GameData data, final Map<String, INode> players)
+			{
+				m_starts++;
+			}
+			
+			@Override
+			protected void showCannotJoin(final String reason)
+			{
+				m_cannotJoinReason = reason;
+			}
+		};
+	}
+	
+	private byte[] getGameBytes() throws Exception
+	{
+		final GameData data = LoadGameUtil.loadGame("World War II Revised Test", "revised_test.xml");
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		new GameDataManager().saveGame(sink, data);
+		return sink.toByteArray();
+	}
+	
+	public void testCannotJoinAfterLoadingReleasesTheGame() throws Exception
+	{
+		m_observer.loadGame(getGameBytes());
+		assertEquals(1, m_waits);
+		assertNotNull(m_observer.getLoadedGame());
+		// the server could not catch us up, so it gives up on the join
+		m_observer.cannotJoinGame("timed out");
+		assertNull(m_observer.getLoadedGame());
+		assertEquals(1, m_doneWaits);
+		assertEquals("timed out", m_cannotJoinReason);
+		assertEquals(0, m_starts);
+		try
+		{
+			m_observer.joinLoadedGame(new byte[0], Collections.<String, INode> emptyMap());
+			fail("The released game was joined");
+		} catch (final IllegalStateException e)
+		{
+			// expected
+		}
+		assertEquals(0, m_starts);
+	}
+}
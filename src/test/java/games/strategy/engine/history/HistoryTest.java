@@ -0,0 +1,96 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.history;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.ChangePerformer;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.SerializationTest;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class HistoryTest extends TestCase
+{
+	private GameData m_data;
+	
+	public HistoryTest(final String name)
+	{
+		super(name);
+	}
+	
+	@Override
+	public void setUp() throws Exception
+	{
+		final InputStream input = SerializationTest.class.getResource("Test.xml").openStream();
+		try
+		{
+			m_data = new GameParser().parse(input, new AtomicReference<String>(), false);
+		} finally
+		{
+			input.close();
+		}
+	}
+	
+	private void move(final Territory from, final Territory to, final int count)
+	{
+		final HistoryWriter writer = m_data.getHistory().getHistoryWriter();
+		writer.startEvent("move from " + from.getName());
+		final List<Unit> units = new ArrayList<Unit>(from.getUnits().getUnits()).subList(0, count);
+		final Change change = ChangeFactory.moveUnits(from, to, units);
+		new ChangePerformer(m_data).perform(change);
+		writer.addChange(change);
+	}
+	
+	public void testGoingThroughRoundsThatAreOver()
+	{
+		final History history = m_data.getHistory();
+		final HistoryWriter writer = history.getHistoryWriter();
+		final Territory canada = m_data.getMap().getTerritory("canada");
+		final Territory greenland = m_data.getMap().getTerritory("greenland");
+		final int units = canada.getUnits().getUnitCount();
+		writer.startNextRound(1);
+		writer.startNextStep("move", "move", null, "Move");
+		final HistoryNode start = history.getLastNode();
+		move(canada, greenland, 3);
+		move(greenland, canada, 1);
+		writer.startNextRound(2);
+		writer.startNextStep("move", "move", null, "Move");
+		move(greenland, canada, 2);
+		move(canada, greenland, 4);
+		writer.startNextRound(3);
+		writer.startNextStep("move", "move", null, "Move");
+		move(greenland, canada, 1);
+		final HistoryNode end = history.getLastNode();
+		// round 2 is over, so it is replayed from its checkpoint
+		history.gotoNode(start);
+		assertEquals(units, canada.getUnits().getUnitCount());
+		assertEquals(0, greenland.getUnits().getUnitCount());
+		history.gotoNode(end);
+		assertEquals(units - 3, canada.getUnits().getUnitCount());
+		assertEquals(3, greenland.getUnits().getUnitCount());
+		// and back again, with the checkpoint already made
+		history.gotoNode(start);
+		assertEquals(units, canada.getUnits().getUnitCount());
+		assertEquals(0, greenland.getUnits().getUnitCount());
+	}
+}
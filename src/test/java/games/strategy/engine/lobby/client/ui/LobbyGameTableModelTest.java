@@ -0,0 +1,214 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.lobby.client.ui;
+
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.GameListDelta;
+import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
+import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyGameController;
+import games.strategy.engine.message.DummyMessenger;
+import games.strategy.engine.message.IChannelMessenger;
+import games.strategy.engine.message.IChannelSubscribor;
+import games.strategy.engine.message.IRemote;
+import games.strategy.engine.message.IRemoteMessenger;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.engine.message.RemoteName;
+import games.strategy.net.GUID;
+import games.strategy.net.INode;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.TestCase;
+
+public class LobbyGameTableModelTest extends TestCase
+{
+	private DummyMessenger m_messenger;
+	private LobbyGameController m_controller;
+	private ILobbyGameBroadcaster m_subscriber;
+	private GameDescriptionDelta m_lastDelta;
+	
+	@Override
+	public void setUp() throws Exception
+	{
+		m_messenger = new DummyMessenger();
+		m_controller = new LobbyGameController(new ILobbyGameBroadcaster()
+		{
+			public void gameAdded(final GUID gameId, final GameDescription description)
+			{
+			}
+			
+			public void gameUpdated(final GUID gameId, final GameDescriptionDelta delta)
+			{
+				m_lastDelta = delta;
+			}
+			
+			public void gameRemoved(final GUID gameId)
+			{
+			}
+		}, m_messenger);
+		// the dummy messenger is both the server and the host
+		MessageContext.setSenderNodeForThread(m_messenger.getServerNode());
+	}
+	
+	private GameDescription createGame()
+	{
+		return new GameDescription(m_messenger.getServerNode(), 3300, new Date(), "Big World", 4, GameStatus.WAITING_FOR_PLAYERS, "1", "host", "a comment", false, "1.8.0.1", "1");
+	}
+	
+	public void testUpdateBeforeListIsAppliedIsNotLost() throws Exception
+	{
+		final GUID gameId = new GUID();
+		final GameDescription game = createGame();
+		m_controller.postGame(gameId, game);
+		final AtomicInteger calls = new AtomicInteger();
+		final ILobbyGameController controller = new ILobbyGameController()
+		{
+			public void postGame(final GUID gameID, final GameDescription description)
+			{
+				m_controller.postGame(gameID, description);
+			}
+			
+			public void updateGame(final GUID gameID, final GameDescription description)
+			{
+				m_controller.updateGame(gameID, description);
+			}
+			
+			public Map<GUID, GameDescription> listGames()
+			{
+				return m_controller.listGames();
+			}
+			
+			public GameListDelta listGamesSince(final long version)
+			{
+				final GameListDelta rVal = m_controller.listGamesSince(version);
+				if (calls.getAndIncrement() == 0)
+				{
+					// the game changes after the list is made, and the update reaches the model before the list does
+					final GameDescription updated = (GameDescription) game.clone();
+					updated.setRound("2");
+					m_controller.updateGame(gameId, updated);
+					m_subscriber.gameUpdated(gameId, m_lastDelta);
+				}
+				return rVal;
+			}
+			
+			public String testGame(final GUID gameID)
+			{
+				return null;
+			}
+		};
+		final LobbyGameTableModel model = new LobbyGameTableModel(m_messenger, new TestChannelMessenger(), new TestRemoteMessenger(controller));
+		final int toVersion = m_lastDelta.getToVersion();
+		final long end = System.currentTimeMillis() + 5000;
+		while (getVersion(model) != toVersion && System.currentTimeMillis() < end)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(toVersion, getVersion(model));
+		assertEquals("2", model.get(0).getRound());
+		assertEquals(2, calls.get());
+	}
+	
+	private static int getVersion(final LobbyGameTableModel model) throws Exception
+	{
+		final int[] version = { Integer.MIN_VALUE };
+		SwingUtilities.invokeAndWait(new Runnable()
+		{
+			public void run()
+			{
+				if (model.getRowCount() > 0)
+					version[0] = model.get(0).getVersion();
+			}
+		});
+		return version[0];
+	}
+	
+	
+	private class TestChannelMessenger implements IChannelMessenger
+	{
+		public IChannelSubscribor getChannelBroadcastor(final RemoteName channelName)
+		{
+			throw new UnsupportedOperationException();
+		}
+		
+		public void registerChannelSubscriber(final Object implementor, final RemoteName channelName)
+		{
+			m_subscriber = (ILobbyGameBroadcaster) implementor;
+		}
+		
+		public void unregisterChannelSubscriber(final Object implementor, final RemoteName channelName)
+		{
+		}
+		
+		public INode getLocalNode()
+		{
+			return m_messenger.getLocalNode();
+		}
+		
+		public boolean isServer()
+		{
+			return false;
+		}
+	}
+	
+	
+	private static class TestRemoteMessenger implements IRemoteMessenger
+	{
+		private final ILobbyGameController m_controller;
+		
+		TestRemoteMessenger(final ILobbyGameController controller)
+		{
+			m_controller = controller;
+		}
+		
+		public IRemote getRemote(final RemoteName name)
+		{
+			return m_controller;
+		}
+		
+		public IRemote getRemote(final RemoteName name, final boolean ignoreResults)
+		{
+			return m_controller;
+		}
+		
+		public void registerRemote(final Object implementor, final RemoteName name)
+		{
+		}
+		
+		public void unregisterRemote(final String name)
+		{
+		}
+		
+		public void unregisterRemote(final RemoteName name)
+		{
+		}
+		
+		public boolean hasLocalImplementor(final RemoteName name)
+		{
+			return false;
+		}
+		
+		public boolean isServer()
+		{
+			return false;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.engine.lobby.server;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.message.DummyMessenger;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.net.GUID;
+import games.strategy.net.INode;
+import games.strategy.net.Node;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import junit.framework.TestCase;
+
+public class LobbyGameControllerTest extends TestCase
+{
+	private DummyMessenger m_messenger;
+	private LobbyGameController m_controller;
+	private GameDescriptionDelta m_lastDelta;
+	private INode m_host;
+	
+	@Override
+	public void setUp() throws Exception
+	{
+		m_messenger = new DummyMessenger();
+		m_controller = new LobbyGameController(new ILobbyGameBroadcaster()
+		{
+			public void gameAdded(final GUID gameId, final GameDescription description)
+			{
+			}
+			
+			public void gameUpdated(final GUID gameId, final GameDescriptionDelta delta)
+			{
+				m_lastDelta = delta;
+			}
+			
+			public void gameRemoved(final GUID gameId)
+			{
+			}
+		}, m_messenger);
+		m_host = new Node("host", InetAddress.getLocalHost(), 3300);
+		MessageContext.setSenderNodeForThread(m_host);
+	}
+	
+	private GameDescription createGame()
+	{
+		return new GameDescription(m_host, 3300, new Date(), "Big World", 4, GameStatus.WAITING_FOR_PLAYERS, "1", "host", "a comment", false, "1.8.0.1", "1");
+	}
+	
+	public void testListGamesSince()
+	{
+		final GUID first = new GUID();
+		final GUID second = new GUID();
+		m_controller.postGame(first, createGame());
+		m_controller.postGame(second, createGame());
+		final GameListDelta all = m_controller.listGamesSince(-1);
+		assertTrue(all.isComplete());
+		assertEquals(2, all.getGames().size());
+		final GameDescription updated = createGame();
+		updated.setRound("2");
+		m_controller.updateGame(first, updated);
+		final GameListDelta changes = m_controller.listGamesSince(all.getVersion());
+		assertFalse(changes.isComplete());
+		assertEquals(1, changes.getGames().size());
+		assertEquals("2", changes.getGames().get(first).getRound());
+		m_messenger.removeConnection(m_host);
+		final GameListDelta removed = m_controller.listGamesSince(changes.getVersion());
+		assertTrue(removed.getGames().isEmpty());
+		assertEquals(2, removed.getRemoved().size());
+		assertTrue(m_controller.listGamesSince(removed.getVersion()).getRemoved().isEmpty());
+	}
+	
+	public void testPollingWhileGamesArePostedMissesNothing() throws Exception
+	{
+		final int writers = 4;
+		final int gamesPerWriter = 5000;
+		// posting logs every game, which would make the writers too slow to race the reader
+		final Logger logger = Logger.getLogger(LobbyGameController.class.getName());
+		final Level level = logger.getLevel();
+		logger.setLevel(Level.WARNING);
+		try
+		{
+			final Set<GUID> posted = Collections.synchronizedSet(new HashSet<GUID>());
+			final AtomicBoolean done = new AtomicBoolean();
+			final Thread[] threads = new Thread[writers];
+			for (int i = 0; i < writers; i++)
+			{
+				threads[i] = new Thread(new Runnable()
+				{
+					public void run()
+					{
+						MessageContext.setSenderNodeForThread(m_host);
+						for (int j = 0; j < gamesPerWriter; j++)
+						{
+							final GUID gameId = new GUID();
+							m_controller.postGame(gameId, createGame());
+							posted.add(gameId);
+						}
+					}
+				});
+				threads[i].start();
+			}
+			final Thread waiter = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					for (final Thread thread : threads)
+					{
+						try
+						{
+							thread.join();
+						} catch (final InterruptedException e)
+						{
+							Thread.currentThread().interrupt();
+						}
+					}
+					done.set(true);
+				}
+			});
+			waiter.start();
+			final Set<GUID> seen = new HashSet<GUID>();
+			long version = -1;
+			boolean last = false;
+			while (!last)
+			{
+				// one more poll after all the writers are done
+				last = done.get();
+				final GameListDelta delta = m_controller.listGamesSince(version);
+				seen.addAll(delta.getGames().keySet());
+				version = delta.getVersion();
+			}
+			waiter.join();
+			assertEquals(writers * gamesPerWriter, posted.size());
+			posted.removeAll(seen);
+			assertTrue("Games missed:" + posted.size(), posted.isEmpty());
+		} finally
+		{
+			logger.setLevel(level);
+		}
+	}
+	
+	public void testUpdatesSendOnlyWhatChanged() throws Exception
+	{
+		final GUID gameId = new GUID();
+		final GameDescription game = createGame();
+		m_controller.postGame(gameId, game);
+		final GameDescription updated = (GameDescription) game.clone();
+		updated.setStatus(GameStatus.IN_PROGRESS);
+		updated.setRound("3");
+		m_controller.updateGame(gameId, updated);
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(sink);
+		out.writeObject(m_lastDelta);
+		out.close();
+		final GameDescriptionDelta delta = (GameDescriptionDelta) new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray())).readObject();
+		final GameDescription applied = delta.apply(game);
+		assertEquals(updated.getVersion(), applied.getVersion());
+		assertEquals(GameStatus.IN_PROGRESS, applied.getStatus());
+		assertEquals("3", applied.getRound());
+		assertEquals(game.getGameName(), applied.getGameName());
+		assertEquals(game.getHostedBy(), applied.getHostedBy());
+		// the game we applied it to is not changed
+		assertEquals("1", game.getRound());
+		final ByteArrayOutputStream full = new ByteArrayOutputStream();
+		final ObjectOutputStream fullOut = new ObjectOutputStream(full);
+		fullOut.writeObject(updated);
+		fullOut.close();
+		assertTrue(sink.size() < full.size());
+	}
+}
@@ -15,6 +15,8 @@ package games.strategy.engine.lobby.server.userDB;
 
 import games.strategy.util.Util;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.util.Date;
 
 import junit.framework.TestCase;
@@ -46,6 +48,29 @@ public class BannedIpControllerTest extends TestCase
 		assertFalse(controller.isIpBanned(ip).getFirst());
 	}
 	
+	public void testBanRemovedOutsideTheController() throws Exception
+	{
+		final BannedIpController controller = new BannedIpController();
+		final String ip = Util.createUniqueTimeStamp();
+		controller.addBannedIp(ip);
+		assertTrue(controller.isIpBanned(ip).getFirst());
+		final Connection con = Database.getConnection();
+		try
+		{
+			final PreparedStatement ps = con.prepareStatement("delete from banned_ips where ip = ?");
+			ps.setString(1, ip);
+			ps.execute();
+			con.commit();
+		} finally
+		{
+			con.close();
+		}
+		// closing gave the connection back to the pool
+		assertTrue(con.isClosed());
+		Database.clearCaches();
+		assertFalse(controller.isIpBanned(ip).getFirst());
+	}
+	
 	public void testUpdate()
 	{
 		final BannedIpController controller = new BannedIpController();
@@ -13,8 +13,14 @@
  */
 package games.strategy.engine.message;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 
@@ -39,4 +45,75 @@ public class EndPointTest extends TestCase
 		assertEquals(results.size(), 1);
 		assertEquals(2, (results.iterator().next()).getRVal());
 	}
+	
+	public void testQueuedInvocationsRunInOrder() throws Exception
+	{
+		final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+		final ExecutorService pool = Executors.newFixedThreadPool(4);
+		final List<Integer> ran = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(100);
+		for (int i = 0; i < 100; i++)
+		{
+			final int number = i;
+			endPoint.runInOrder(new Runnable()
+			{
+				public void run()
+				{
+					ran.add(number);
+					Thread.yield();
+					done.countDown();
+				}
+			}, pool);
+		}
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		pool.shutdown();
+		assertEquals(100, ran.size());
+		for (int i = 0; i < 100; i++)
+		{
+			assertEquals(i, ran.get(i).intValue());
+		}
+		assertEquals(0, endPoint.getQueuedCount());
+	}
+	
+	public void testSlowEndPointDoesNotBlockOthers() throws Exception
+	{
+		final EndPoint slow = new EndPoint("slow", Comparator.class, true);
+		final EndPoint fast = new EndPoint("fast", Comparator.class, true);
+		final ExecutorService pool = Executors.newFixedThreadPool(2);
+		final CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < 5; i++)
+		{
+			slow.runInOrder(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						release.await();
+					} catch (final InterruptedException e)
+					{
+						// done
+					}
+				}
+			}, pool);
+		}
+		final CountDownLatch fastRan = new CountDownLatch(1);
+		fast.runInOrder(new Runnable()
+		{
+			public void run()
+			{
+				fastRan.countDown();
+			}
+		}, pool);
+		try
+		{
+			assertTrue(fastRan.await(5, TimeUnit.SECONDS));
+			// the slow end point is still waiting on its first invocation
+			assertTrue(slow.getQueuedCount() >= 4);
+		} finally
+		{
+			release.countDown();
+			pool.shutdown();
+		}
+	}
 }
@@ -183,4 +183,17 @@ public class ParserTest extends TestCase
 		final Resource resource = gameData.getResourceList().getResource("silver");
 		assertEquals(200, chretian.getResources().getQuantity(resource));
 	}
+	
+	public void testDelayedParsingOnlyReadsHeader() throws Exception
+	{
+		final InputStream input = this.getClass().getResource("GameExample.xml").openStream();
+		final GameData header = (new GameParser()).parse(input, new AtomicReference<String>(), true);
+		input.close();
+		assertEquals(gameData.getGameName(), header.getGameName());
+		assertEquals(gameData.getPlayerList().getPlayers().size(), header.getPlayerList().getPlayers().size());
+		assertTrue(header.getPlayerList().getPlayerID("chretian").getOptional());
+		assertFalse(header.getPlayerList().getPlayerID("bush").getOptional());
+		assertEquals(gameData.getAllianceTracker().getAlliances(), header.getAllianceTracker().getAlliances());
+		assertTrue(header.getMap().getTerritories().isEmpty());
+	}
 }
@@ -179,6 +179,21 @@ public class MessengerTest extends TestCase
 		assertEquals(m_serverListener.getMessageCount(), 0);
 	}
 	
+	public void testServerBroadcastLargeMessage()
+	{
+		// large enough that the shared bytes take more than one write to each client
+		final StringBuilder builder = new StringBuilder(1000 * 1000);
+		for (int i = 0; i < 1000 * 1000; i++)
+		{
+			builder.append('a');
+		}
+		final String message = builder.toString();
+		m_server.broadcast(message);
+		assertEquals(m_client1Listener.getLastMessage(), message);
+		assertEquals(m_client2Listener.getLastMessage(), message);
+		assertEquals(m_serverListener.getMessageCount(), 0);
+	}
+	
 	public void testClientBroadcast()
 	{
 		final String message = "Hello";
@@ -0,0 +1,112 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class SessionObjectStreamTest extends TestCase
+{
+	private final StreamSession m_writeSession = new StreamSession();
+	private final StreamSession m_readSession = new StreamSession();
+	
+	private byte[] write(final StreamSession session, final Object message, final String shared) throws IOException
+	{
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		final SessionObjectOutputStream out = new SessionObjectOutputStream(sink);
+		out.setSession(session);
+		out.writeObject(message);
+		if (!SessionObjectOutputStream.writeShared(out, shared))
+			out.writeUTF(shared);
+		out.close();
+		return sink.toByteArray();
+	}
+	
+	private Object[] read(final StreamSession session, final byte[] bytes) throws Exception
+	{
+		final SessionObjectInputStream in = new SessionObjectInputStream(new ByteArrayInputStream(bytes));
+		in.setSession(session);
+		final Object message = in.readObject();
+		final Object shared = SessionObjectInputStream.hasSession(in) ? SessionObjectInputStream.readShared(in) : in.readUTF();
+		in.close();
+		return new Object[] { message, shared };
+	}
+	
+	private List<Object> createMessage(final int value)
+	{
+		final List<Object> message = new ArrayList<Object>();
+		message.add(new GUID());
+		message.add(Arrays.asList(value, value + 1));
+		return message;
+	}
+	
+	public void testRepeatedClassesAreSentOnce() throws Exception
+	{
+		final byte[] first = write(m_writeSession, createMessage(1), "remote name");
+		m_writeSession.commit();
+		final byte[] second = write(m_writeSession, createMessage(2), "remote name");
+		m_writeSession.commit();
+		assertTrue(second.length * 2 < first.length);
+		final Object[] firstRead = read(m_readSession, first);
+		assertEquals(Arrays.asList(1, 2), ((List<?>) firstRead[0]).get(1));
+		assertEquals("remote name", firstRead[1]);
+		final Object[] secondRead = read(m_readSession, second);
+		assertEquals(Arrays.asList(2, 3), ((List<?>) secondRead[0]).get(1));
+		assertEquals("remote name", secondRead[1]);
+	}
+	
+	public void testWithoutSession() throws Exception
+	{
+		final byte[] first = write(null, createMessage(1), "remote name");
+		final byte[] second = write(null, createMessage(1), "remote name");
+		assertEquals(first.length, second.length);
+		final Object[] read = read(null, second);
+		assertEquals(Arrays.asList(1, 2), ((List<?>) read[0]).get(1));
+		assertEquals("remote name", read[1]);
+	}
+	
+	public void testRollback() throws Exception
+	{
+		write(m_writeSession, createMessage(1), "remote name");
+		// never sent
+		m_writeSession.rollback();
+		final byte[] sent = write(m_writeSession, createMessage(2), "other name");
+		m_writeSession.commit();
+		final Object[] read = read(m_readSession, sent);
+		assertEquals(Arrays.asList(2, 3), ((List<?>) read[0]).get(1));
+		assertEquals("other name", read[1]);
+	}
+	
+	public void testFullSessionFailsTheRead() throws Exception
+	{
+		final byte[] sent = write(m_writeSession, createMessage(1), "remote name");
+		m_writeSession.commit();
+		// the message carries several class descriptors and a shared value
+		final StreamSession readSession = new StreamSession(2);
+		try
+		{
+			read(readSession, sent);
+			fail("read more than the session may hold");
+		} catch (final StreamCorruptedException e)
+		{
+		}
+	}
+}
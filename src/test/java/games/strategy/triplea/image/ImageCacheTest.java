@@ -0,0 +1,68 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.image;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import junit.framework.TestCase;
+
+public class ImageCacheTest extends TestCase
+{
+	// 400 bytes each
+	private static Image image()
+	{
+		return new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+	}
+	
+	public void testLeastRecentlyUsedIsDropped()
+	{
+		final ImageCache<String> cache = new ImageCache<String>(1000);
+		final Image a = image();
+		cache.put("a", a);
+		cache.put("b", image());
+		assertSame(a, cache.get("a"));
+		cache.put("c", image());
+		assertTrue(cache.contains("a"));
+		assertFalse(cache.contains("b"));
+		assertTrue(cache.contains("c"));
+		assertEquals(800, cache.getBytes());
+		assertEquals(1, cache.getEvictions());
+	}
+	
+	public void testHitsAndMisses()
+	{
+		final ImageCache<String> cache = new ImageCache<String>(1000);
+		assertNull(cache.get("a"));
+		cache.put("a", image());
+		assertNotNull(cache.get("a"));
+		assertNotNull(cache.get("a"));
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+	
+	public void testReplaceAndTooLarge()
+	{
+		final ImageCache<String> cache = new ImageCache<String>(1000);
+		cache.put("a", image());
+		cache.put("a", image());
+		assertEquals(400, cache.getBytes());
+		assertEquals(0, cache.getEvictions());
+		cache.put("a", new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+		assertFalse(cache.contains("a"));
+		assertEquals(0, cache.getBytes());
+		assertTrue(cache.hasRoomFor(1000));
+		assertFalse(cache.hasRoomFor(1001));
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.oddsCalculator.ta;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class CachingOddsCalculatorTest extends TestCase
+{
+	private GameData m_data;
+	private PlayerID m_germans;
+	private PlayerID m_british;
+	private Territory m_eastCanada;
+	private CachingOddsCalculator m_calculator;
+	
+	@Override
+	protected void setUp() throws Exception
+	{
+		m_data = LoadGameUtil.loadGame("World War II Revised Test", "revised_test.xml");
+		m_germans = m_data.getPlayerList().getPlayerID("Germans");
+		m_british = m_data.getPlayerList().getPlayerID("British");
+		m_eastCanada = m_data.getMap().getTerritory("Eastern Canada");
+		m_calculator = new CachingOddsCalculator(new OddsCalculator(null));
+		m_calculator.setGameData(m_data);
+	}
+	
+	@Override
+	protected void tearDown() throws Exception
+	{
+		m_calculator.shutdown();
+		m_data = null;
+	}
+	
+	private AggregateResults calculate(final List<Unit> attacking, final List<Unit> defending, final int runCount)
+	{
+		final List<Unit> bombarding = Collections.emptyList();
+		return m_calculator.setCalculateDataAndCalculate(m_germans, m_british, m_eastCanada, attacking, defending, bombarding, TerritoryEffectHelper.getEffects(m_eastCanada), runCount);
+	}
+	
+	private List<Unit> create(final String type, final int count, final PlayerID player)
+	{
+		return m_data.getUnitTypeList().getUnitType(type).create(count, player, false);
+	}
+	
+	public void testSameBattleIsNotRunAgain()
+	{
+		assertEquals(50, calculate(create("armour", 3, m_germans), create("infantry", 3, m_british), 50).getRollCount());
+		// other units, but the same battle
+		assertEquals(50, calculate(create("armour", 3, m_germans), create("infantry", 3, m_british), 10).getRollCount());
+		// more runs are added to what we had
+		assertEquals(80, calculate(create("armour", 3, m_germans), create("infantry", 3, m_british), 80).getRollCount());
+		// a different battle
+		assertEquals(10, calculate(create("armour", 2, m_germans), create("infantry", 3, m_british), 10).getRollCount());
+	}
+	
+	public void testUnitsLeftAreTheUnitsPassedIn()
+	{
+		calculate(create("armour", 5, m_germans), create("infantry", 2, m_british), 20);
+		final List<Unit> attacking = create("armour", 5, m_germans);
+		final List<Unit> defending = create("infantry", 2, m_british);
+		final AggregateResults results = calculate(attacking, defending, 20);
+		assertEquals(20, results.getRollCount());
+		for (final BattleResults result : results.getResults())
+		{
+			assertTrue(attacking.containsAll(result.getRemainingAttackingUnits()));
+			assertTrue(defending.containsAll(result.getRemainingDefendingUnits()));
+		}
+		assertTrue(results.getAttackerWinPercent() > 0.9);
+	}
+	
+	public void testDamagedUnitsAreADifferentBattle()
+	{
+		final List<Unit> damaged = create("battleship", 1, m_germans);
+		final List<Unit> undamaged = create("battleship", 1, m_germans);
+		damaged.get(0).setHits(1);
+		assertFalse(CachingOddsCalculator.getSignature(damaged.get(0)).equals(CachingOddsCalculator.getSignature(undamaged.get(0))));
+	}
+	
+	public void testNewGameDataEmptiesTheCache()
+	{
+		calculate(create("armour", 3, m_germans), create("infantry", 3, m_british), 50);
+		m_calculator.setGameData(m_data);
+		assertEquals(10, calculate(create("armour", 3, m_germans), create("infantry", 3, m_british), 10).getRollCount());
+	}
+}
@@ -9,12 +9,14 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.events.TerritoryListener;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.xml.LoadGameUtil;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.TestCase;
 
@@ -128,6 +130,57 @@ public class OddsCalculatorTest extends TestCase
 		assertTrue(results.getAttackerWinPercent() > 0.65);
 	}
 	
+	public void testDamagedUnitsAreRestoredWithoutChangingTheMap()
+	{
+		// run on our own data, so we see the units and territory the calculator fights with
+		final Territory sz2 = m_data.getMap().getTerritory("2 Sea Zone");
+		final PlayerID germans = m_data.getPlayerList().getPlayerID("Germans");
+		final PlayerID british = m_data.getPlayerList().getPlayerID("British");
+		final List<Unit> attackingUnits = m_data.getUnitTypeList().getUnitType("battleship").create(2, germans);
+		final List<Unit> defendingUnits = m_data.getUnitTypeList().getUnitType("battleship").create(2, british);
+		// both british battleships have already taken a hit
+		for (final Unit unit : defendingUnits)
+		{
+			unit.setHits(1);
+		}
+		final OddsCalculator calculator = new OddsCalculator(m_data, true);
+		calculator.setCalculateData(germans, british, sz2, attackingUnits, defendingUnits, Collections.<Unit> emptyList(), TerritoryEffectHelper.getEffects(sz2), 500);
+		final AtomicInteger territoryChanges = new AtomicInteger();
+		m_data.addTerritoryListener(new TerritoryListener()
+		{
+			public void unitsChanged(final Territory territory)
+			{
+				territoryChanges.incrementAndGet();
+			}
+			
+			public void ownerChanged(final Territory territory)
+			{
+				territoryChanges.incrementAndGet();
+			}
+			
+			public void attachmentChanged(final Territory territory)
+			{
+				territoryChanges.incrementAndGet();
+			}
+		});
+		final AggregateResults results = calculator.calculate();
+		calculator.shutdown();
+		// hits are set on the units directly, without performing changes on the map
+		assertEquals(0, territoryChanges.get());
+		// the damage counts in every run, so the attacker wins far more often
+		assertEquals(500, results.getRollCount());
+		assertTrue(results.getAttackerWinPercent() > 0.6);
+		assertTrue(results.getDefenderWinPercent() < 0.2);
+		for (final Unit unit : attackingUnits)
+		{
+			assertEquals(0, unit.getHits());
+		}
+		for (final Unit unit : defendingUnits)
+		{
+			assertEquals(1, unit.getHits());
+		}
+	}
+	
 	public void testSubInfLoop()
 	{
 		m_data = LoadGameUtil.loadGame("World War II v3 1942 Test", "ww2v3_1942_test.xml");
@@ -0,0 +1,102 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class TerritoryGridTest extends TestCase
+{
+	private static Polygon square(final int x, final int y, final int size)
+	{
+		return new Polygon(new int[] { x, x + size, x + size, x }, new int[] { y, y, y + size, y + size }, 4);
+	}
+	
+	public void testLandIsPreferredToSea()
+	{
+		final Map<String, List<Polygon>> polys = new LinkedHashMap<String, List<Polygon>>();
+		polys.put("Sea Zone 1", Arrays.asList(square(0, 0, 500)));
+		polys.put("Island", Arrays.asList(square(100, 100, 50), square(300, 300, 10)));
+		polys.put("Far Away", Arrays.asList(square(-1000, 2000, 20)));
+		final TerritoryGrid grid = new TerritoryGrid(polys);
+		assertEquals("Island", grid.getTerritoryAt(120, 120));
+		assertEquals("Island", grid.getTerritoryAt(305, 305));
+		assertEquals("Sea Zone 1", grid.getTerritoryAt(200, 200));
+		assertEquals("Far Away", grid.getTerritoryAt(-990, 2010));
+		assertNull(grid.getTerritoryAt(600, 600));
+		assertNull(grid.getTerritoryAt(-5000, -5000));
+		assertNull(grid.getTerritoryAt(5000, 5000));
+	}
+	
+	public void testEmpty()
+	{
+		assertNull(new TerritoryGrid(new LinkedHashMap<String, List<Polygon>>()).getTerritoryAt(0, 0));
+	}
+	
+	public void testSameAsTestingEveryPolygon()
+	{
+		final Random random = new Random(42);
+		final Map<String, List<Polygon>> polys = new LinkedHashMap<String, List<Polygon>>();
+		for (int i = 0; i < 200; i++)
+		{
+			final List<Polygon> polygons = new ArrayList<Polygon>();
+			for (int j = 0; j < 1 + random.nextInt(3); j++)
+			{
+				final Polygon polygon = new Polygon();
+				final int x = random.nextInt(2000);
+				final int y = random.nextInt(1500);
+				for (int k = 0; k < 3 + random.nextInt(5); k++)
+				{
+					polygon.addPoint(x + random.nextInt(300), y + random.nextInt(300));
+				}
+				polygons.add(polygon);
+			}
+			polys.put(i % 3 == 0 ? "Sea Zone " + i : "Land " + i, polygons);
+		}
+		final TerritoryGrid grid = new TerritoryGrid(polys);
+		for (int i = 0; i < 20000; i++)
+		{
+			final double x = random.nextDouble() * 2500 - 100;
+			final double y = random.nextDouble() * 2000 - 100;
+			assertEquals(getTerritoryAt(polys, x, y), grid.getTerritoryAt(x, y));
+		}
+	}
+	
+	// how MapData found territories before it had a grid
+	private static String getTerritoryAt(final Map<String, List<Polygon>> polys, final double x, final double y)
+	{
+		String seaName = null;
+		for (final Map.Entry<String, List<Polygon>> entry : polys.entrySet())
+		{
+			for (final Polygon polygon : entry.getValue())
+			{
+				if (polygon.contains(x, y))
+				{
+					if (TerritoryGrid.isSeaZone(entry.getKey()))
+						seaName = entry.getKey();
+					else
+						return entry.getKey();
+				}
+			}
+		}
+		return seaName;
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package games.strategy.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import junit.framework.TestCase;
+
+public class DenseIntegerMapTest extends TestCase
+{
+	private final Key v1 = new Key("v1", 0);
+	private final Key v2 = new Key("v2", 1);
+	private final Key v3 = new Key("v3", 40);
+	// no id, and an id that v1 already has
+	private final Key noId = new Key("noId", -1);
+	private final Key sameIdAsV1 = new Key("sameIdAsV1", 0);
+	
+	private static class Key implements IDenseKey, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		private final String m_name;
+		private final int m_id;
+		
+		Key(final String name, final int id)
+		{
+			m_name = name;
+			m_id = id;
+		}
+		
+		public int getDenseId()
+		{
+			return m_id;
+		}
+		
+		@Override
+		public boolean equals(final Object o)
+		{
+			return o instanceof Key && ((Key) o).m_name.equals(m_name);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return m_name.hashCode();
+		}
+	}
+	
+	private DenseIntegerMap<Key> createMap()
+	{
+		final DenseIntegerMap<Key> map = new DenseIntegerMap<Key>(2);
+		map.add(v1, 5);
+		map.add(v2, 3);
+		map.add(v3, 1);
+		map.add(noId, 7);
+		map.add(sameIdAsV1, 9);
+		return map;
+	}
+	
+	private IntegerMap<Key> createPlainMap()
+	{
+		final IntegerMap<Key> map = new IntegerMap<Key>();
+		map.add(v1, 5);
+		map.add(v2, 3);
+		map.add(v3, 1);
+		map.add(noId, 7);
+		map.add(sameIdAsV1, 9);
+		return map;
+	}
+	
+	public void testAdd()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		assertEquals(5, map.size());
+		assertEquals(5, map.getInt(v1));
+		assertEquals(3, map.getInt(v2));
+		assertEquals(1, map.getInt(v3));
+		assertEquals(7, map.getInt(noId));
+		assertEquals(9, map.getInt(sameIdAsV1));
+		map.add(v1, -5);
+		map.add(noId, 1);
+		assertEquals(0, map.getInt(v1));
+		assertEquals(8, map.getInt(noId));
+		assertTrue(map.containsKey(v1));
+		assertEquals(21, map.totalValues());
+	}
+	
+	public void testRemove()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		map.removeKey(v1);
+		map.removeKey(noId);
+		assertFalse(map.containsKey(v1));
+		assertFalse(map.containsKey(noId));
+		assertEquals(0, map.getInt(v1));
+		assertEquals(9, map.getInt(sameIdAsV1));
+		assertEquals(3, map.size());
+		final Iterator<Key> iter = map.keySet().iterator();
+		while (iter.hasNext())
+		{
+			if (iter.next() != v3)
+				iter.remove();
+		}
+		assertEquals(1, map.size());
+		assertEquals(1, map.getInt(v3));
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(0, map.getInt(v3));
+	}
+	
+	public void testSameAsIntegerMap()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		final IntegerMap<Key> plain = createPlainMap();
+		assertEquals(plain, map);
+		assertEquals(map, plain);
+		assertEquals(plain.hashCode(), map.hashCode());
+		assertEquals(plain.keySet(), map.keySet());
+		assertEquals(plain.entrySet(), map.entrySet());
+		assertEquals(map, map.copy());
+		assertEquals(plain.highestKey(), map.highestKey());
+		assertEquals(plain.lowestValue(), map.lowestValue());
+		map.add(v2, 1);
+		assertFalse(plain.equals(map));
+	}
+	
+	public void testEntrySetContains()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		map.put(v2, (Integer) null);
+		for (final Entry<Key, Integer> entry : createPlainMap().entrySet())
+		{
+			assertEquals(entry.getKey() != v2, map.entrySet().contains(entry));
+		}
+		final IntegerMap<Key> withNull = createPlainMap();
+		withNull.put(v2, (Integer) null);
+		for (final Entry<Key, Integer> entry : withNull.entrySet())
+		{
+			assertTrue(map.entrySet().contains(entry));
+		}
+		assertFalse(map.entrySet().contains(v1));
+	}
+	
+	public void testInheritedMethods()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		final IntegerMap<Key> plain = createPlainMap();
+		assertEquals(plain.toString().length(), map.toString().length());
+		assertEquals(plain.isPositive(), map.isPositive());
+		assertEquals(plain.allValuesAreSame(), map.allValuesAreSame());
+		map.multiplyAllValuesBy(2, 1);
+		plain.multiplyAllValuesBy(2, 1);
+		assertEquals(plain, map);
+		map.subtract(plain);
+		assertTrue(map.allValuesEqual(0));
+	}
+	
+	public void testPutNull()
+	{
+		final DenseIntegerMap<Key> map = createMap();
+		final IntegerMap<Key> plain = createPlainMap();
+		map.put(v1, (Integer) null);
+		plain.put(v1, (Integer) null);
+		map.put(noId, (Integer) null);
+		plain.put(noId, (Integer) null);
+		assertTrue(map.containsKey(v1));
+		assertEquals(0, map.getInt(v1));
+		assertEquals(5, map.size());
+		assertEquals(plain.entrySet(), map.entrySet());
+		assertEquals(plain, map);
+		assertEquals(plain.hashCode(), map.hashCode());
+		assertTrue(map.values().contains(null));
+		map.add(v1, 2);
+		plain.add(v1, 2);
+		assertEquals(2, map.getInt(v1));
+		assertEquals(plain, map);
+		assertFalse(map.equals(createMap()));
+	}
+	
+	public void testWrittenAsIntegerMap() throws Exception
+	{
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(sink);
+		out.writeObject(createMap());
+		out.close();
+		final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray()));
+		final Object read = in.readObject();
+		assertEquals(IntegerMap.class, read.getClass());
+		assertEquals(createPlainMap(), read);
+	}
+}